@@ -1,14 +1,34 @@
 package com.github.maucarrui;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.file.Path;
+
 import java.time.Instant;
 import java.time.Duration;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.LinkedList;
 
+import java.util.concurrent.ForkJoinPool;
+
 import java.lang.String;
 
+import com.github.maucarrui.algorithms.doublylexicalordering.BatchDoublyLexicalOrderer;
+import com.github.maucarrui.algorithms.doublylexicalordering.BitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.BlockedBitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.ChordalBipartiteRecognizer;
+import com.github.maucarrui.algorithms.doublylexicalordering.CompressedMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.DenseDoublyLexicalOrderer;
 import com.github.maucarrui.algorithms.doublylexicalordering.DoublyLexicalOrderer;
+import com.github.maucarrui.algorithms.doublylexicalordering.MappedBitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.OrderingMetrics;
+import com.github.maucarrui.algorithms.doublylexicalordering.StronglyChordalRecognizer;
+import com.github.maucarrui.algorithms.doublylexicalordering.SymmetricDoublyLexicalOrderer;
 import com.github.maucarrui.algorithms.treeisomorphism.Graph;
 import com.github.maucarrui.algorithms.treeisomorphism.TreeIsomorpher;
 
@@ -31,6 +51,36 @@ public class PerformanceCheck {
 	str += "Algorithm options:\n";
 	str += "    treeisomorphism   The tree isomorphism algorithm.\n";
 	str += "    doublylexordering The doubly lexical ordering algorithm.\n";
+	str += "    denselexordering  The dense doubly lexical ordering\n";
+	str += "                      algorithm.\n";
+	str += "    lexorderingcrossover Both doubly lexical ordering\n";
+	str += "                      algorithms on the same matrices.\n";
+	str += "    batchlexordering  The batch doubly lexical ordering of\n";
+	str += "                      many small matrices.\n";
+	str += "    incrementallexordering The doubly lexical ordering\n";
+	str += "                      after a growing fraction of the\n";
+	str += "                      entries is flipped, from scratch\n";
+	str += "                      and incrementally.\n";
+	str += "    transposedlexordering The doubly lexical ordering\n";
+	str += "                      with and without a transpose of\n";
+	str += "                      the matrix.\n";
+	str += "    parallellexordering The doubly lexical ordering\n";
+	str += "                      determining the sizes of the\n";
+	str += "                      blocks sequentially and in parallel,\n";
+	str += "                      with 1, 2, 4, ... workers.\n";
+	str += "    symmetriclexordering The dense and symmetric doubly\n";
+	str += "                      lexical orderings of graphs.\n";
+	str += "    stronglychordal   The recognition of strongly chordal\n";
+	str += "                      graphs on random trees.\n";
+	str += "    chordalbipartite  The recognition of chordal bipartite\n";
+	str += "                      graphs on random trees.\n";
+	str += "    compression       The compression of matrices with and\n";
+	str += "                      without a doubly lexical ordering.\n";
+	str += "    lexorderingmetrics The refinements and phase times of\n";
+	str += "                      the doubly lexical ordering.\n";
+	str += "    outofcorelexordering The doubly lexical ordering of\n";
+	str += "                      matrices in memory and read from a\n";
+	str += "                      file by blocks of rows.\n";
 	str += "Notes on the size of the entry:\n";
 	str += "    In the case of the tree isomorphism, the <N> argument is\n";
 	str += "    the amount of spokes or branches the pinwheel graph has,\n";
@@ -40,6 +90,38 @@ public class PerformanceCheck {
 	str += "    argument is the number of rows and columns contained in\n";
 	str += "    the matrix. For example, if <N> = 500, then the last\n";
 	str += "    matrix to be tested will have 250,000 entries.\n";
+	str += "    In the case of the batch doubly lexical ordering, the\n";
+	str += "    <N> argument is the amount of matrices of the last\n";
+	str += "    batch, every matrix has between 50 and 500 rows and\n";
+	str += "    columns.\n";
+	str += "    In the case of the incremental doubly lexical ordering,\n";
+	str += "    the <N> argument is the number of rows and columns of\n";
+	str += "    the matrix, and the update affects an increasing\n";
+	str += "    percentage of its ordering.\n";
+	str += "    In the case of the transposed doubly lexical ordering,\n";
+	str += "    the <N> argument is the number of rows and columns of\n";
+	str += "    the last matrix, the sizes increase by 1000. The same\n";
+	str += "    happens in the parallel doubly lexical ordering.\n";
+	str += "    In the case of the symmetric doubly lexical ordering,\n";
+	str += "    the <N> argument is the number of vertices of the last\n";
+	str += "    graph, whose closed neighbourhood matrix is ordered.\n";
+	str += "    In the case of the strongly chordal recognition, the <N>\n";
+	str += "    argument is the number of vertices of the last tree, the\n";
+	str += "    sizes increase by 1000. In the case of the chordal\n";
+	str += "    bipartite recognition, the <N> argument is the number of\n";
+	str += "    vertices of each side of the last tree.\n";
+	str += "    In the case of the compression, the <N> argument is the\n";
+	str += "    number of rows and columns of the last matrix, the sizes\n";
+	str += "    increase by 100. Random matrices and matrices whose rows\n";
+	str += "    are random intervals of shuffled columns are compressed,\n";
+	str += "    the sizes are in bytes and the times in seconds. The\n";
+	str += "    metrics of the doubly lexical ordering are collected on\n";
+	str += "    the same inputs and sizes.\n";
+	str += "    In the case of the out-of-core doubly lexical ordering,\n";
+	str += "    the <N> argument is the number of rows and columns of\n";
+	str += "    the last matrix, the sizes increase by 1000. The reads\n";
+	str += "    and bytes read from the file are reported with the\n";
+	str += "    times.\n";
 
 	return str;
 
@@ -94,6 +176,537 @@ public class PerformanceCheck {
 	return str;
     }
 
+    /**
+     * Auxiliary method to return the time elapsed between two instants, as
+     * seconds with three decimals.
+     * @param start the first instant.
+     * @param finish the second instant.
+     * @return the time elapsed between the instants.
+     */
+    private static String elapsed(Instant start, Instant finish) {
+	int secs = Duration.between(start, finish).toSecondsPart();
+	int millis = Duration.between(start, finish).toMillisPart();
+
+	return String.format("%d.%03d", secs, millis);
+    }
+
+    /**
+     * Checks the performance of the dense doubly lexical ordering algorithm.
+     */
+    private static String
+    checkDenseDoublyLexicalOrderingAlgPerfomance(int N) {
+	DenseDoublyLexicalOrderer dlo;
+	Instant start, finish;
+	String str = "Size,Time\n";
+
+	for (int size = 10; size <= N; size += 10) {
+	    BitMatrix matrix = new BitMatrix(buildRandomMatrix(size));
+	    dlo = new DenseDoublyLexicalOrderer(matrix);
+
+	    start = Instant.now();
+	    dlo.order();
+	    finish = Instant.now();
+
+	    str += String.format("%d,", size);
+	    str += elapsed(start, finish);
+	    str += "\n";
+	}
+
+	return str;
+    }
+
+    /**
+     * Compares the performance of both doubly lexical ordering algorithms on
+     * the same matrices, to find the size where one of them starts being
+     * faster than the other.
+     */
+    private static String
+    checkDoublyLexicalOrderingCrossover(int N) {
+	Instant start, middle, finish;
+	String str = "Size,Lubiw,Dense\n";
+
+	for (int size = 10; size <= N; size += 10) {
+	    BitMatrix matrix = new BitMatrix(buildRandomMatrix(size));
+	    DoublyLexicalOrderer lubiw = new DoublyLexicalOrderer(matrix);
+	    DenseDoublyLexicalOrderer dense;
+	    dense = new DenseDoublyLexicalOrderer(matrix);
+
+	    start = Instant.now();
+	    lubiw.order();
+	    middle = Instant.now();
+	    dense.order();
+	    finish = Instant.now();
+
+	    str += String.format("%d,", size);
+	    str += elapsed(start, middle);
+	    str += ",";
+	    str += elapsed(middle, finish);
+	    str += "\n";
+	}
+
+	return str;
+    }
+
+    /**
+     * Checks the throughput of the batch doubly lexical ordering algorithm,
+     * in matrices ordered per second.
+     */
+    private static String
+    checkBatchDoublyLexicalOrderingThroughput(int N) {
+	BatchDoublyLexicalOrderer batch = new BatchDoublyLexicalOrderer();
+	Random rand = new Random();
+	Instant start, finish;
+	String str = "Matrices,Time,MatricesPerSecond\n";
+
+	for (int count = 10; count <= N; count += 10) {
+	    List<BitMatrix> matrices = new ArrayList<BitMatrix>();
+	    for (int k = 0; k < count; k++) {
+		int size = 50 + rand.nextInt(451);
+		matrices.add(new BitMatrix(buildRandomMatrix(size)));
+	    }
+
+	    start = Instant.now();
+	    batch.order(matrices);
+	    finish = Instant.now();
+
+	    long nanos = Duration.between(start, finish).toNanos();
+	    double throughput = count / (Math.max(nanos, 1L) / 1e9);
+
+	    str += String.format("%d,", count);
+	    str += elapsed(start, finish);
+	    str += String.format(",%.1f\n", throughput);
+	}
+
+	batch.shutdown();
+
+	return str;
+    }
+
+    /**
+     * Checks the performance of the doubly lexical ordering algorithm after a
+     * fraction of the entries of the matrix is flipped, ordering the matrix
+     * from scratch and incrementally. The fraction goes from one entry in a
+     * million to one entry in ten, and the flipped entries are random.
+     */
+    private static String
+    checkIncrementalDoublyLexicalOrdering(int N) {
+	int[][] entries = buildRandomMatrix(N);
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(entries);
+	Random rand = new Random();
+	Instant start, middle, finish;
+	String str = "Changed,Entries,Scratch,Incremental\n";
+
+	orderer.order();
+
+	for (double fraction = 1e-6; fraction <= 0.1; fraction *= 10) {
+	    int numChanges = (int) Math.max(1, fraction * N * N);
+	    int[] rows = new int[numChanges];
+	    int[] cols = new int[numChanges];
+	    int[] values = new int[numChanges];
+	    for (int k = 0; k < numChanges; k++) {
+		rows[k] = rand.nextInt(N);
+		cols[k] = rand.nextInt(N);
+		values[k] = 1 - entries[rows[k]][cols[k]];
+		entries[rows[k]][cols[k]] = values[k];
+	    }
+	    BitMatrix updated = new BitMatrix(entries);
+
+	    start = Instant.now();
+	    new DoublyLexicalOrderer(updated).order();
+	    middle = Instant.now();
+	    orderer.update(rows, cols, values);
+	    finish = Instant.now();
+
+	    str += String.format("%g,%d,", fraction, numChanges);
+	    str += elapsed(start, middle);
+	    str += ",";
+	    str += elapsed(middle, finish);
+	    str += "\n";
+	}
+
+	return str;
+    }
+
+    /**
+     * Checks the performance of the doubly lexical ordering algorithm reading
+     * the columns from the row-major matrix and from its transpose. The time
+     * to build the transpose is included.
+     */
+    private static String
+    checkTransposedDoublyLexicalOrdering(int N) {
+	Instant start, middle, finish;
+	String str = "Size,RowMajor,Transpose\n";
+
+	for (int size = 1000; size <= N; size += 1000) {
+	    BitMatrix matrix = new BitMatrix(buildRandomMatrix(size));
+	    DoublyLexicalOrderer rowMajor = new DoublyLexicalOrderer(matrix);
+	    DoublyLexicalOrderer transposed = new DoublyLexicalOrderer(matrix);
+
+	    start = Instant.now();
+	    rowMajor.order();
+	    middle = Instant.now();
+	    transposed.setTransposeEnabled(true);
+	    transposed.order();
+	    finish = Instant.now();
+
+	    str += String.format("%d,", size);
+	    str += elapsed(start, middle);
+	    str += ",";
+	    str += elapsed(middle, finish);
+	    str += "\n";
+	}
+
+	return str;
+    }
+
+    /**
+     * Checks the performance of the doubly lexical ordering algorithm
+     * determining the sizes of the blocks sequentially and in parallel, with
+     * pools of 1, 2, 4, ... workers up to the amount of available processors.
+     * The speedup of every pool is relative to the sequential ordering.
+     */
+    private static String
+    checkParallelDoublyLexicalOrdering(int N) {
+	int processors = Runtime.getRuntime().availableProcessors();
+	Instant start, finish;
+	String str = "Size,Workers,Sequential,Parallel,Speedup\n";
+
+	for (int size = 1000; size <= N; size += 1000) {
+	    BitMatrix matrix = new BitMatrix(buildRandomMatrix(size));
+
+	    DoublyLexicalOrderer sequential = new DoublyLexicalOrderer(matrix);
+	    start = Instant.now();
+	    sequential.order();
+	    finish = Instant.now();
+	    Duration base = Duration.between(start, finish);
+	    String baseTime = elapsed(start, finish);
+
+	    int workers = 1;
+	    while (true) {
+		ForkJoinPool pool = new ForkJoinPool(workers);
+		DoublyLexicalOrderer parallel = new DoublyLexicalOrderer(matrix);
+		parallel.setPool(pool);
+
+		start = Instant.now();
+		parallel.order();
+		finish = Instant.now();
+		pool.shutdown();
+
+		Duration time = Duration.between(start, finish);
+		double speedup = (double) base.toNanos()
+		    / Math.max(time.toNanos(), 1);
+
+		str += String.format("%d,%d,", size, workers);
+		str += baseTime;
+		str += ",";
+		str += elapsed(start, finish);
+		str += String.format(",%.2f\n", speedup);
+
+		if (workers == processors) {
+		    break;
+		}
+		workers = Math.min(2 * workers, processors);
+	    }
+	}
+
+	return str;
+    }
+
+    /**
+     * Auxiliary method to return the closed neighbourhood matrix of a random
+     * graph of the given size.
+     * @param size the amount of vertices of the graph.
+     * @return the closed neighbourhood matrix of the graph, where each edge
+     *         is present with probability one half.
+     */
+    private static int[][] buildRandomGraph(int size) {
+	int[][] randM = new int[size][size];
+
+	Random rand = new Random();
+
+	for (int i = 0; i < size; i++) {
+	    randM[i][i] = 1;
+	    for (int j = i + 1; j < size; j++) {
+		int k = rand.nextInt(100);
+		randM[i][j] = (k < 50) ? 0 : 1;
+		randM[j][i] = randM[i][j];
+	    }
+	}
+
+	return randM;
+    }
+
+    /**
+     * Checks the performance of the dense and symmetric doubly lexical
+     * ordering algorithms on the closed neighbourhood matrices of graphs.
+     */
+    private static String
+    checkSymmetricDoublyLexicalOrdering(int N) {
+	Instant start, middle, finish;
+	String str = "Size,Dense,Symmetric\n";
+
+	for (int size = 10; size <= N; size += 10) {
+	    BitMatrix matrix = new BitMatrix(buildRandomGraph(size));
+	    DenseDoublyLexicalOrderer dense;
+	    dense = new DenseDoublyLexicalOrderer(matrix);
+	    SymmetricDoublyLexicalOrderer symmetric;
+	    symmetric = new SymmetricDoublyLexicalOrderer(matrix);
+
+	    start = Instant.now();
+	    dense.order();
+	    middle = Instant.now();
+	    symmetric.order();
+	    finish = Instant.now();
+
+	    str += String.format("%d,", size);
+	    str += elapsed(start, middle);
+	    str += ",";
+	    str += elapsed(middle, finish);
+	    str += "\n";
+	}
+
+	return str;
+    }
+
+    /**
+     * Auxiliary method to return a random tree as an adjacency array, every
+     * vertex after the first one is joined to a random previous vertex.
+     * @param size the amount of vertices of the tree.
+     * @return the neighbours of every vertex of the tree.
+     */
+    private static int[][] buildRandomTree(int size) {
+	int[] parent = new int[size];
+	int[] degrees = new int[size];
+
+	Random rand = new Random();
+
+	for (int v = 1; v < size; v++) {
+	    parent[v] = rand.nextInt(v);
+	    degrees[v]++;
+	    degrees[parent[v]]++;
+	}
+
+	int[][] adjacency = new int[size][];
+	int[] next = new int[size];
+	for (int v = 0; v < size; v++) {
+	    adjacency[v] = new int[degrees[v]];
+	}
+	for (int v = 1; v < size; v++) {
+	    adjacency[v][next[v]++] = parent[v];
+	    adjacency[parent[v]][next[parent[v]]++] = v;
+	}
+
+	return adjacency;
+    }
+
+    /**
+     * Checks the performance of the strongly chordal recognition on random
+     * trees, which are strongly chordal.
+     */
+    private static String
+    checkStronglyChordalRecognition(int N) {
+	Instant start, finish;
+	String str = "Size,Time\n";
+
+	for (int size = 1000; size <= N; size += 1000) {
+	    StronglyChordalRecognizer recognizer;
+	    recognizer = new StronglyChordalRecognizer(buildRandomTree(size));
+
+	    start = Instant.now();
+	    recognizer.isStronglyChordal();
+	    finish = Instant.now();
+
+	    str += String.format("%d,", size);
+	    str += elapsed(start, finish);
+	    str += "\n";
+	}
+
+	return str;
+    }
+
+    /**
+     * Checks the performance of the chordal bipartite recognition on random
+     * trees with the same amount of vertices on each side, which are chordal
+     * bipartite. Every vertex after the first one is joined to a random
+     * previous vertex of the other side.
+     */
+    private static String
+    checkChordalBipartiteRecognition(int N) {
+	Instant start, finish;
+	String str = "Size,Edges,Time\n";
+
+	Random rand = new Random();
+
+	for (int size = 1000; size <= N; size += 1000) {
+	    /* The vertex 2i is the i-th vertex of the left side and the vertex
+	     * 2i+1 is the i-th vertex of the right side. */
+	    int numEdges = 2 * size - 1;
+	    int[] left = new int[numEdges];
+	    int[] right = new int[numEdges];
+	    for (int v = 1; v <= numEdges; v++) {
+		int u = rand.nextInt((v + 1) / 2) * 2 + (1 - v % 2);
+		left[v - 1] = (v % 2 == 0) ? v / 2 : u / 2;
+		right[v - 1] = (v % 2 == 0) ? u / 2 : v / 2;
+	    }
+
+	    ChordalBipartiteRecognizer recognizer;
+	    recognizer = new ChordalBipartiteRecognizer(size, size,
+							left, right);
+
+	    start = Instant.now();
+	    recognizer.isChordalBipartite();
+	    finish = Instant.now();
+
+	    str += String.format("%d,%d,", size, numEdges);
+	    str += elapsed(start, finish);
+	    str += "\n";
+	}
+
+	return str;
+    }
+
+    /**
+     * Auxiliary method to return a matrix whose rows are random intervals of
+     * columns, with its rows and columns shuffled.
+     * @param size the amount of rows and columns of the matrix.
+     * @return the shuffled interval matrix.
+     */
+    private static BitMatrix buildIntervalMatrix(int size) {
+	Random rand = new Random();
+
+	int[] shuffled = new int[size];
+	for (int i = 0; i < size; i++) {
+	    int j = rand.nextInt(i + 1);
+	    shuffled[i] = shuffled[j];
+	    shuffled[j] = i;
+	}
+
+	BitMatrix matrix = new BitMatrix(size, size);
+	for (int i = 0; i < size; i++) {
+	    int first = rand.nextInt(size);
+	    int last = first + rand.nextInt(size - first);
+	    for (int j = first; j <= last; j++) {
+		matrix.set(i, shuffled[j], 1);
+	    }
+	}
+
+	return matrix;
+    }
+
+    /**
+     * Auxiliary method to decode every row of a compressed matrix.
+     * @param compressed the compressed matrix.
+     * @return the amount of non-zero entries of the matrix, so the decoding
+     *         isn't optimized away.
+     */
+    private static long decodeRows(CompressedMatrix compressed) {
+	int[] row = null;
+	long ones = 0;
+
+	for (int r = 0; r < compressed.numRows(); r++) {
+	    row = compressed.getRow(r, row);
+	    for (int c = 0; c < compressed.numColumns(); c++) {
+		ones += row[c];
+	    }
+	}
+
+	return ones;
+    }
+
+    /**
+     * Checks the compressed size and the encoding and decoding times of
+     * matrices compressed as they are and after a doubly lexical ordering.
+     */
+    private static String checkCompression(int N) {
+	Instant start, finish;
+	String str = "Size,Input,Raw,Unordered,Ordered,Order,";
+	str += "UnorderedEncode,OrderedEncode,UnorderedDecode,OrderedDecode\n";
+
+	for (int size = 100; size <= N; size += 100) {
+	    BitMatrix[] inputs = new BitMatrix[]{
+		new BitMatrix(buildRandomMatrix(size)),
+		buildIntervalMatrix(size),
+	    };
+	    String[] names = new String[]{"random", "intervals"};
+
+	    int[] identity = new int[size];
+	    for (int i = 0; i < size; i++) {
+		identity[i] = i;
+	    }
+
+	    for (int k = 0; k < inputs.length; k++) {
+		BitMatrix matrix = inputs[k];
+		long raw = 8L * size * ((size + 63) / 64);
+
+		start = Instant.now();
+		CompressedMatrix unordered;
+		unordered = CompressedMatrix.encode(matrix, identity, identity);
+		finish = Instant.now();
+		String unorderedEncode = elapsed(start, finish);
+
+		start = Instant.now();
+		DoublyLexicalOrderer dlo = new DoublyLexicalOrderer(matrix);
+		dlo.order();
+		finish = Instant.now();
+		String order = elapsed(start, finish);
+
+		start = Instant.now();
+		CompressedMatrix ordered;
+		ordered = CompressedMatrix.encode(matrix, dlo.getOrderedRows(),
+						  dlo.getOrderedColumns());
+		finish = Instant.now();
+		String orderedEncode = elapsed(start, finish);
+
+		start = Instant.now();
+		decodeRows(unordered);
+		finish = Instant.now();
+		String unorderedDecode = elapsed(start, finish);
+
+		start = Instant.now();
+		decodeRows(ordered);
+		finish = Instant.now();
+		String orderedDecode = elapsed(start, finish);
+
+		str += String.format("%d,%s,%d,%d,%d,", size, names[k], raw,
+				     unordered.sizeInBytes(),
+				     ordered.sizeInBytes());
+		str += order + "," + unorderedEncode + "," + orderedEncode;
+		str += "," + unorderedDecode + "," + orderedDecode + "\n";
+	    }
+	}
+
+	return str;
+    }
+
+    /**
+     * Checks the metrics of the doubly lexical ordering algorithm, on random
+     * matrices and on shuffled interval matrices of the same size.
+     */
+    private static String checkDoublyLexicalOrderingMetrics(int N) {
+	String str = "Size,Input," + OrderingMetrics.csvHeader() + "\n";
+
+	for (int size = 100; size <= N; size += 100) {
+	    BitMatrix[] inputs = new BitMatrix[]{
+		new BitMatrix(buildRandomMatrix(size)),
+		buildIntervalMatrix(size),
+	    };
+	    String[] names = new String[]{"random", "intervals"};
+
+	    for (int k = 0; k < inputs.length; k++) {
+		OrderingMetrics metrics = new OrderingMetrics();
+		DoublyLexicalOrderer dlo = new DoublyLexicalOrderer(inputs[k]);
+		dlo.setMetrics(metrics);
+		dlo.getOrderedMatrix();
+
+		str += String.format("%d,%s,", size, names[k]);
+		str += metrics.toCsv();
+		str += "\n";
+	    }
+	}
+
+	return str;
+    }
+
     /**
      * Auxiliary method to build a pinwheel graph, which has only one
      * isomorphism.
@@ -147,6 +760,51 @@ public class PerformanceCheck {
 	return str;
     }
 
+    /**
+     * Checks the performance of the doubly lexical ordering algorithm on
+     * shuffled interval matrices kept in memory and read from a file by
+     * blocks of rows.
+     */
+    private static String checkOutOfCoreDoublyLexicalOrdering(int N) {
+	Instant start, finish;
+	String str = "Size,InMemory,Blocked,Reads,BytesRead\n";
+
+	try {
+	    File file = File.createTempFile("thesis-algorithms", ".bin");
+	    file.deleteOnExit();
+	    Path path = file.toPath();
+
+	    for (int size = 1000; size <= N; size += 1000) {
+		BitMatrix matrix = buildIntervalMatrix(size);
+		MappedBitMatrix.write(matrix, path);
+
+		start = Instant.now();
+		new DoublyLexicalOrderer(matrix).order();
+		finish = Instant.now();
+		String inMemory = elapsed(start, finish);
+
+		BlockedBitMatrix blocked = BlockedBitMatrix.open(path);
+		try {
+		    start = Instant.now();
+		    new DoublyLexicalOrderer(blocked).order();
+		    finish = Instant.now();
+		    String inFile = elapsed(start, finish);
+
+		    str += String.format("%d,", size);
+		    str += inMemory + "," + inFile + ",";
+		    str += String.format("%d,%d\n", blocked.getReads(),
+					 blocked.getBytesRead());
+		} finally {
+		    blocked.close();
+		}
+	    }
+	} catch (IOException e) {
+	    throw new UncheckedIOException(e);
+	}
+
+	return str;
+    }
+
     public static void main(String[] args) {
 	String csv = "";
 
@@ -169,6 +827,114 @@ public class PerformanceCheck {
 
 	    /* Test the doubly lexical ordering performance. */
 	    csv = checkDoublyLexicalOrderingAlgPerfomance(N);
+	} else if (args[0].equals("denselexordering")) {
+	    /* The entry has to be greater or equal than 10. */
+	    if (N < 10) {
+		System.out.println("<N> can't be lesser than 10.");
+		return;
+	    }
+
+	    /* Test the dense doubly lexical ordering performance. */
+	    csv = checkDenseDoublyLexicalOrderingAlgPerfomance(N);
+	} else if (args[0].equals("lexorderingcrossover")) {
+	    /* The entry has to be greater or equal than 10. */
+	    if (N < 10) {
+		System.out.println("<N> can't be lesser than 10.");
+		return;
+	    }
+
+	    /* Compare both doubly lexical ordering algorithms. */
+	    csv = checkDoublyLexicalOrderingCrossover(N);
+	} else if (args[0].equals("batchlexordering")) {
+	    /* The entry has to be greater or equal than 10. */
+	    if (N < 10) {
+		System.out.println("<N> can't be lesser than 10.");
+		return;
+	    }
+
+	    /* Test the batch doubly lexical ordering throughput. */
+	    csv = checkBatchDoublyLexicalOrderingThroughput(N);
+	} else if (args[0].equals("incrementallexordering")) {
+	    /* The entry has to be greater or equal than 10. */
+	    if (N < 10) {
+		System.out.println("<N> can't be lesser than 10.");
+		return;
+	    }
+
+	    /* Compare the incremental and from scratch orderings. */
+	    csv = checkIncrementalDoublyLexicalOrdering(N);
+	} else if (args[0].equals("transposedlexordering")) {
+	    /* The entry has to be greater or equal than 1000. */
+	    if (N < 1000) {
+		System.out.println("<N> can't be lesser than 1000.");
+		return;
+	    }
+
+	    /* Compare the orderings with and without the transpose. */
+	    csv = checkTransposedDoublyLexicalOrdering(N);
+	} else if (args[0].equals("parallellexordering")) {
+	    /* The entry has to be greater or equal than 1000. */
+	    if (N < 1000) {
+		System.out.println("<N> can't be lesser than 1000.");
+		return;
+	    }
+
+	    /* Compare the sequential and parallel orderings. */
+	    csv = checkParallelDoublyLexicalOrdering(N);
+	} else if (args[0].equals("symmetriclexordering")) {
+	    /* The entry has to be greater or equal than 10. */
+	    if (N < 10) {
+		System.out.println("<N> can't be lesser than 10.");
+		return;
+	    }
+
+	    /* Compare the dense and symmetric orderings. */
+	    csv = checkSymmetricDoublyLexicalOrdering(N);
+	} else if (args[0].equals("stronglychordal")) {
+	    /* The entry has to be greater or equal than 1000. */
+	    if (N < 1000) {
+		System.out.println("<N> can't be lesser than 1000.");
+		return;
+	    }
+
+	    /* Test the strongly chordal recognition performance. */
+	    csv = checkStronglyChordalRecognition(N);
+	} else if (args[0].equals("chordalbipartite")) {
+	    /* The entry has to be greater or equal than 1000. */
+	    if (N < 1000) {
+		System.out.println("<N> can't be lesser than 1000.");
+		return;
+	    }
+
+	    /* Test the chordal bipartite recognition performance. */
+	    csv = checkChordalBipartiteRecognition(N);
+	} else if (args[0].equals("compression")) {
+	    /* The entry has to be greater or equal than 100. */
+	    if (N < 100) {
+		System.out.println("<N> can't be lesser than 100.");
+		return;
+	    }
+
+	    /* Test the compression of ordered matrices. */
+	    csv = checkCompression(N);
+	} else if (args[0].equals("lexorderingmetrics")) {
+	    /* The entry has to be greater or equal than 100. */
+	    if (N < 100) {
+		System.out.println("<N> can't be lesser than 100.");
+		return;
+	    }
+
+	    /* Collect the metrics of the doubly lexical ordering. */
+	    csv = checkDoublyLexicalOrderingMetrics(N);
+	} else if (args[0].equals("outofcorelexordering")) {
+	    /* The entry has to be greater or equal than 1000. */
+	    if (N < 1000) {
+		System.out.println("<N> can't be lesser than 1000.");
+		return;
+	    }
+
+	    /* Test the doubly lexical ordering of a matrix in a file. */
+	    csv = checkOutOfCoreDoublyLexicalOrdering(N);
 	} else if (args[0].equals("treeisomorphism")) {
 	    /* The entry has to be greater or equal than 0. */
 	    if (N < 0) {
@@ -0,0 +1,142 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.util.Arrays;
+import java.util.List;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class to represent a Doubly Lexical Orderer of many matrices.
+ *
+ * The matrices are ordered in parallel by the workers of a fork-join pool.
+ * Every worker keeps its own {@link DenseDoublyLexicalOrderer}, whose
+ * partitions and auxiliary arrays are reused from one matrix to the next, so
+ * ordering a matrix only allocates the permutations it returns once the
+ * worker has seen a matrix of the same size.
+ */
+public class BatchDoublyLexicalOrderer {
+
+    /** The default amount of matrices ordered by a task without splitting. */
+    private static final int DEFAULT_GRAIN = 16;
+
+    /** The pool that orders the matrices. */
+    private ForkJoinPool pool;
+
+    /** The amount of matrices ordered by a task without splitting. */
+    private int grain;
+
+    /** The orderer of each worker. */
+    private ThreadLocal<DenseDoublyLexicalOrderer> orderers;
+
+    /**
+     * Constructor for a Batch Doubly Lexical Orderer that uses a worker for
+     * every available processor.
+     */
+    public BatchDoublyLexicalOrderer() {
+	this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for a Batch Doubly Lexical Orderer that receives the amount
+     * of workers.
+     * @param parallelism the amount of workers.
+     */
+    public BatchDoublyLexicalOrderer(int parallelism) {
+	this.pool = new ForkJoinPool(parallelism);
+	this.grain = DEFAULT_GRAIN;
+	this.orderers = new ThreadLocal<DenseDoublyLexicalOrderer>() {
+		@Override
+		protected DenseDoublyLexicalOrderer initialValue() {
+		    return new DenseDoublyLexicalOrderer();
+		}
+	    };
+    }
+
+    /**
+     * Private internal class to represent the task of ordering a range of
+     * the matrices, the task splits the range in halves until it is small
+     * enough.
+     */
+    @SuppressWarnings("serial")
+    private class OrderTask extends RecursiveAction {
+
+	/** The matrices to be ordered. */
+	private BitMatrix[] matrices;
+
+	/** The orderings of the matrices. */
+	private Ordering[] orderings;
+
+	/** The first matrix of the range. */
+	private int from;
+
+	/** The position after the last matrix of the range. */
+	private int to;
+
+	/**
+	 * Unique constructor which receives the matrices, the array of the
+	 * orderings and the range of the task.
+	 * @param matrices the matrices to be ordered.
+	 * @param orderings the orderings of the matrices.
+	 * @param from the first matrix of the range.
+	 * @param to the position after the last matrix of the range.
+	 */
+	OrderTask(BitMatrix[] matrices, Ordering[] orderings,
+		  int from, int to) {
+	    this.matrices = matrices;
+	    this.orderings = orderings;
+	    this.from = from;
+	    this.to = to;
+	}
+
+	@Override
+	protected void compute() {
+	    if (this.to - this.from <= grain) {
+		DenseDoublyLexicalOrderer orderer = orderers.get();
+
+		for (int k = this.from; k < this.to; k++) {
+		    orderer.reset(this.matrices[k]);
+		    orderer.order();
+
+		    int[] orderedRows = orderer.getOrderedRows();
+		    int[] orderedCols = orderer.getOrderedColumns();
+		    this.orderings[k] = new Ordering(orderedRows, orderedCols);
+		}
+
+		return;
+	    }
+
+	    int middle = (this.from + this.to) >>> 1;
+	    invokeAll(new OrderTask(this.matrices, this.orderings,
+				    this.from, middle),
+		      new OrderTask(this.matrices, this.orderings,
+				    middle, this.to));
+	}
+    }
+
+    /**
+     * Returns a doubly lexical ordering of every matrix.
+     * @param matrices the matrices to be ordered.
+     * @return the orderings of the matrices, in the same order as the
+     *         matrices.
+     */
+    public List<Ordering> order(List<BitMatrix> matrices) {
+	/* Copy the matrices, so the tasks access them in constant time. */
+	BitMatrix[] array = matrices.toArray(new BitMatrix[matrices.size()]);
+	Ordering[] orderings = new Ordering[array.length];
+
+	if (array.length > 0) {
+	    this.pool.invoke(new OrderTask(array, orderings, 0, array.length));
+	}
+
+	return Arrays.asList(orderings);
+    }
+
+    /**
+     * Stops the workers of the orderer, once every submitted batch has been
+     * ordered.
+     */
+    public void shutdown() {
+	this.pool.shutdown();
+    }
+}
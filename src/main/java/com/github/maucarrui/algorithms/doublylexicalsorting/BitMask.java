@@ -0,0 +1,131 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+/**
+ * Package-private class to represent a set of columns as a bit mask.
+ *
+ * Besides the words of the mask, it keeps the indexes of the words that have
+ * at least one column, so a row can be restricted to the mask visiting only
+ * those words. It also keeps the lowest and highest of those words, so when
+ * they form a contiguous range the words can be visited in order without the
+ * indexes. A mask can be cleared and reused without allocating memory.
+ */
+class BitMask {
+
+    /** The words of the mask. */
+    private long[] bits;
+
+    /** The indexes of the words with at least one column. */
+    private int[] wordIndexes;
+
+    /** The amount of words with at least one column. */
+    private int numWords;
+
+    /** The lowest index of a word with at least one column. */
+    private int lowWord;
+
+    /** The highest index of a word with at least one column. */
+    private int highWord;
+
+    /**
+     * Unique constructor which receives the amount of columns the mask can
+     * contain.
+     * @param numBits the amount of columns the mask can contain.
+     */
+    BitMask(int numBits) {
+	int length = (numBits + 63) >>> 6;
+	this.bits = new long[length];
+	this.wordIndexes = new int[length];
+	this.numWords = 0;
+	this.lowWord = Integer.MAX_VALUE;
+	this.highWord = -1;
+    }
+
+    /**
+     * Returns the amount of columns the mask can contain.
+     * @return the amount of columns the mask can contain.
+     */
+    int capacity() {
+	return this.bits.length << 6;
+    }
+
+    /**
+     * Removes every column from the mask.
+     */
+    void clear() {
+	for (int k = 0; k < this.numWords; k++) {
+	    this.bits[this.wordIndexes[k]] = 0L;
+	}
+
+	this.numWords = 0;
+	this.lowWord = Integer.MAX_VALUE;
+	this.highWord = -1;
+    }
+
+    /**
+     * Adds a column to the mask.
+     * @param bit the column to add.
+     */
+    void add(int bit) {
+	int w = bit >>> 6;
+
+	if (this.bits[w] == 0L) {
+	    this.wordIndexes[this.numWords++] = w;
+	    this.lowWord = Math.min(this.lowWord, w);
+	    this.highWord = Math.max(this.highWord, w);
+	}
+
+	this.bits[w] |= (1L << bit);
+    }
+
+    /**
+     * Returns the amount of words with at least one column.
+     * @return the amount of words with at least one column.
+     */
+    int numWords() {
+	return this.numWords;
+    }
+
+    /**
+     * Returns whether the words with at least one column form a contiguous
+     * range of indexes.
+     * @return true if the non-empty words are contiguous, false otherwise.
+     */
+    boolean isContiguous() {
+	return this.highWord - this.lowWord + 1 == this.numWords;
+    }
+
+    /**
+     * Returns the lowest index of a word with at least one column.
+     * @return the lowest index of a non-empty word.
+     */
+    int lowWord() {
+	return this.lowWord;
+    }
+
+    /**
+     * Returns the index of the k-th word with at least one column.
+     * @param k the position of the word in the list of non-empty words.
+     * @return the index of the k-th non-empty word.
+     */
+    int wordIndex(int k) {
+	return this.wordIndexes[k];
+    }
+
+    /**
+     * Returns a word of the mask.
+     * @param w the index of the word.
+     * @return the w-th word of the mask.
+     */
+    long word(int w) {
+	return this.bits[w];
+    }
+
+    /**
+     * Returns whether the mask contains a column.
+     * @param bit the column.
+     * @return true if the mask contains the column, false otherwise.
+     */
+    boolean contains(int bit) {
+	return ((this.bits[bit >>> 6] >>> bit) & 1L) != 0L;
+    }
+}
@@ -0,0 +1,232 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+/**
+ * Class to represent a bit-packed (0,1)-matrix.
+ *
+ * Each row of the matrix is stored as a sequence of 64-bit words, where the
+ * j-th bit of a row is the entry of the j-th column. Storing one bit per entry
+ * instead of one integer per entry reduces the memory used by a matrix by a
+ * factor of 32, and allows counting the non-zero entries of a row restricted
+ * to a set of columns one word at a time.
+ */
+public class BitMatrix {
+
+    /** The amount of rows in the matrix. */
+    private int numRows;
+
+    /** The amount of columns in the matrix. */
+    private int numColumns;
+
+    /** The amount of words used to store a single row. */
+    private int wordsPerRow;
+
+    /** The words of the matrix, stored row after row. */
+    private long[] words;
+
+    /**
+     * Constructor which receives the amount of rows and columns of the matrix,
+     * all the entries of the matrix are initially zero.
+     * @param numRows the amount of rows of the matrix.
+     * @param numColumns the amount of columns of the matrix.
+     */
+    public BitMatrix(int numRows, int numColumns) {
+	this(numRows, numColumns, allocate(numRows, numColumns));
+    }
+
+    /**
+     * Auxiliary method to allocate the words of a matrix. The words are
+     * stored in a single array, so a matrix with more than 2^31 words has to
+     * be stored in a file, see {@link MappedBitMatrix}.
+     * @param numRows the amount of rows of the matrix.
+     * @param numColumns the amount of columns of the matrix.
+     * @return the words of the matrix, all of them zero.
+     */
+    private static long[] allocate(int numRows, int numColumns) {
+	long numWords = (long) numRows * wordsPerRow(numColumns);
+
+	if (numWords > Integer.MAX_VALUE - 8) {
+	    throw new IllegalArgumentException("A " + numRows + " x " +
+					       numColumns + " matrix needs " +
+					       "a MappedBitMatrix.");
+	}
+
+	return new long[(int) numWords];
+    }
+
+    /**
+     * Constructor which receives the amount of rows and columns of the
+     * matrix, and the words of the matrix stored row after row. The words are
+     * null when a subclass stores them somewhere else.
+     * @param numRows the amount of rows of the matrix.
+     * @param numColumns the amount of columns of the matrix.
+     * @param words the words of the matrix.
+     */
+    BitMatrix(int numRows, int numColumns, long[] words) {
+	this.numRows = numRows;
+	this.numColumns = numColumns;
+	this.wordsPerRow = wordsPerRow(numColumns);
+	this.words = words;
+    }
+
+    /**
+     * Returns the amount of words used to store a row with the given amount
+     * of columns.
+     * @param numColumns the amount of columns of the row.
+     * @return the amount of words used to store the row.
+     */
+    static int wordsPerRow(int numColumns) {
+	return (numColumns + 63) >>> 6;
+    }
+
+    /**
+     * Constructor which receives a (0,1)-matrix represented as an array of
+     * rows, every non-zero entry of the array is taken as a one.
+     * @param matrix the matrix to be packed.
+     */
+    public BitMatrix(int[][] matrix) {
+	this(matrix.length, (matrix.length == 0) ? 0 : matrix[0].length);
+
+	for (int r = 0; r < this.numRows; r++) {
+	    for (int c = 0; c < this.numColumns; c++) {
+		if (matrix[r][c] != 0) {
+		    this.set(r, c, 1);
+		}
+	    }
+	}
+    }
+
+    /**
+     * Returns the amount of rows in the matrix.
+     * @return the amount of rows in the matrix.
+     */
+    public int numRows() {
+	return this.numRows;
+    }
+
+    /**
+     * Returns the amount of columns in the matrix.
+     * @return the amount of columns in the matrix.
+     */
+    public int numColumns() {
+	return this.numColumns;
+    }
+
+    /**
+     * Returns the entry of the matrix in the given row and column.
+     * @param row the row of the entry.
+     * @param col the column of the entry.
+     * @return 1 if the entry is non-zero, 0 otherwise.
+     */
+    public int get(int row, int col) {
+	long word = this.words[row * this.wordsPerRow + (col >>> 6)];
+	return (int) ((word >>> col) & 1L);
+    }
+
+    /**
+     * Sets the entry of the matrix in the given row and column.
+     * @param row the row of the entry.
+     * @param col the column of the entry.
+     * @param value the new value of the entry, any non-zero value is taken as
+     *        a one.
+     */
+    public void set(int row, int col, int value) {
+	int index = row * this.wordsPerRow + (col >>> 6);
+
+	if (value != 0) {
+	    this.words[index] |= (1L << col);
+	} else {
+	    this.words[index] &= ~(1L << col);
+	}
+    }
+
+    /**
+     * Returns the transpose of the matrix, whose rows are the columns of the
+     * matrix. The transpose is always stored in memory.
+     * @return the transpose of the matrix.
+     */
+    public BitMatrix transpose() {
+	BitMatrix transpose = new BitMatrix(this.numColumns, this.numRows);
+
+	for (int r = 0; r < this.numRows; r++) {
+	    for (int w = 0; w < this.wordsPerRow; w++) {
+		/* Visit only the non-zero entries of the word. */
+		long word = this.word(r, w);
+		while (word != 0L) {
+		    int c = (w << 6) + Long.numberOfTrailingZeros(word);
+		    transpose.set(c, r, 1);
+		    word &= word - 1;
+		}
+	    }
+	}
+
+	return transpose;
+    }
+
+    /**
+     * Returns the amount of words used to store a single row.
+     * @return the amount of words used to store a single row.
+     */
+    int wordsPerRow() {
+	return this.wordsPerRow;
+    }
+
+    /**
+     * Returns a word of a row of the matrix.
+     * @param row the row of the word.
+     * @param w the index of the word inside the row.
+     * @return the w-th word of the row.
+     */
+    long word(int row, int w) {
+	return this.words[row * this.wordsPerRow + w];
+    }
+
+    /**
+     * Returns the amount of non-zero entries of a row restricted to the
+     * columns contained in the mask. Only the words where the mask has at
+     * least one column are visited. If those words are contiguous, they are
+     * visited in order, so the loop has no indirection and the words of the
+     * row are read sequentially.
+     * @param row the row to count its non-zero entries.
+     * @param mask the mask of the columns to be considered.
+     * @return the amount of non-zero entries of the row in the mask.
+     */
+    int countOnes(int row, BitMask mask) {
+	int base = row * this.wordsPerRow;
+	int count = 0;
+
+	if (mask.isContiguous()) {
+	    int low = mask.lowWord();
+	    int high = low + mask.numWords();
+	    for (int w = low; w < high; w++) {
+		count += Long.bitCount(this.words[base + w] & mask.word(w));
+	    }
+	    return count;
+	}
+
+	for (int k = 0; k < mask.numWords(); k++) {
+	    int w = mask.wordIndex(k);
+	    count += Long.bitCount(this.words[base + w] & mask.word(w));
+	}
+
+	return count;
+    }
+
+    /**
+     * Returns whether the matrix is read from a file one block of rows at a
+     * time, in which case its rows should be visited in increasing order.
+     * @return true if the matrix is read by blocks of rows, false otherwise.
+     */
+    boolean isRowBlocked() {
+	return false;
+    }
+
+    /**
+     * Announces the rows of the matrix that are read next, in increasing
+     * order. A matrix read by blocks of rows uses them to read several rows
+     * at once, the other matrices ignore them.
+     * @param rows the rows that are read next.
+     * @param numRows the amount of rows that are read next.
+     */
+    void planReads(int[] rows, int numRows) {
+    }
+}
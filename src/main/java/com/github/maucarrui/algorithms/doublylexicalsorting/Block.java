@@ -1,8 +1,5 @@
 package com.github.maucarrui.algorithms.doublylexicalordering;
 
-import java.util.HashSet;
-import java.util.HashMap;
-
 /**
  * Package-private class to represent a block in a matrix.
  *
@@ -11,27 +8,31 @@ import java.util.HashMap;
  * block is an ordered pair B = (Ri, Cj), which represents the sub-matrix of
  * M defined by the rows and columns indexes contained in Ri and Cj,
  * respectively.
+ *
+ * The parts are stored in the ordered partitions of the matrix, so the block
+ * only keeps the identifiers of its row part and its column part. The amount
+ * of non-zero entries of each row of the block is kept by the orderer, since
+ * the blocks being refined at any time have disjoint row parts.
  */
 class Block {
-    /** The row part Ri of the block B = (Ri, Cj). */
-    private HashSet<Integer> rows;
-
-    /** The column part Cj of the block B = (Ri, Cj). */
-    private HashSet<Integer> columns;
+    /** The identifier of the row part Ri of the block B = (Ri, Cj). */
+    private int rowPart;
 
-    /** The amount of non-zero entries contained in the block B */
-    private int size;
+    /** The identifier of the column part Cj of the block B = (Ri, Cj). */
+    private int columnPart;
 
-    /** The amount of non-zero entries for each row in the row part. */
-    private HashMap<Integer, Integer> rowSize;
+    /** The amount of non-zero entries contained in the block B, a long since
+     * a block of a tall matrix may have more than 2^31 entries. */
+    private long size;
 
     /**
-     * The block B' that is right to B.
-     *
-     * Let B = (Ri, Cj) and B' = (Rm, Cn) be blocks, we say that B' is right
-     * to B if and only if i = m and j < n.
+     * The slice of the splitting rows arena with the candidates to splitting
+     * rows of the block.
      */
-    private Block right;
+    private int splittingRows;
+
+    /** The amount of candidates to splitting rows of the block. */
+    private int numSplittingRows;
 
     /**
      * The block B' that is below to B.
@@ -41,50 +42,51 @@ class Block {
      */
     private Block below;
 
-    /** The block B' that goes after B. */
-    private Block next;
-
-    /** The block B' that goes before B. */
-    private Block previous;
-
     /**
-     * Unique constructor which receives the row part Ri, and the
-     * column part Cj that define the block B = (Ri, Cj).
-     * @param Ri the row part of the block.
-     * @param Cj the column part of the block.
+     * Unique constructor which receives the identifiers of the row part Ri,
+     * and the column part Cj that define the block B = (Ri, Cj).
+     * @param Ri the identifier of the row part of the block.
+     * @param Cj the identifier of the column part of the block.
      */
-    Block(HashSet<Integer> Ri, HashSet<Integer> Cj) {
-	this.rows = Ri;
-	this.columns = Cj;
+    Block(int Ri, int Cj) {
+	this.rowPart = Ri;
+	this.columnPart = Cj;
 	this.size = 0;
-	this.rowSize = new HashMap<Integer, Integer>();
-	this.right = null;
+	this.splittingRows = -1;
+	this.numSplittingRows = 0;
 	this.below = null;
-	this.next = null;
-	this.previous = null;
     }
 
     /**
-     * Returns the row part of the block.
-     * @return the row part of the block.
+     * Returns the identifier of the row part of the block.
+     * @return the identifier of the row part of the block.
+     */
+    int rowPart() {
+	return this.rowPart;
+    }
+
+    /**
+     * Returns the identifier of the column part of the block.
+     * @return the identifier of the column part of the block.
      */
-    HashSet<Integer> rows() {
-	return this.rows;
+    int columnPart() {
+	return this.columnPart;
     }
 
     /**
-     * Returns the column part of the block.
-     * @return the column part of the block.
+     * Moves the block to another column part, when the column part of the
+     * block is refined.
+     * @param Cj the identifier of the new column part of the block.
      */
-    HashSet<Integer> columns() {
-	return this.columns;
+    void setColumnPart(int Cj) {
+	this.columnPart = Cj;
     }
 
     /**
      * Returns the amount of non-zero entries in the block.
      * @return the amount of non-zero entries in the block.
      */
-    int size() {
+    long size() {
 	return this.size;
     }
 
@@ -92,58 +94,50 @@ class Block {
      * Sets the new size of the block.
      * @param the new size of the block.
      */
-    void setSize(int size) {
+    void setSize(long size) {
 	this.size = size;
     }
 
     /**
      * Returns if the block is constant, that is, if all the entries have the
      * same value.
+     * @param numEntries the amount of entries in the block.
      * @return true if the block is constant, false otherwise.
      */
-    boolean isConstant() {
-	int numEntries = this.rows.size() * this.columns.size();
+    boolean isConstant(long numEntries) {
 	return (this.size == 0) || (this.size == numEntries);
     }
 
     /**
-     * Sets the new size of the row block.
-     * @param the new size of the row block.
-     */
-    void setRowSize(int row, int size) {
-	this.rowSize.put(row, size);
-    }
-
-    /**
-     * Sets the new hash map for the sizes of the rows block.
-     * @param newRowSizes the new hash map for the sizes of the rows block.
+     * Sets the slice of the splitting rows arena used by the block.
+     * @param splittingRows the position where the slice starts.
      */
-    void setRowSizeMap(HashMap<Integer, Integer> newRowSizes) {
-	this.rowSize = newRowSizes;
+    void setSplittingRows(int splittingRows) {
+	this.splittingRows = splittingRows;
     }
 
     /**
-     * Returns the amount of non-zero entries in the row.
-     * @return the amount of non-zero entries in the row.
+     * Returns the slice of the splitting rows arena used by the block.
+     * @return the position where the slice starts.
      */
-    int getRowSize(int row) {
-	return this.rowSize.get(row);
+    int getSplittingRows() {
+	return this.splittingRows;
     }
 
     /**
-     * Returns the row size mapping.
-     * @return the row size mapping.
+     * Sets the amount of candidates to splitting rows of the block.
+     * @param numSplittingRows the amount of candidates.
      */
-    HashMap<Integer, Integer> getRowSizeMap() {
-	return this.rowSize;
+    void setNumSplittingRows(int numSplittingRows) {
+	this.numSplittingRows = numSplittingRows;
     }
 
     /**
-     * Indicates which block is to the right.
-     * @param right the block to the right.
+     * Returns the amount of candidates to splitting rows of the block.
+     * @return the amount of candidates.
      */
-    void setRight(Block right) {
-	this.right = right;
+    int getNumSplittingRows() {
+	return this.numSplittingRows;
     }
 
     /**
@@ -154,30 +148,6 @@ class Block {
 	this.below = below;
     }
 
-    /**
-     * Indicates which block is next.
-     * @param next the block that's next.
-     */
-    void setNext(Block next) {
-	this.next = next;
-    }
-
-    /**
-     * Indicates which block is before.
-     * @param next the block that's before.
-     */
-    void setPrevious(Block previous) {
-	this.previous = previous;
-    }
-
-    /**
-     * Returns the block to the right.
-     * @return the block to the right.
-     */
-    Block getRight() {
-	return this.right;
-    }
-
     /**
      * Returns the block that's below.
      * @return the block that's below.
@@ -186,22 +156,6 @@ class Block {
 	return this.below;
     }
 
-    /**
-     * Returns the block that's next.
-     * @return the block that's next.
-     */
-    Block getNext() {
-	return this.next;
-    }
-
-    /**
-     * Returns the block that's before.
-     * @return the block that's before.
-     */
-    Block getPrevious() {
-	return this.previous;
-    }
-
     /**
      * Returns if the current block has a block below.
      * @return true if the current block has a block below, false otherwise.
@@ -209,30 +163,4 @@ class Block {
     boolean hasBelow() {
 	return (this.below != null);
     }
-
-    /**
-     * Returns if the current block has a block right to it.
-     * @return true if the current block has a block to the right, false
-     *         otherwise.
-     */
-    boolean hasRight() {
-	return (this.right != null);
-    }
-
-    /**
-     * Returns if the current block has a next block.
-     * @return true if the current block has a next block, false otherwise.
-     */
-    boolean hasNext() {
-	return (this.next != null);
-    }
-
-    /**
-     * Returns if the current block has a previous block.
-     * @return true if the current block has a previous block, false
-     *         otherwise.
-     */
-    boolean hasPrevious() {
-	return (this.previous != null);
-    }
 }
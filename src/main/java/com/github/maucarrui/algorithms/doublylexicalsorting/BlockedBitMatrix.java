@@ -0,0 +1,358 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class to represent a bit-packed (0,1)-matrix read from a file by blocks of
+ * rows.
+ *
+ * The file has the format of {@link MappedBitMatrix}. Only a few blocks of
+ * consecutive rows are kept in memory, in direct buffers that the channel of
+ * the file fills without copying, and when a row outside of them is needed,
+ * the least recently used buffer is replaced with a single positional read.
+ * Therefore, the memory used by the matrix is bounded by the size of its
+ * buffers, regardless of the size of the file.
+ *
+ * A {@link DoublyLexicalOrderer} visits the rows it needs in increasing
+ * order, and it announces them before reading them. Then every read brings
+ * the next announced rows that fit in a block, together with the short gaps
+ * between them, so the file is read moving forward, each announced row is
+ * read once, and the progress is bounded by the sequential bandwidth of the
+ * disk instead of the time of a random read per row. The matrix is
+ * read-only, and it holds the file open until it is closed.
+ */
+public class BlockedBitMatrix extends BitMatrix implements Closeable {
+
+    /** The default size in bytes of a block of rows. */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 18;
+
+    /** The default amount of blocks kept in memory. */
+    public static final int DEFAULT_NUM_BUFFERS = 4;
+
+    /** The maximum size in bytes of the rows skipped by a single read. */
+    private static final long MAX_GAP = 1 << 16;
+
+    /** The channel of the file. */
+    private FileChannel channel;
+
+    /** The amount of rows in each block. */
+    private int rowsPerBlock;
+
+    /** The buffers with the bytes of the blocks kept in memory. */
+    private ByteBuffer[] buffers;
+
+    /** The words of each buffer. */
+    private LongBuffer[] regions;
+
+    /** The first row stored in each buffer. */
+    private int[] firstRows;
+
+    /** The amount of rows stored in each buffer, zero if it is empty. */
+    private int[] storedRows;
+
+    /** The last time each buffer was used. */
+    private long[] lastUse;
+
+    /** The amount of times a buffer has been used. */
+    private long clock;
+
+    /** The buffer used last. */
+    private int current;
+
+    /** The rows that are read next, in increasing order. */
+    private int[] plannedRows;
+
+    /** The amount of rows that are read next. */
+    private int numPlanned;
+
+    /** The position of the next planned row that has not been read. */
+    private int planCursor;
+
+    /** The amount of reads from the file. */
+    private long reads;
+
+    /** The amount of bytes read from the file. */
+    private long bytesRead;
+
+    /**
+     * Unique constructor which receives the amount of rows and columns of the
+     * matrix, the channel of its file, the amount of rows in each block and
+     * the amount of blocks kept in memory.
+     * @param numRows the amount of rows of the matrix.
+     * @param numColumns the amount of columns of the matrix.
+     * @param channel the channel of the file.
+     * @param rowsPerBlock the amount of rows in each block.
+     * @param numBuffers the amount of blocks kept in memory.
+     */
+    private BlockedBitMatrix(int numRows, int numColumns, FileChannel channel,
+			     int rowsPerBlock, int numBuffers) {
+	super(numRows, numColumns, null);
+
+	this.channel = channel;
+	this.rowsPerBlock = rowsPerBlock;
+	this.buffers = new ByteBuffer[numBuffers];
+	this.regions = new LongBuffer[numBuffers];
+	this.firstRows = new int[numBuffers];
+	this.storedRows = new int[numBuffers];
+	this.lastUse = new long[numBuffers];
+
+	int blockSize = 8 * rowsPerBlock * wordsPerRow();
+	for (int k = 0; k < numBuffers; k++) {
+	    this.buffers[k] = ByteBuffer.allocateDirect(blockSize);
+	    this.regions[k] = this.buffers[k].asLongBuffer();
+	}
+    }
+
+    /**
+     * Opens a bit matrix file, with blocks of the default size and the
+     * default amount of blocks kept in memory.
+     * @param path the path of the file.
+     * @return the matrix stored in the file.
+     * @throws IOException if the file can't be read or is not a bit matrix
+     *         file.
+     */
+    public static BlockedBitMatrix open(Path path) throws IOException {
+	return open(path, DEFAULT_BLOCK_SIZE, DEFAULT_NUM_BUFFERS);
+    }
+
+    /**
+     * Opens a bit matrix file. Every block has as many rows as fit in the
+     * given size, and at least one row.
+     * @param path the path of the file.
+     * @param blockSize the maximum size in bytes of a block of rows.
+     * @param numBuffers the amount of blocks kept in memory.
+     * @return the matrix stored in the file.
+     * @throws IOException if the file can't be read or is not a bit matrix
+     *         file.
+     */
+    public static BlockedBitMatrix open(Path path, int blockSize,
+					int numBuffers) throws IOException {
+	if (blockSize <= 0 || numBuffers <= 0) {
+	    throw new IllegalArgumentException("Invalid block size or amount " +
+					       "of buffers.");
+	}
+
+	FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+	try {
+	    int[] size = MappedBitMatrix.readHeader(channel);
+
+	    int bytesPerRow = 8 * wordsPerRow(size[1]);
+	    int rowsPerBlock = blockSize / Math.max(bytesPerRow, 1);
+	    rowsPerBlock = Math.max(1, Math.min(rowsPerBlock, size[0]));
+
+	    return new BlockedBitMatrix(size[0], size[1], channel,
+					rowsPerBlock, numBuffers);
+	} catch (IOException | RuntimeException e) {
+	    channel.close();
+	    throw e;
+	}
+    }
+
+    /**
+     * Closes the file of the matrix, its entries can't be read afterwards.
+     * @throws IOException if the file can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+	this.channel.close();
+    }
+
+    /**
+     * Returns the amount of rows in each block.
+     * @return the amount of rows in each block.
+     */
+    public int rowsPerBlock() {
+	return this.rowsPerBlock;
+    }
+
+    /**
+     * Returns the amount of reads from the file since the matrix was opened.
+     * @return the amount of reads from the file.
+     */
+    public long getReads() {
+	return this.reads;
+    }
+
+    /**
+     * Returns the amount of bytes read from the file since the matrix was
+     * opened.
+     * @return the amount of bytes read from the file.
+     */
+    public long getBytesRead() {
+	return this.bytesRead;
+    }
+
+    /**
+     * Returns the words of the buffer with a row, reading the row from the
+     * file if it is not kept in memory.
+     * @param row the row.
+     * @return the words of the buffer with the row.
+     */
+    private LongBuffer region(int row) {
+	int k = this.current;
+
+	if (row < this.firstRows[k]
+	    || row >= this.firstRows[k] + this.storedRows[k]) {
+	    k = find(row);
+	    this.current = k;
+	}
+	this.lastUse[k] = ++this.clock;
+
+	return this.regions[k];
+    }
+
+    /**
+     * Returns the buffer with a row, replacing the least recently used
+     * buffer if the row is not kept in memory.
+     * @param row the row.
+     * @return the buffer with the row.
+     */
+    private int find(int row) {
+	int oldest = 0;
+	for (int k = 0; k < this.buffers.length; k++) {
+	    if (row >= this.firstRows[k]
+		&& row < this.firstRows[k] + this.storedRows[k]) {
+		return k;
+	    }
+	    if (this.lastUse[k] < this.lastUse[oldest]) {
+		oldest = k;
+	    }
+	}
+
+	read(oldest, row);
+
+	return oldest;
+    }
+
+    @Override
+    void planReads(int[] rows, int numRows) {
+	this.plannedRows = rows;
+	this.numPlanned = numRows;
+	this.planCursor = 0;
+    }
+
+    /**
+     * Returns the amount of rows read at once starting at the given row. If
+     * the row is planned, the following planned rows are read with it, as
+     * long as they fit in a block and the rows between them are at most
+     * {@link #MAX_GAP} bytes, otherwise only the row is read.
+     * @param row the first row to read.
+     * @return the amount of rows read at once.
+     */
+    private int rowsToRead(int row) {
+	while (this.planCursor < this.numPlanned
+	       && this.plannedRows[this.planCursor] < row) {
+	    this.planCursor++;
+	}
+
+	if (this.planCursor == this.numPlanned
+	    || this.plannedRows[this.planCursor] != row) {
+	    return 1;
+	}
+
+	long bytesPerRow = 8L * wordsPerRow();
+	int last = row;
+	int k = this.planCursor + 1;
+	while (k < this.numPlanned) {
+	    int next = this.plannedRows[k];
+	    if (next - row >= this.rowsPerBlock
+		|| (next - last - 1) * bytesPerRow > MAX_GAP) {
+		break;
+	    }
+	    last = next;
+	    k++;
+	}
+	this.planCursor = k;
+
+	return last - row + 1;
+    }
+
+    /**
+     * Reads rows from the file into a buffer, starting at the given row, see
+     * {@link #rowsToRead(int)}.
+     * @param k the buffer.
+     * @param row the first row to read.
+     */
+    private void read(int k, int row) {
+	int rows = rowsToRead(row);
+
+	long bytesPerRow = 8L * wordsPerRow();
+	long position = MappedBitMatrix.HEADER_SIZE + row * bytesPerRow;
+
+	ByteBuffer buffer = this.buffers[k];
+	buffer.clear();
+	buffer.limit((int) (rows * bytesPerRow));
+
+	/* Mark the buffer as empty until all the rows are read. */
+	this.storedRows[k] = 0;
+	try {
+	    while (buffer.hasRemaining()) {
+		int read = this.channel.read(buffer,
+					     position + buffer.position());
+		if (read < 0) {
+		    throw new IOException("Truncated bit matrix file.");
+		}
+	    }
+	} catch (IOException e) {
+	    throw new UncheckedIOException(e);
+	}
+
+	this.firstRows[k] = row;
+	this.storedRows[k] = rows;
+	this.reads++;
+	this.bytesRead += rows * bytesPerRow;
+    }
+
+    /**
+     * Returns the index of a row inside the buffer used last.
+     * @param row the row.
+     * @return the index of the first word of the row in the buffer.
+     */
+    private int base(int row) {
+	return (row - this.firstRows[this.current]) * wordsPerRow();
+    }
+
+    @Override
+    public int get(int row, int col) {
+	long word = word(row, col >>> 6);
+	return (int) ((word >>> col) & 1L);
+    }
+
+    @Override
+    public void set(int row, int col, int value) {
+	throw new UnsupportedOperationException("A blocked bit matrix is " +
+						"read-only.");
+    }
+
+    @Override
+    long word(int row, int w) {
+	return region(row).get(base(row) + w);
+    }
+
+    @Override
+    int countOnes(int row, BitMask mask) {
+	LongBuffer region = region(row);
+	int base = base(row);
+	int count = 0;
+
+	for (int k = 0; k < mask.numWords(); k++) {
+	    int w = mask.wordIndex(k);
+	    count += Long.bitCount(region.get(base + w) & mask.word(w));
+	}
+
+	return count;
+    }
+
+    @Override
+    boolean isRowBlocked() {
+	return true;
+    }
+}
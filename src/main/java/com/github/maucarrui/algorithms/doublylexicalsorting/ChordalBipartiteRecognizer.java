@@ -0,0 +1,180 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.util.Arrays;
+
+/**
+ * Class to represent a recognizer of chordal bipartite graphs.
+ *
+ * A bipartite graph is chordal bipartite if and only if its biadjacency
+ * matrix, whose rows are the vertices of one side and whose columns are the
+ * vertices of the other side, is totally balanced, that is, if a doubly
+ * lexical ordering of the matrix has no Γ submatrix (see {@link
+ * GammaSubmatrix}).
+ *
+ * The graph is received as a list of edges and the biadjacency matrix is
+ * stored as a {@link SparseMatrix}, which is ordered with a {@link
+ * SparseDoublyLexicalOrderer} and checked with a {@link GammaFreeChecker}.
+ * The memory used is proportional to the amount of vertices and edges, the
+ * biadjacency matrix is never densified.
+ */
+public class ChordalBipartiteRecognizer {
+
+    /** The biadjacency matrix of the graph. */
+    private SparseMatrix biadjacency;
+
+    /** The ordered vertices of the left side. */
+    private int[] orderedLeft;
+
+    /** The ordered vertices of the right side. */
+    private int[] orderedRight;
+
+    /** The Γ found in the ordered matrix, null if there is none. */
+    private GammaSubmatrix witness;
+
+    /** Whether the graph has already been recognized. */
+    private boolean recognized;
+
+    /**
+     * Unique constructor which receives the sizes of the sides and the edges
+     * of the graph. The vertices of the left side are 0, 1, ..., numLeft-1
+     * and the vertices of the right side are 0, 1, ..., numRight-1, the i-th
+     * edge joins the vertex left[i] of the left side with the vertex right[i]
+     * of the right side. Repeated edges are taken only once.
+     * @param numLeft the amount of vertices of the left side.
+     * @param numRight the amount of vertices of the right side.
+     * @param left the endpoints of the edges in the left side.
+     * @param right the endpoints of the edges in the right side.
+     */
+    public ChordalBipartiteRecognizer(int numLeft, int numRight,
+				      int[] left, int[] right) {
+	if (left.length != right.length) {
+	    throw new IllegalArgumentException("The edges must have two " +
+					       "endpoints.");
+	}
+
+	this.biadjacency = biadjacencyOf(numLeft, numRight, left, right);
+	this.recognized = false;
+    }
+
+    /**
+     * Auxiliary method to build the biadjacency matrix of the graph in
+     * compressed sparse row format, skipping the repeated edges.
+     * @param numLeft the amount of vertices of the left side.
+     * @param numRight the amount of vertices of the right side.
+     * @param left the endpoints of the edges in the left side.
+     * @param right the endpoints of the edges in the right side.
+     * @return the biadjacency matrix of the graph.
+     */
+    private static SparseMatrix biadjacencyOf(int numLeft, int numRight,
+					      int[] left, int[] right) {
+	int numEdges = left.length;
+
+	/* Bucket the edges by their left endpoint. */
+	int[] pointers = new int[numLeft + 1];
+	for (int e = 0; e < numEdges; e++) {
+	    if (left[e] < 0 || left[e] >= numLeft
+		|| right[e] < 0 || right[e] >= numRight) {
+		String msg = "The edge " + e + " has an endpoint out of range.";
+		throw new IllegalArgumentException(msg);
+	    }
+	    pointers[left[e] + 1]++;
+	}
+	for (int u = 0; u < numLeft; u++) {
+	    pointers[u + 1] += pointers[u];
+	}
+
+	int[] indices = new int[numEdges];
+	int[] next = new int[numLeft];
+	for (int e = 0; e < numEdges; e++) {
+	    indices[pointers[left[e]] + next[left[e]]++] = right[e];
+	}
+
+	/* Compact the buckets, a right endpoint is stamped with the last left
+	 * endpoint that saw it. */
+	int[] stamp = new int[numRight];
+	Arrays.fill(stamp, -1);
+	int k = 0;
+	int start = 0;
+	for (int u = 0; u < numLeft; u++) {
+	    int end = pointers[u + 1];
+	    pointers[u] = k;
+	    for (int i = start; i < end; i++) {
+		int v = indices[i];
+		if (stamp[v] != u) {
+		    stamp[v] = u;
+		    indices[k++] = v;
+		}
+	    }
+	    start = end;
+	}
+	pointers[numLeft] = k;
+
+	if (k < numEdges) {
+	    indices = Arrays.copyOf(indices, k);
+	}
+
+	return new SparseMatrix(numLeft, numRight, pointers, indices);
+    }
+
+    /**
+     * Orders the biadjacency matrix and looks for a Γ in it.
+     */
+    private void recognize() {
+	if (this.recognized) {
+	    return;
+	}
+	this.recognized = true;
+
+	SparseDoublyLexicalOrderer orderer;
+	orderer = new SparseDoublyLexicalOrderer(this.biadjacency);
+	this.orderedLeft = orderer.getOrderedRows();
+	this.orderedRight = orderer.getOrderedColumns();
+
+	GammaFreeChecker checker;
+	checker = new GammaFreeChecker(this.biadjacency,
+				       this.orderedLeft, this.orderedRight);
+	this.witness = checker.getWitness();
+    }
+
+    /**
+     * Returns whether the graph is chordal bipartite.
+     * @return true if the graph is chordal bipartite, false otherwise.
+     */
+    public boolean isChordalBipartite() {
+	recognize();
+	return this.witness == null;
+    }
+
+    /**
+     * Returns the vertices of the left side in the order of the doubly
+     * lexical ordering of the biadjacency matrix.
+     * @return the ordered vertices of the left side.
+     */
+    public int[] getOrderedLeft() {
+	recognize();
+	return this.orderedLeft;
+    }
+
+    /**
+     * Returns the vertices of the right side in the order of the doubly
+     * lexical ordering of the biadjacency matrix.
+     * @return the ordered vertices of the right side.
+     */
+    public int[] getOrderedRight() {
+	recognize();
+	return this.orderedRight;
+    }
+
+    /**
+     * Returns a Γ of the ordered biadjacency matrix, which proves that the
+     * graph is not chordal bipartite. The rows of the Γ are vertices of the
+     * left side and its columns are vertices of the right side: the top row
+     * isn't adjacent to the left column, while the other three pairs are
+     * adjacent.
+     * @return the Γ, null if the graph is chordal bipartite.
+     */
+    public GammaSubmatrix getWitness() {
+	recognize();
+	return this.witness;
+    }
+}
@@ -0,0 +1,444 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Arrays;
+
+/**
+ * Class to represent a compressed (0,1)-matrix.
+ *
+ * The rows and columns of the matrix are permuted, usually by a doubly
+ * lexical ordering, and every row of the permuted matrix is compressed on
+ * its own. In a doubly lexical ordering the non-zero entries of the rows
+ * form staircases, so the rows are made of a few long runs. Every row is
+ * stored in the smaller of two containers, in the spirit of Roaring bitmaps:
+ *
+ *   - A run container, a tag byte followed by the amount of runs and the
+ *     length of every run but the last one, as variable-length integers.
+ *     The runs alternate between ones and zeros starting with ones, so the
+ *     first run may be empty.
+ *   - A bitmap container, a tag byte followed by the entries of the row
+ *     packed in bytes, eight entries per byte.
+ *
+ * The offset of every row in the compressed data is kept, so any row can be
+ * decoded without decoding the rows before it. The two permutations are
+ * stored along the rows, so the original matrix can be recovered.
+ */
+public class CompressedMatrix {
+
+    /** The magic number of a compressed matrix file, "DLOC" in ASCII. */
+    static final int MAGIC = 0x444c4f43;
+
+    /** The version of the format of the file. */
+    static final int VERSION = 1;
+
+    /** The size in bytes of the header of the file. */
+    static final int HEADER_SIZE = 20;
+
+    /** The tag of a run container. */
+    private static final byte RUNS = 0;
+
+    /** The tag of a bitmap container. */
+    private static final byte BITMAP = 1;
+
+    /** The amount of rows of the matrix. */
+    private int numRows;
+
+    /** The amount of columns of the matrix. */
+    private int numColumns;
+
+    /** The original row in each position of the permuted matrix. */
+    private int[] orderedRows;
+
+    /** The original column in each position of the permuted matrix. */
+    private int[] orderedColumns;
+
+    /** The position of each original row in the permuted matrix. */
+    private int[] rowPositions;
+
+    /** Where the containers of each row start in the compressed data, the
+     * last entry is the size of the data. */
+    private int[] offsets;
+
+    /** The containers of the rows of the permuted matrix. */
+    private byte[] data;
+
+    /**
+     * Unique constructor which receives the permutations, the offsets of the
+     * rows and the compressed data.
+     * @param orderedRows the original row in each position.
+     * @param orderedColumns the original column in each position.
+     * @param offsets where the containers of each row start.
+     * @param data the containers of the rows.
+     */
+    private CompressedMatrix(int[] orderedRows, int[] orderedColumns,
+			     int[] offsets, byte[] data) {
+	this.numRows = orderedRows.length;
+	this.numColumns = orderedColumns.length;
+	this.orderedRows = orderedRows;
+	this.orderedColumns = orderedColumns;
+	this.offsets = offsets;
+	this.data = data;
+
+	this.rowPositions = new int[this.numRows];
+	for (int i = 0; i < this.numRows; i++) {
+	    this.rowPositions[orderedRows[i]] = i;
+	}
+    }
+
+    /**
+     * Compresses a matrix after computing a doubly lexical ordering of it
+     * with a {@link DoublyLexicalOrderer}.
+     * @param matrix the matrix to be compressed.
+     * @return the compressed matrix.
+     */
+    public static CompressedMatrix encode(BitMatrix matrix) {
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(matrix);
+	orderer.order();
+
+	return encode(matrix, orderer.getOrderedRows(),
+		      orderer.getOrderedColumns());
+    }
+
+    /**
+     * Compresses a matrix with its rows and columns in the given order. The
+     * identity permutations compress the matrix as it is.
+     * @param matrix the matrix to be compressed.
+     * @param orderedRows the original row in each position.
+     * @param orderedColumns the original column in each position.
+     * @return the compressed matrix.
+     */
+    public static CompressedMatrix encode(BitMatrix matrix, int[] orderedRows,
+					  int[] orderedColumns) {
+	int numRows = orderedRows.length;
+	int numColumns = orderedColumns.length;
+	int bitmapSize = 1 + (numColumns + 7) / 8;
+
+	int[] offsets = new int[numRows + 1];
+	byte[] data = new byte[Math.max(16, numRows)];
+	int size = 0;
+
+	int[] runs = new int[numColumns + 1];
+	byte[] bitmap = new byte[bitmapSize];
+
+	for (int i = 0; i < numRows; i++) {
+	    int r = orderedRows[i];
+	    offsets[i] = size;
+
+	    /* Split the row in runs and pack it at the same time. */
+	    Arrays.fill(bitmap, (byte) 0);
+	    bitmap[0] = BITMAP;
+	    int numRuns = 1;
+	    int value = 1;
+	    runs[0] = 0;
+	    for (int j = 0; j < numColumns; j++) {
+		int entry = matrix.get(r, orderedColumns[j]);
+		if (entry != value) {
+		    runs[numRuns++] = 0;
+		    value = entry;
+		}
+		runs[numRuns - 1]++;
+		bitmap[1 + (j >>> 3)] |= (byte) (entry << (j & 7));
+	    }
+
+	    /* The last run is implied by the amount of columns. */
+	    int runsSize = 1 + varIntSize(numRuns);
+	    for (int k = 0; k < numRuns - 1; k++) {
+		runsSize += varIntSize(runs[k]);
+	    }
+
+	    int containerSize = Math.min(runsSize, bitmapSize);
+	    if (data.length - size < containerSize) {
+		int capacity = Math.max(2 * data.length, size + containerSize);
+		data = Arrays.copyOf(data, capacity);
+	    }
+
+	    if (runsSize <= bitmapSize) {
+		data[size++] = RUNS;
+		size = putVarInt(data, size, numRuns);
+		for (int k = 0; k < numRuns - 1; k++) {
+		    size = putVarInt(data, size, runs[k]);
+		}
+	    } else {
+		System.arraycopy(bitmap, 0, data, size, bitmapSize);
+		size += bitmapSize;
+	    }
+	}
+	offsets[numRows] = size;
+
+	return new CompressedMatrix(orderedRows.clone(),
+				    orderedColumns.clone(), offsets,
+				    Arrays.copyOf(data, size));
+    }
+
+    /**
+     * Returns the amount of bytes used by a variable-length integer, seven
+     * bits are stored in each byte.
+     * @param value the non-negative integer.
+     * @return the amount of bytes used by the integer.
+     */
+    private static int varIntSize(int value) {
+	int size = 1;
+	while ((value >>>= 7) != 0) {
+	    size++;
+	}
+
+	return size;
+    }
+
+    /**
+     * Stores a variable-length integer, the lowest seven bits first. The
+     * highest bit of a byte is set if more bytes follow.
+     * @param data the array where the integer is stored.
+     * @param position where the integer is stored.
+     * @param value the non-negative integer.
+     * @return the position after the integer.
+     */
+    private static int putVarInt(byte[] data, int position, int value) {
+	while ((value & ~0x7f) != 0) {
+	    data[position++] = (byte) ((value & 0x7f) | 0x80);
+	    value >>>= 7;
+	}
+	data[position++] = (byte) value;
+
+	return position;
+    }
+
+    /**
+     * Decodes a row of the permuted matrix. The entry in the j-th position
+     * of the row is stored in the position columns[j] of the array, or in the
+     * j-th position if columns is null.
+     * @param i the row of the permuted matrix.
+     * @param row the array where the entries are stored.
+     * @param columns where each entry is stored, null to keep the order of
+     *        the permuted matrix.
+     */
+    private void decodeRow(int i, int[] row, int[] columns) {
+	int position = this.offsets[i];
+
+	if (this.data[position++] == BITMAP) {
+	    for (int j = 0; j < this.numColumns; j++) {
+		int entry = (this.data[position + (j >>> 3)] >>> (j & 7)) & 1;
+		row[(columns == null) ? j : columns[j]] = entry;
+	    }
+	    return;
+	}
+
+	/* Read the amount of runs and then the length of each run, the last
+	 * one reaches the end of the row. */
+	int numRuns = getVarInt(position);
+	position += varIntSize(numRuns);
+	int j = 0;
+	for (int k = 0; k < numRuns; k++) {
+	    int length = this.numColumns - j;
+	    if (k < numRuns - 1) {
+		length = getVarInt(position);
+		position += varIntSize(length);
+	    }
+
+	    int entry = 1 - (k & 1);
+	    for (int end = j + length; j < end; j++) {
+		row[(columns == null) ? j : columns[j]] = entry;
+	    }
+	}
+    }
+
+    /**
+     * Reads a variable-length integer of the compressed data.
+     * @param position where the integer starts.
+     * @return the integer.
+     */
+    private int getVarInt(int position) {
+	int value = 0;
+	int shift = 0;
+	byte b;
+	do {
+	    b = this.data[position++];
+	    value |= (b & 0x7f) << shift;
+	    shift += 7;
+	} while ((b & 0x80) != 0);
+
+	return value;
+    }
+
+    /**
+     * Returns the amount of rows of the matrix.
+     * @return the amount of rows of the matrix.
+     */
+    public int numRows() {
+	return this.numRows;
+    }
+
+    /**
+     * Returns the amount of columns of the matrix.
+     * @return the amount of columns of the matrix.
+     */
+    public int numColumns() {
+	return this.numColumns;
+    }
+
+    /**
+     * Returns the original row in each position of the permuted matrix.
+     * @return the ordered rows.
+     */
+    public int[] getOrderedRows() {
+	return this.orderedRows;
+    }
+
+    /**
+     * Returns the original column in each position of the permuted matrix.
+     * @return the ordered columns.
+     */
+    public int[] getOrderedColumns() {
+	return this.orderedColumns;
+    }
+
+    /**
+     * Copies a row of the permuted matrix into the given array, only the
+     * container of the row is decoded.
+     * @param i the row of the permuted matrix.
+     * @param row an array of length at least the amount of columns, if it is
+     *        null a new array is allocated.
+     * @return the array with the entries of the row.
+     */
+    public int[] getOrderedRow(int i, int[] row) {
+	if (row == null || row.length < this.numColumns) {
+	    row = new int[this.numColumns];
+	}
+
+	decodeRow(i, row, null);
+
+	return row;
+    }
+
+    /**
+     * Copies a row of the original matrix into the given array, with the
+     * columns in their original order. Only the container of the row is
+     * decoded.
+     * @param r the row of the original matrix.
+     * @param row an array of length at least the amount of columns, if it is
+     *        null a new array is allocated.
+     * @return the array with the entries of the row.
+     */
+    public int[] getRow(int r, int[] row) {
+	if (row == null || row.length < this.numColumns) {
+	    row = new int[this.numColumns];
+	}
+
+	decodeRow(this.rowPositions[r], row, this.orderedColumns);
+
+	return row;
+    }
+
+    /**
+     * Decodes the whole original matrix.
+     * @return the original matrix.
+     */
+    public BitMatrix decode() {
+	BitMatrix matrix = new BitMatrix(this.numRows, this.numColumns);
+	int[] row = new int[this.numColumns];
+
+	for (int r = 0; r < this.numRows; r++) {
+	    getRow(r, row);
+	    for (int c = 0; c < this.numColumns; c++) {
+		if (row[c] != 0) {
+		    matrix.set(r, c, 1);
+		}
+	    }
+	}
+
+	return matrix;
+    }
+
+    /**
+     * Returns the size in bytes of the compressed matrix once it is written
+     * into a file, including its header, its permutations and the offsets
+     * of its rows.
+     * @return the size in bytes of the compressed matrix.
+     */
+    public long sizeInBytes() {
+	long numInts = this.numRows + this.numColumns + this.numRows + 1;
+
+	return HEADER_SIZE + 4 * numInts + this.data.length;
+    }
+
+    /**
+     * Writes the compressed matrix into a file. The file starts with a header
+     * of five integers: a magic number, the version of the format, the
+     * amount of rows, the amount of columns and the size of the compressed
+     * data. The header is followed by the ordered rows, the ordered columns,
+     * the offsets of the rows and the compressed data, in big-endian order.
+     * @param path the path of the file.
+     * @throws IOException if the file can't be written.
+     */
+    public void write(Path path) throws IOException {
+	try (DataOutputStream out = new DataOutputStream(
+		 new BufferedOutputStream(Files.newOutputStream(path)))) {
+	    out.writeInt(MAGIC);
+	    out.writeInt(VERSION);
+	    out.writeInt(this.numRows);
+	    out.writeInt(this.numColumns);
+	    out.writeInt(this.data.length);
+
+	    for (int r : this.orderedRows) {
+		out.writeInt(r);
+	    }
+	    for (int c : this.orderedColumns) {
+		out.writeInt(c);
+	    }
+	    for (int offset : this.offsets) {
+		out.writeInt(offset);
+	    }
+	    out.write(this.data);
+	}
+    }
+
+    /**
+     * Reads a compressed matrix from a file written by {@link #write(Path)}.
+     * @param path the path of the file.
+     * @return the compressed matrix.
+     * @throws IOException if the file can't be read or is not a compressed
+     *         matrix file.
+     */
+    public static CompressedMatrix read(Path path) throws IOException {
+	try (DataInputStream in = new DataInputStream(
+		 new BufferedInputStream(Files.newInputStream(path)))) {
+	    if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+		throw new IOException("Not a compressed matrix file.");
+	    }
+
+	    int numRows = in.readInt();
+	    int numColumns = in.readInt();
+	    int size = in.readInt();
+
+	    int[] orderedRows = new int[numRows];
+	    int[] orderedColumns = new int[numColumns];
+	    int[] offsets = new int[numRows + 1];
+	    byte[] data = new byte[size];
+
+	    for (int i = 0; i < numRows; i++) {
+		orderedRows[i] = in.readInt();
+	    }
+	    for (int j = 0; j < numColumns; j++) {
+		orderedColumns[j] = in.readInt();
+	    }
+	    for (int i = 0; i <= numRows; i++) {
+		offsets[i] = in.readInt();
+	    }
+	    in.readFully(data);
+
+	    return new CompressedMatrix(orderedRows, orderedColumns,
+					offsets, data);
+	} catch (EOFException e) {
+	    throw new IOException("Truncated compressed matrix file.");
+	}
+    }
+}
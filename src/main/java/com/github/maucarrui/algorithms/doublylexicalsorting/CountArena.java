@@ -0,0 +1,137 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.util.Arrays;
+
+/**
+ * Package-private class to represent an arena of integer counters.
+ *
+ * The counters are stored in slices of a single array of integers, every
+ * slice is identified by the position where it starts. The length of a slice
+ * is rounded up to a power of two, and the released slices are kept in a free
+ * list for each length, so they can be reused by later slices of the same
+ * length. Therefore, the arena only allocates memory when it runs out of
+ * space, which is recorded by an allocation counter.
+ */
+class CountArena {
+
+    /** The smallest length of a slice. */
+    private static final int MIN_LENGTH = 2;
+
+    /** The storage of the slices. */
+    private int[] counts;
+
+    /** The position after the last slice ever taken from the storage. */
+    private int top;
+
+    /** The first released slice of each length, -1 if there is none. */
+    private int[] freeSlices;
+
+    /** The amount of times the storage has been allocated. */
+    private int allocations;
+
+    /**
+     * Unique constructor which receives the initial amount of counters of
+     * the arena.
+     * @param capacity the initial amount of counters of the arena.
+     */
+    CountArena(int capacity) {
+	this.counts = new int[Math.max(capacity, MIN_LENGTH)];
+	this.freeSlices = new int[32];
+	this.allocations = 1;
+	clear();
+    }
+
+    /**
+     * Releases every slice of the arena, keeping its storage.
+     */
+    void clear() {
+	this.top = 0;
+	Arrays.fill(this.freeSlices, -1);
+    }
+
+    /**
+     * Returns the size class of a slice, the length of the slices of the
+     * class k is 2^k.
+     * @param length the length of the slice.
+     * @return the size class of the slice.
+     */
+    private static int sizeClass(int length) {
+	if (length <= MIN_LENGTH) {
+	    return 1;
+	}
+
+	return 32 - Integer.numberOfLeadingZeros(length - 1);
+    }
+
+    /**
+     * Takes a slice of the arena. The counters of the slice are not
+     * initialized.
+     * @param length the amount of counters of the slice.
+     * @return the position where the slice starts.
+     */
+    int allocate(int length) {
+	int k = sizeClass(length);
+	int slice = this.freeSlices[k];
+
+	/* Reuse a released slice of the same class. */
+	if (slice != -1) {
+	    this.freeSlices[k] = this.counts[slice];
+	    return slice;
+	}
+
+	/* Take a new slice, growing the storage if necessary. */
+	int classLength = 1 << k;
+	if (this.top + classLength > this.counts.length) {
+	    int capacity = Math.max(2 * this.counts.length,
+				    this.top + classLength);
+	    this.counts = Arrays.copyOf(this.counts, capacity);
+	    this.allocations++;
+	}
+
+	slice = this.top;
+	this.top += classLength;
+
+	return slice;
+    }
+
+    /**
+     * Releases a slice of the arena, so it can be reused.
+     * @param slice the position where the slice starts.
+     * @param length the amount of counters of the slice.
+     */
+    void free(int slice, int length) {
+	int k = sizeClass(length);
+
+	this.counts[slice] = this.freeSlices[k];
+	this.freeSlices[k] = slice;
+    }
+
+    /**
+     * Returns a counter of a slice.
+     * @param slice the position where the slice starts.
+     * @param index the index of the counter inside the slice.
+     * @return the value of the counter.
+     */
+    int get(int slice, int index) {
+	return this.counts[slice + index];
+    }
+
+    /**
+     * Sets a counter of a slice.
+     * @param slice the position where the slice starts.
+     * @param index the index of the counter inside the slice.
+     * @param value the new value of the counter.
+     */
+    void set(int slice, int index, int value) {
+	this.counts[slice + index] = value;
+    }
+
+    /**
+     * Returns the amount of times the storage of the arena has been
+     * allocated, including its initial allocation.
+     * @return the amount of times the storage has been allocated.
+     */
+    int allocations() {
+	return this.allocations;
+    }
+}
@@ -0,0 +1,319 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+/**
+ * Class to represent a Doubly Lexical Orderer for dense matrices.
+ *
+ * Given a bit-packed (0,1)-matrix M, it returns a doubly lexical ordering of
+ * the rows and columns of M. It visits the blocks in the same order as
+ * {@link DoublyLexicalOrderer}, column part by column part, but it doesn't
+ * keep the amount of non-zero entries of the blocks. Instead, every row block
+ * (r, Cj) is classified as empty, full or splitting when it is reached, by
+ * counting the non-zero entries of the row restricted to a mask of Cj, one
+ * 64-bit word at a time.
+ *
+ * Since no counts are stored, a refinement only moves the elements of the
+ * ordered partitions, and no block is ever counted when one of its parts is
+ * split. After a column refinement by a row r, the rows of Ri already visited
+ * are constant in both halves, so the visit of (Ri, Cj) resumes right after
+ * r. The right half of a split is later visited again from the same row part
+ * to the bottom of the matrix, so every column part costs up to one row block
+ * per row, and each row block one word per 64 columns of the part. Inputs
+ * whose column parts are split one column at a time, such as staircase or
+ * triangular matrices, create column parts of sizes n, n - 1, ..., 1 that
+ * are all scanned from the top, which takes O(n^3 / 64) word operations. This
+ * is not the O(n^2) bound of Spinrad's algorithm; the engine pays off on
+ * dense matrices with few refinements, where updating the counts of {@link
+ * DoublyLexicalOrderer} touches most of the matrix on every split.
+ */
+public class DenseDoublyLexicalOrderer {
+
+    /** The matrix to be ordered. */
+    private BitMatrix matrix;
+
+    /** The ordered row partition. */
+    private Partition rowPartition;
+
+    /** The ordered column partition. */
+    private Partition columnPartition;
+
+    /** The position of the row part where the processing of each column part
+     * starts, the blocks above it are known to be constant. */
+    private int[] startRow;
+
+    /** The mask of the column part being processed. */
+    private BitMask columnMask;
+
+    /** Whether the ordering has already been computed. */
+    private boolean ordered;
+
+    /**
+     * Constructor for a Dense Doubly Lexical Orderer that receives the
+     * bit-packed matrix to be ordered.
+     * @param matrix the matrix to be ordered.
+     */
+    public DenseDoublyLexicalOrderer(BitMatrix matrix) {
+	reset(matrix);
+    }
+
+    /**
+     * Constructor for a Dense Doubly Lexical Orderer without a matrix, a
+     * matrix must be given with {@link #reset(BitMatrix)} before ordering.
+     */
+    DenseDoublyLexicalOrderer() {
+	this.matrix = null;
+	this.ordered = true;
+    }
+
+    /**
+     * Constructor for a Dense Doubly Lexical Orderer that receives the matrix
+     * to be ordered as an array of rows. The matrix is packed into a {@link
+     * BitMatrix} before being ordered.
+     * @param matrix the matrix to be ordered.
+     */
+    public DenseDoublyLexicalOrderer(int[][] matrix) {
+	this(new BitMatrix(matrix));
+    }
+
+    /**
+     * Replaces the matrix to be ordered, reusing the partitions and auxiliary
+     * arrays of the orderer when they are big enough for the new matrix.
+     * @param matrix the new matrix to be ordered.
+     */
+    void reset(BitMatrix matrix) {
+	int numRows = matrix.numRows();
+	int numCols = matrix.numColumns();
+
+	if (this.rowPartition == null) {
+	    this.rowPartition = new Partition(numRows);
+	    this.columnPartition = new Partition(numCols);
+	} else {
+	    this.rowPartition.reset(numRows);
+	    this.columnPartition.reset(numCols);
+	}
+
+	if (this.columnMask == null || this.columnMask.capacity() < numCols) {
+	    this.columnMask = new BitMask(numCols);
+	}
+
+	if (this.startRow == null || this.startRow.length < numCols) {
+	    this.startRow = new int[numCols];
+	}
+
+	this.matrix = matrix;
+	this.ordered = false;
+    }
+
+    /**
+     * Computes a doubly lexical ordering of the matrix, the ordering can then
+     * be obtained with {@link #getOrderedRows()} and {@link
+     * #getOrderedColumns()}.
+     */
+    public void order() {
+	if (this.ordered) {
+	    return;
+	}
+	this.ordered = true;
+
+	int numRows = this.matrix.numRows();
+	int numCols = this.matrix.numColumns();
+
+	if (numRows == 0 || numCols == 0) {
+	    return;
+	}
+
+	/* Process the column parts from left to right, the column parts
+	 * created by a split are processed before the following ones. */
+	int C = this.columnPartition.first();
+	this.startRow[C] = 0;
+	while (C != -1) {
+	    C = processColumnPart(C);
+	    C = this.columnPartition.next(C);
+	}
+    }
+
+    /**
+     * Defines the mask of the columns in a column part.
+     * @param Cj the column part.
+     */
+    private void buildMask(int Cj) {
+	Partition P = this.columnPartition;
+
+	this.columnMask.clear();
+	for (int k = P.start(Cj); k < P.end(Cj); k++) {
+	    this.columnMask.add(P.element(k));
+	}
+    }
+
+    /**
+     * Visits the blocks of a column part from its starting row part to the
+     * bottom of the matrix, refining the column part by its splitting rows
+     * and the row parts of the blocks without splitting rows.
+     * @param Cj the column part.
+     * @return the last column part visited, every column part before it has
+     *         been processed.
+     */
+    private int processColumnPart(int Cj) {
+	Partition R = this.rowPartition;
+	int numRows = this.matrix.numRows();
+	int numCols = this.columnPartition.size(Cj);
+	int position = this.startRow[Cj];
+
+	buildMask(Cj);
+
+	while (position < numRows) {
+	    int Ri = R.partOf(R.element(position));
+	    int end = R.end(Ri);
+
+	    /* Whether (Ri, Cj) has full and empty row blocks. */
+	    boolean full = false;
+	    boolean empty = false;
+
+	    for (int k = position; k < end; k++) {
+		int r = R.element(k);
+		int size = this.matrix.countOnes(r, this.columnMask);
+
+		if (size == 0) {
+		    empty = true;
+		} else if (size == numCols) {
+		    full = true;
+		} else {
+		    /* r is a splitting row, refine Cj and continue with its
+		     * left half, where r is full. Its right half starts at
+		     * the same row part. */
+		    int right = refineColumns(r, Cj, size);
+		    this.startRow[right] = position;
+		    Cj = this.columnPartition.partOf(
+			this.columnPartition.element(
+			    this.columnPartition.start(right) - 1));
+		    numCols = size;
+		    buildMask(Cj);
+		    full = true;
+		}
+	    }
+
+	    /* If (Ri, Cj) is non-constant without splitting rows, refine Ri
+	     * moving its full rows to the top. */
+	    if (full && empty) {
+		refineRows(Ri, Cj);
+	    }
+
+	    position = end;
+	}
+
+	return Cj;
+    }
+
+    /**
+     * Performs a column refinement of a column part by a row, the columns
+     * where the row is non-zero go first. Only the columns of the smaller
+     * half are moved.
+     * @param row the splitting row.
+     * @param Cj the column part.
+     * @param numOnes the amount of non-zero entries of the row in Cj.
+     * @return the right half of the refinement.
+     */
+    private int refineColumns(int row, int Cj, int numOnes) {
+	Partition P = this.columnPartition;
+	int numZeros = P.size(Cj) - numOnes;
+
+	if (numOnes <= numZeros) {
+	    for (int k = P.start(Cj); k < P.end(Cj); k++) {
+		int col = P.element(k);
+		if (this.matrix.get(row, col) == 1) {
+		    P.mark(col);
+		}
+	    }
+	    P.split(Cj);
+	    return Cj;
+	} else {
+	    for (int k = P.end(Cj) - 1; k >= P.start(Cj); k--) {
+		int col = P.element(k);
+		if (this.matrix.get(row, col) == 0) {
+		    P.markBack(col);
+		}
+	    }
+	    return P.split(Cj);
+	}
+    }
+
+    /**
+     * Performs a row refinement of a row part by a column part where every
+     * row block is constant, the full rows go first. Only the rows of the
+     * smaller half are moved.
+     * @param Ri the row part.
+     * @param Cj the column part.
+     */
+    private void refineRows(int Ri, int Cj) {
+	Partition P = this.rowPartition;
+	int col = this.columnPartition.element(this.columnPartition.start(Cj));
+
+	int numOnes = 0;
+	for (int k = P.start(Ri); k < P.end(Ri); k++) {
+	    numOnes += this.matrix.get(P.element(k), col);
+	}
+
+	if (2 * numOnes <= P.size(Ri)) {
+	    for (int k = P.start(Ri); k < P.end(Ri); k++) {
+		int row = P.element(k);
+		if (this.matrix.get(row, col) == 1) {
+		    P.mark(row);
+		}
+	    }
+	} else {
+	    for (int k = P.end(Ri) - 1; k >= P.start(Ri); k--) {
+		int row = P.element(k);
+		if (this.matrix.get(row, col) == 0) {
+		    P.markBack(row);
+		}
+	    }
+	}
+
+	P.split(Ri);
+    }
+
+    /**
+     * Returns the ordered partition of rows as an array.
+     * @return the ordered partition of rows as an array.
+     */
+    public int[] getOrderedRows() {
+	order();
+	return this.rowPartition.toArray();
+    }
+
+    /**
+     * Returns the ordered partition of columns as an array.
+     * @return the ordered partition of columns as an array.
+     */
+    public int[] getOrderedColumns() {
+	order();
+	return this.columnPartition.toArray();
+    }
+
+    /**
+     * Returns a doubly lexicographical ordering of the original matrix.
+     * @return a doubly lexicographical ordering of the original matrix.
+     */
+    public int[][] getOrderedMatrix() {
+	int[] orderedRows = getOrderedRows();
+	int[] orderedCols = getOrderedColumns();
+	int[][] ordered = new int[orderedRows.length][orderedCols.length];
+
+	for (int i = 0; i < orderedRows.length; i++) {
+	    for (int j = 0; j < orderedCols.length; j++) {
+		ordered[i][j] = this.matrix.get(orderedRows[i], orderedCols[j]);
+	    }
+	}
+
+	return ordered;
+    }
+
+    /**
+     * Returns a view of the doubly lexicographical ordering of the original
+     * matrix, the ordered matrix is never copied.
+     * @return a view of the doubly lexicographical ordering.
+     */
+    public OrderedMatrixView getOrderedView() {
+	return new OrderedMatrixView(this.matrix,
+				     getOrderedRows(), getOrderedColumns());
+    }
+}
@@ -1,8 +1,14 @@
 package com.github.maucarrui.algorithms.doublylexicalordering;
 
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.file.Path;
+
+import java.util.Arrays;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import java.lang.String;
 
@@ -15,54 +21,472 @@ import java.lang.String;
  */
 public class DoublyLexicalOrderer {
 
+    /** The amount of words counted by a task without splitting, the rows of
+     * a block with at least twice as many words are counted in parallel. */
+    private static final int PARALLEL_WORDS = 1 << 12;
+
     /** The ordered row partition. */
-    LinkedList<HashSet<Integer>> orderedRowPartition;
+    Partition orderedRowPartition;
 
     /** The ordered column partition. */
-    LinkedList<HashSet<Integer>> orderedColumnPartition;
+    Partition orderedColumnPartition;
 
     /** The original matrix */
-    int[][] original;
+    BitMatrix matrix;
+
+    /** Auxiliary mask to restrict the rows to the columns of a block. */
+    private BitMask columnMask;
+
+    /** The amount of non-zero entries of each row in the column part of the
+     * blocks being refined. */
+    private int[] rowSizes;
+
+    /** The position of the first row of the blocks of each column part after
+     * the current one, indexed by the identifier of the column part. */
+    private int[] columnTops;
+
+    /** The arena with the candidates to splitting rows of each block. */
+    private CountArena splittingRows;
+
+    /** Whether the ordered partitions hold an ordering of the matrix. */
+    private boolean ordered;
+
+    /** The log of the refinements of the ordering. */
+    private RefinementLog log;
+
+    /** Whether the log holds every refinement of the ordering, which only
+     * happens if the ordering started from a single row and column part. */
+    private boolean logged;
+
+    /** The transpose of the matrix, null if it is not kept. */
+    private BitMatrix transpose;
+
+    /** The pool that determines the sizes of big blocks, null if none. */
+    private ForkJoinPool pool;
+
+    /** The metrics of the refinements, null if they are not collected. */
+    private OrderingMetrics metrics;
+
+    /** Auxiliary array with the rows of a part in increasing order, null
+     * unless the matrix is read by blocks of rows. */
+    private int[] rowOrder;
+
+    /** Auxiliary mask with the rows of a part with a one in a column, null
+     * unless the matrix is read by blocks of rows. */
+    private BitMask columnEntries;
+
+    /** The position of every row in the order of the groups of a seeded
+     * ordering, null unless the ordering started from groups. */
+    private int[] rowRanks;
+
+    /** Auxiliary array to sort the candidates to splitting rows by their
+     * rank, null unless the ordering started from groups. */
+    private long[] rankKeys;
+
+    /** The file where the snapshots are written, null if there are none. */
+    private Path snapshotPath;
+
+    /** The amount of refinements between two snapshots. */
+    private long snapshotInterval;
+
+    /** The amount of refinements since the last snapshot. */
+    private long sinceSnapshot;
 
     /**
-     * Unique constructor for a Doubly Lexical Orderer that receives the
+     * Constructor for a Doubly Lexical Orderer that receives the bit-packed
      * matrix to be ordered.
      * @param matrix the matrix to be ordered.
      */
+    public DoublyLexicalOrderer(BitMatrix matrix) {
+	this.matrix = matrix;
+	this.columnMask = new BitMask(matrix.numColumns());
+	this.orderedRowPartition = new Partition(matrix.numRows());
+	this.orderedColumnPartition = new Partition(matrix.numColumns());
+	this.rowSizes = new int[matrix.numRows()];
+	this.columnTops = new int[Math.max(matrix.numColumns(), 1)];
+	this.splittingRows = new CountArena(2 * matrix.numRows());
+	this.log = new RefinementLog(matrix.numRows() + matrix.numColumns());
+
+	if (matrix.isRowBlocked()) {
+	    this.rowOrder = new int[matrix.numRows()];
+	    this.columnEntries = new BitMask(matrix.numRows());
+	}
+    }
+
+    /**
+     * Constructor for a Doubly Lexical Orderer that receives the matrix to be
+     * ordered as an array of rows. The matrix is packed into a {@link
+     * BitMatrix} before being ordered.
+     * @param matrix the matrix to be ordered.
+     */
     public DoublyLexicalOrderer(int[][] matrix) {
-	this.original = matrix;
-	this.orderedRowPartition = new LinkedList<HashSet<Integer>>();
-	this.orderedColumnPartition = new LinkedList<HashSet<Integer>>();
+	this(new BitMatrix(matrix));
     }
 
     /**
-     * Determines the size of a block, it also defines the size of each row
-     * block.
-     * @param B the block to determine its size.
+     * Releases the candidates to splitting rows of a block that is left
+     * behind by the refinement, every block above the current block is never
+     * refined again. The candidates were taken when the row part was at least
+     * as big as it is now, so they are released with a length that is not
+     * greater than their own.
+     * @param B the block left behind.
      */
-    private void determineSize(Block B) {
-	/* Get the rows and columns of the block. */
-	HashSet<Integer> Ri = B.rows();
-	HashSet<Integer> Cj = B.columns();
+    private void releaseBlock(Block B) {
+	if (B.getSplittingRows() != -1) {
+	    this.splittingRows.free(B.getSplittingRows(),
+				    this.orderedRowPartition.size(B.rowPart()));
+	    B.setSplittingRows(-1);
+	}
+    }
 
-	/* B's size.*/
-	int sizeB = 0;
+    /**
+     * Returns the amount of times the arena storing the splitting rows of the
+     * blocks has grown since it was created. Only the arena is counted, the
+     * blocks and the refinements are still allocated as objects. Once the
+     * orderer has ordered a matrix, ordering it again reuses the same arena,
+     * so the count doesn't change.
+     * @return the amount of times the arena of the splitting rows has grown.
+     */
+    public int getArenaGrowthCount() {
+	return this.splittingRows.allocations() - 1;
+    }
+
+    /**
+     * Defines the candidates to splitting rows of a block, which are the rows
+     * r in Ri such that the row block (r, Cj) is non-constant.
+     * @param B the block B = (Ri, Cj).
+     */
+    private void findSplittingRows(Block B) {
+	int numCols = this.orderedColumnPartition.size(B.columnPart());
+	Partition P = this.orderedRowPartition;
+	int Ri = B.rowPart();
+
+	/* Store the rows of the non-constant row blocks. */
+	int slice = this.splittingRows.allocate(P.size(Ri));
+	int n = 0;
+	for (int k = P.start(Ri); k < P.end(Ri); k++) {
+	    int r = P.element(k);
+	    int sizeR = this.rowSizes[r];
+	    if ((sizeR > 0) && (sizeR < numCols)) {
+		this.splittingRows.set(slice, n++, r);
+	    }
+	}
+	sortByRank(slice, n);
+
+	B.setSplittingRows(slice);
+	B.setNumSplittingRows(n);
+    }
+
+    /**
+     * Sorts the candidates to splitting rows of a block by decreasing rank if
+     * the ordering started from groups, so the candidate taken, the last one
+     * still in the row part, is the first of them in the order of the groups.
+     * @param slice the slice of the candidates.
+     * @param n the amount of candidates.
+     */
+    private void sortByRank(int slice, int n) {
+	if (this.rowRanks == null || n < 2) {
+	    return;
+	}
+
+	for (int k = 0; k < n; k++) {
+	    int r = this.splittingRows.get(slice, k);
+	    this.rankKeys[k] = ((long) this.rowRanks[r] << 32) | r;
+	}
+	Arrays.sort(this.rankKeys, 0, n);
+	for (int k = 0; k < n; k++) {
+	    this.splittingRows.set(slice, n - 1 - k, (int) this.rankKeys[k]);
+	}
+    }
+
+    /**
+     * Returns the first non-constant block of a column part, determining the
+     * amount of non-zero entries of every row from the first row of the
+     * column part to the last row in a single pass. Only the non-constant
+     * blocks are defined, since a constant block stays constant after any
+     * refinement and is never refined. A block with a single row and a single
+     * column, as the ones of fine groups, is constant without counting its
+     * row, which is never counted again. If every block of the column part is
+     * constant, the next column parts are entered until one of them has a
+     * non-constant block. The blocks of a column part are only defined when
+     * the refinement reaches it, until then the column part only keeps the
+     * position of its first row.
+     * @param Cj the column part.
+     * @return the first non-constant block, null if there is none.
+     */
+    private Block enterColumnPart(int Cj) {
+	Partition P = this.orderedRowPartition;
+	Partition Q = this.orderedColumnPartition;
+
+	for (; Cj != -1; Cj = Q.next(Cj)) {
+	    int top = this.columnTops[Cj];
+	    long numCols = Q.size(Cj);
+
+	    if (numCols > 1) {
+		determineSize(Cj, top, P.size(), false);
+	    }
+
+	    Block first = null;
+	    Block above = null;
+	    for (int Ri = P.partOf(P.element(top)); Ri != -1; Ri = P.next(Ri)) {
+		if (numCols == 1) {
+		    if (P.size(Ri) == 1) {
+			continue;
+		    }
+		    determineSize(Cj, P.start(Ri), P.end(Ri), false);
+		}
+
+		long size = sumSizes(P.start(Ri), P.end(Ri));
+		if (size == 0 || size == numCols * P.size(Ri)) {
+		    continue;
+		}
+
+		Block B = new Block(Ri, Cj);
+		B.setSize(size);
+		if (above != null) {
+		    above.setBelow(B);
+		} else {
+		    first = B;
+		}
+		above = B;
+
+		if (this.metrics != null) {
+		    this.metrics.blocksCreated++;
+		}
+	    }
+
+	    if (first != null) {
+		return first;
+	    }
+	}
+
+	return null;
+    }
+
+    /**
+     * Returns the block that follows a block in the traversal, the block
+     * below it, or the first block of the next column parts.
+     * @param B the block.
+     * @return the next block, null if B is the last block.
+     */
+    private Block nextBlock(Block B) {
+	if (B.hasBelow()) {
+	    return B.getBelow();
+	}
+
+	int Cj = this.orderedColumnPartition.next(B.columnPart());
+	return (Cj == -1) ? null : enterColumnPart(Cj);
+    }
+
+    /**
+     * Returns the sum of the sizes of the rows in the given range of
+     * positions.
+     * @param from the position of the first row of the range.
+     * @param to the position after the last row of the range.
+     * @return the sum of the sizes of the rows.
+     */
+    private long sumSizes(int from, int to) {
+	long size = 0;
+
+	for (int k = from; k < to; k++) {
+	    size += this.rowSizes[this.orderedRowPartition.element(k)];
+	}
+
+	return size;
+    }
+
+    /**
+     * Determines the amount of non-zero entries of the rows in the given
+     * range of positions inside a column part, which either replaces the
+     * size of each row or is subtracted from it. The rows are split between
+     * the workers of the pool if there are many words to count. A matrix read
+     * by blocks of rows is read in a single forward pass.
+     * @param Cj the column part.
+     * @param from the position of the first row of the range.
+     * @param to the position after the last row of the range.
+     * @param subtract true to subtract the amounts from the sizes of the
+     *        rows, false to replace them.
+     */
+    private void determineSize(int Cj, int from, int to, boolean subtract) {
+	/* Define the mask of the columns in Cj. */
+	this.columnMask.clear();
+	int end = this.orderedColumnPartition.end(Cj);
+	for (int k = this.orderedColumnPartition.start(Cj); k < end; k++) {
+	    this.columnMask.add(this.orderedColumnPartition.element(k));
+	}
+
+	long words = (long) (to - from) * this.columnMask.numWords();
+	if (this.metrics != null) {
+	    long numCols = this.orderedColumnPartition.size(Cj);
+	    this.metrics.cellsTouched += (to - from) * numCols;
+	}
+	if (this.rowOrder != null) {
+	    determineSizeInOrder(from, to, subtract);
+	} else if (this.pool != null && words >= 2 * PARALLEL_WORDS) {
+	    this.pool.invoke(new SizeTask(from, to, subtract));
+	} else {
+	    determineSize(from, to, subtract);
+	}
+    }
+
+    /**
+     * Determines the amount of non-zero entries of the rows in the given
+     * range of positions, counting the masked words of each row.
+     * @param from the position of the first row of the range.
+     * @param to the position after the last row of the range.
+     * @param subtract true to subtract the amounts from the sizes of the
+     *        rows, false to replace them.
+     */
+    private void determineSize(int from, int to, boolean subtract) {
+	for (int k = from; k < to; k++) {
+	    int r = this.orderedRowPartition.element(k);
 
-	/* Iterate each row in Ri and determine the size of (r, Cj). */
-	for (int r : Ri) {
 	    /* (r, Cj)'s size. */
-	    int sizeR = 0;
+	    int sizeR = this.matrix.countOnes(r, this.columnMask);
 
-	    for (int c : Cj) {
-		sizeR += this.original[r][c];
+	    this.rowSizes[r] = subtract ? this.rowSizes[r] - sizeR : sizeR;
+	}
+    }
+
+    /**
+     * Determines the amount of non-zero entries of the rows in the given
+     * range of positions, visiting the rows in increasing order, so every
+     * block of rows of the matrix is read at most once.
+     * @param from the position of the first row of the range.
+     * @param to the position after the last row of the range.
+     * @param subtract true to subtract the amounts from the sizes of the
+     *        rows, false to replace them.
+     */
+    private void determineSizeInOrder(int from, int to, boolean subtract) {
+	int numRows = sortRows(from, to);
+
+	for (int k = 0; k < numRows; k++) {
+	    int r = this.rowOrder[k];
+	    int sizeR = this.matrix.countOnes(r, this.columnMask);
+
+	    this.rowSizes[r] = subtract ? this.rowSizes[r] - sizeR : sizeR;
+	}
+    }
+
+    /**
+     * Stores the rows in the given range of positions of the ordered row
+     * partition in increasing order, at the start of the auxiliary array,
+     * and announces them to the matrix as the rows read next.
+     * @param from the position of the first row of the range.
+     * @param to the position after the last row of the range.
+     * @return the amount of rows in the range.
+     */
+    private int sortRows(int from, int to) {
+	for (int k = from; k < to; k++) {
+	    this.rowOrder[k - from] = this.orderedRowPartition.element(k);
+	}
+	Arrays.sort(this.rowOrder, 0, to - from);
+	this.matrix.planReads(this.rowOrder, to - from);
+
+	return to - from;
+    }
+
+    /**
+     * Private internal class to represent the task of determining the size
+     * of the rows of a range of positions, the task splits the range in
+     * halves until it has few words to count. Every row is written by a
+     * single task, so the result does not depend on the amount of workers.
+     */
+    @SuppressWarnings("serial")
+    private class SizeTask extends RecursiveAction {
+
+	/** The position of the first row of the range. */
+	private int from;
+
+	/** The position after the last row of the range. */
+	private int to;
+
+	/** Whether the amounts are subtracted from the sizes of the rows. */
+	private boolean subtract;
+
+	/**
+	 * Unique constructor which receives the range of the task.
+	 * @param from the position of the first row of the range.
+	 * @param to the position after the last row of the range.
+	 * @param subtract true to subtract the amounts from the sizes of the
+	 *        rows, false to replace them.
+	 */
+	SizeTask(int from, int to, boolean subtract) {
+	    this.from = from;
+	    this.to = to;
+	    this.subtract = subtract;
+	}
+
+	@Override
+	protected void compute() {
+	    int numRows = this.to - this.from;
+	    long words = (long) numRows * columnMask.numWords();
+	    if (numRows == 1 || words <= PARALLEL_WORDS) {
+		determineSize(this.from, this.to, this.subtract);
+		return;
 	    }
 
-	    B.setRowSize(r, sizeR);
+	    int middle = (this.from + this.to) >>> 1;
+	    invokeAll(new SizeTask(this.from, middle, this.subtract),
+		      new SizeTask(middle, this.to, this.subtract));
+	}
+    }
+
+    /**
+     * Defines the pool used to determine the sizes of the big blocks in
+     * parallel. The orderer does not shut the pool down.
+     * @param pool the pool, null to determine every size sequentially.
+     */
+    public void setPool(ForkJoinPool pool) {
+	this.pool = pool;
+    }
 
-	    sizeB += sizeR;
+    /**
+     * Defines the file where the orderer writes a snapshot of its refinement
+     * every given amount of refinements, so an interrupted ordering can be
+     * resumed with {@link #resume(Path)}. Every snapshot replaces the
+     * previous one. The interval is counted in refinements instead of time,
+     * so the snapshots are taken in the same states on every run.
+     * @param path the file of the snapshots, null to stop writing them.
+     * @param interval the amount of refinements between two snapshots.
+     */
+    public void setSnapshots(Path path, long interval) {
+	if (path != null && interval <= 0) {
+	    throw new IllegalArgumentException("Invalid snapshot interval.");
 	}
 
-	B.setSize(sizeB);
+	this.snapshotPath = path;
+	this.snapshotInterval = interval;
+	this.sinceSnapshot = 0;
+    }
+
+    /**
+     * Defines the metrics where the orderer reports its refinements. Without
+     * metrics, the orderer doesn't count nor time anything.
+     * @param metrics the metrics, null to stop collecting them.
+     */
+    public void setMetrics(OrderingMetrics metrics) {
+	this.metrics = metrics;
+    }
+
+    /**
+     * Returns the metrics where the orderer reports its refinements.
+     * @return the metrics, null if they are not collected.
+     */
+    public OrderingMetrics getMetrics() {
+	return this.metrics;
+    }
+
+    /**
+     * Returns if the block is constant, that is, if all the entries have the
+     * same value.
+     * @param B the block.
+     * @return true if the block is constant, false otherwise.
+     */
+    private boolean isConstant(Block B) {
+	long numRows = this.orderedRowPartition.size(B.rowPart());
+	long numCols = this.orderedColumnPartition.size(B.columnPart());
+	return B.isConstant(numRows * numCols);
     }
 
     /**
@@ -75,199 +499,262 @@ public class DoublyLexicalOrderer {
      *         return -1.
      */
     private int getSplittingRow(Block B) {
-	/* Get the indexes of the rows contained in the block. */
-	HashSet<Integer> rowIndexes = B.rows();
+	/* Get the row part of the block */
+	int Ri = B.rowPart();
 
-	/* Get the amount of columns contained in B. */
-	int numCols = B.columns().size();
+	if (this.metrics != null) {
+	    this.metrics.splittingRowScans++;
+	}
 
-	/* Get the row part of the block */
-	HashSet<Integer> Ri = B.rows();
+	/* The candidates are only defined the first time they are needed. */
+	if (B.getSplittingRows() == -1) {
+	    findSplittingRows(B);
+	}
 
-	/* Iterate each row in Ri to determine if a block (r, Cj) is
-	 * non-constant */
-	for (int r : Ri) {
-	    if ((B.getRowSize(r) > 0) && (B.getRowSize(r) < numCols)) {
-		return r;
+	/* The candidates of B are the splitting rows of the block it was
+	 * obtained from, a row block never becomes non-constant after a
+	 * refinement, so a candidate is a splitting row of B if it is still
+	 * in Ri. Discard the candidates that left Ri. */
+	int slice = B.getSplittingRows();
+	int n = B.getNumSplittingRows();
+	while (n > 0) {
+	    int r = this.splittingRows.get(slice, n - 1);
+	    if (this.orderedRowPartition.partOf(r) == Ri) {
+		break;
 	    }
+	    n--;
 	}
+	B.setNumSplittingRows(n);
 
 	/* If all row blocks are constant, there is no splitting row. */
-	return -1;
+	return (n > 0) ? this.splittingRows.get(slice, n - 1) : -1;
     }
 
     /**
-     * Defines a column refinement. Given a row r, the first set of columns
-     * contains all the non-zero entries, the second set of columns contains all
-     * the zero entries.
+     * Defines a column refinement. Given a row r, the first part of columns
+     * contains all the non-zero entries, the second part of columns contains
+     * all the zero entries. The column part is split in the ordered column
+     * partition, moving only the columns of the smaller part.
      * @param row the row for which the column refinement will be defined.
-     * @param Cj the original columns set.
-     * @return a column refinement of original columns set.
-     */
-    private Refinement getColumnRefinement(int row, HashSet<Integer> Cj) {
-	/* Define a column refinement as an array of sets. */
-	HashSet<Integer> left  = new HashSet<Integer>();
-	HashSet<Integer> right = new HashSet<Integer>();
-
-	// Iterate through the columns contained in the set Cj.
-	for (int col : Cj) {
-	    // If the entry M[r][c] is 1, add it to the first set.
-	    if (this.original[row][col] == 1) {
-		left.add(col);
-	    } else {
-		// Otherwise, add it to the second set.
-		right.add(col);
+     * @param Cj the original column part.
+     * @param numOnes the amount of non-zero entries of the row in Cj.
+     * @return a column refinement of original column part.
+     */
+    private Refinement getColumnRefinement(int row, int Cj, int numOnes) {
+	Partition P = this.orderedColumnPartition;
+	int numZeros = P.size(Cj) - numOnes;
+
+	if (numOnes <= numZeros) {
+	    /* Move the columns where M[r][c] is 1 to the front. */
+	    for (int k = P.start(Cj); k < P.end(Cj); k++) {
+		int col = P.element(k);
+		if (this.matrix.get(row, col) == 1) {
+		    P.mark(col);
+		}
 	    }
+	    return new Refinement(P.split(Cj), Cj);
+	} else {
+	    /* Move the columns where M[r][c] is 0 to the back, traversing
+	     * the part backwards. */
+	    for (int k = P.end(Cj) - 1; k >= P.start(Cj); k--) {
+		int col = P.element(k);
+		if (this.matrix.get(row, col) == 0) {
+		    P.markBack(col);
+		}
+	    }
+	    return new Refinement(Cj, P.split(Cj));
 	}
-
-	return new Refinement(left, right);
     }
 
     /**
-     * Defines a row refinement. Given a column c, the first set of rows
-     * contains all the non-zero entries, the second set of rows contains all
-     * the zero entries.
+     * Defines a row refinement. Given a column c, the first part of rows
+     * contains all the non-zero entries, the second part of rows contains all
+     * the zero entries. The row part is split in the ordered row partition,
+     * moving only the rows of the smaller part.
      * @param col the column for which the row refinement will be defined.
-     * @param Ri the original rows set.
-     * @return a row refinement of original row set.
-     */
-    private Refinement getRowRefinement(int col, HashSet<Integer> Ri) {
-	/* Define a row refinement as an array of sets. */
-	HashSet<Integer> left  = new HashSet<Integer>();
-	HashSet<Integer> right = new HashSet<Integer>();
-
-	// Iterate through the columns contained in the set Cj.
-	for (int row : Ri) {
-	    // If the entry M[r][c] is 1, add it to the first set.
-	    if (this.original[row][col] == 1) {
-		left.add(row);
-	    } else {
-		// Otherwise, add it to the second set.
-		right.add(row);
+     * @param Ri the original row part.
+     * @param numOnes the amount of non-zero entries of the column in Ri.
+     * @return a row refinement of original row part.
+     */
+    private Refinement getRowRefinement(int col, int Ri, int numOnes) {
+	Partition P = this.orderedRowPartition;
+	int numZeros = P.size(Ri) - numOnes;
+
+	if (this.columnEntries != null && this.transpose == null) {
+	    readColumn(col, Ri);
+	}
+
+	if (numOnes <= numZeros) {
+	    /* Move the rows where M[r][c] is 1 to the front. */
+	    for (int k = P.start(Ri); k < P.end(Ri); k++) {
+		int row = P.element(k);
+		if (getColumnEntry(col, row) == 1) {
+		    P.mark(row);
+		}
+	    }
+	    return new Refinement(P.split(Ri), Ri);
+	} else {
+	    /* Move the rows where M[r][c] is 0 to the back, traversing the
+	     * part backwards. */
+	    for (int k = P.end(Ri) - 1; k >= P.start(Ri); k--) {
+		int row = P.element(k);
+		if (getColumnEntry(col, row) == 0) {
+		    P.markBack(row);
+		}
 	    }
+	    return new Refinement(Ri, P.split(Ri));
+	}
+    }
+
+    /**
+     * Returns an entry of the matrix while traversing a column. If the
+     * transpose is kept, the entry is read from the transpose, where the
+     * entries of a column are contiguous. If the matrix is read by blocks of
+     * rows, the column was already read by {@link #readColumn(int, int)}.
+     * @param col the column of the entry.
+     * @param row the row of the entry.
+     * @return 1 if the entry is non-zero, 0 otherwise.
+     */
+    private int getColumnEntry(int col, int row) {
+	if (this.transpose != null) {
+	    return this.transpose.get(col, row);
+	}
+
+	if (this.columnEntries != null) {
+	    return this.columnEntries.contains(row) ? 1 : 0;
 	}
 
-	return new Refinement(left, right);
+	return this.matrix.get(row, col);
     }
 
     /**
-     * Produce the blocks obtained by performing a column refinement.
+     * Reads the entries of a column in the rows of a part, visiting the rows
+     * in increasing order, and keeps the rows with a one in the auxiliary
+     * mask. The rows are then marked in the order of the part, so the
+     * refinement is the same as if the entries were read one by one.
+     * @param col the column.
+     * @param Ri the row part.
+     */
+    private void readColumn(int col, int Ri) {
+	Partition P = this.orderedRowPartition;
+	int numRows = sortRows(P.start(Ri), P.end(Ri));
+
+	this.columnEntries.clear();
+	for (int k = 0; k < numRows; k++) {
+	    int r = this.rowOrder[k];
+	    if (this.matrix.get(r, col) == 1) {
+		this.columnEntries.add(r);
+	    }
+	}
+    }
+
+    /**
+     * Defines whether the orderer keeps a transpose of the matrix. The
+     * transpose doubles the memory used by the matrix, but the row
+     * refinements read the entries of a column from contiguous memory
+     * instead of reading one word of a different row for every entry.
+     * @param enabled true to keep the transpose, false to discard it.
+     */
+    public void setTransposeEnabled(boolean enabled) {
+	if (!enabled) {
+	    this.transpose = null;
+	} else if (this.transpose == null) {
+	    this.transpose = this.matrix.transpose();
+	}
+    }
+
+    /**
+     * Produce the blocks obtained by performing a column refinement. The
+     * current block and every block below it move to the left part, whose
+     * sizes are determined counting only the columns of the smaller part. The
+     * blocks of the right part are defined when the refinement reaches it,
+     * starting at the row part of the current block.
      * @param colRef the column refinement.
      * @param B the current block.
      * @return the new current block.
      */
     private Block produceColumnRefinement(Refinement Ref, Block B) {
 	/* Get the left and right refinement */
-	HashSet<Integer> lRef = Ref.getLeft();
-	HashSet<Integer> rRef = Ref.getRight();
-
-	/* Determine which parts are smaller and bigger. */
-	HashSet<Integer> sRef, bRef;
-	boolean leftSmaller = (lRef.size() <= rRef.size());
-
+	int lRef = Ref.getLeft();
+	int rRef = Ref.getRight();
+
+	/* Determine which part is smaller, and the size of the left part. */
+	Partition P = this.orderedColumnPartition;
+	boolean leftSmaller = (P.size(lRef) <= P.size(rRef));
+	int sizeL = P.size(lRef);
+
+	/* The left part replaces the sizes of the rows when it is the smaller
+	 * part, otherwise the sizes of the right part are subtracted from
+	 * them. */
+	int top = this.orderedRowPartition.start(B.rowPart());
+	int numRows = this.orderedRowPartition.size();
 	if (leftSmaller) {
-	    sRef = lRef;
-	    bRef = rRef;
+	    determineSize(lRef, top, numRows, false);
 	} else {
-	    sRef = rRef;
-	    bRef = lRef;
+	    determineSize(rRef, top, numRows, true);
 	}
+	this.columnTops[rRef] = top;
 
-	/* Produce all the blocks obtained by the column refinement. */
-	Block current = B;
-	Block ogLeft    = null;
-	Block ogRight   = null;
-	Block prevLeft  = null;
-	Block prevRight = null;
+	/* Move the blocks to the left part. If the left part is the bigger
+	 * one, its splitting rows are splitting rows of the current blocks, so
+	 * the candidates of a block are replaced by the splitting rows of the
+	 * block in the left part. */
+	for (Block current = B; current != null; current = current.getBelow()) {
+	    int Ri = current.rowPart();
+	    int slice = current.getSplittingRows();
 
-	do {
-	    /* Get the current block's row part. */
-	    HashSet<Integer> Ri = current.rows();
-
-	    Block smallBlock = new Block(Ri, sRef);
-	    Block bigBlock   = new Block(Ri, bRef);
-
-	    /* Determine the smaller block's size. */
-	    determineSize(smallBlock);
+	    if (leftSmaller) {
+		releaseBlock(current);
+		slice = -1;
+	    }
 
-	    /* Use the previous information to determine the bigger block's size. */
-	    int sizeBig = 0;
-	    for (int r : Ri) {
-		int currentRowSize = current.getRowSize(r);
-		int smallRowSize   = smallBlock.getRowSize(r);
-		int bigRowSize     = currentRowSize - smallRowSize;
+	    int numSplitting = 0;
+	    long size = 0;
+	    int end = this.orderedRowPartition.end(Ri);
+	    for (int k = this.orderedRowPartition.start(Ri); k < end; k++) {
+		int r = this.orderedRowPartition.element(k);
+		int rowSize = this.rowSizes[r];
 
-		bigBlock.setRowSize(r, bigRowSize);
+		if ((slice != -1) && (rowSize > 0) && (rowSize < sizeL)) {
+		    this.splittingRows.set(slice, numSplitting++, r);
+		}
 
-		sizeBig += bigRowSize;
+		size += rowSize;
 	    }
-
-	    bigBlock.setSize(sizeBig);
-
-	    /* Determine which block is on the left and right. */
-	    Block leftBlock, rightBlock;
-	    if (leftSmaller) {
-		leftBlock  = smallBlock;
-		rightBlock = bigBlock;
-	    } else {
-		leftBlock  = bigBlock;
-		rightBlock = smallBlock;
+	    if (slice != -1) {
+		sortByRank(slice, numSplitting);
 	    }
 
-	    /* Adjust the blocks' pointers. */
-	    leftBlock.setRight(rightBlock);
-	    rightBlock.setRight(current.getRight());
+	    current.setColumnPart(lRef);
+	    current.setSize(size);
+	    current.setNumSplittingRows(numSplitting);
 
-	    if (prevLeft == null) {
-		ogLeft  = leftBlock;
-		ogRight = rightBlock;
-	    } else {
-		prevLeft.setBelow(leftBlock);
-		prevLeft.setNext(leftBlock);
-		leftBlock.setPrevious(prevLeft);
-		prevRight.setBelow(rightBlock);
-		prevRight.setNext(rightBlock);
-		rightBlock.setPrevious(prevRight);
-	    }
-
-	    /* The current blocks become the previous. */
-	    prevLeft  = leftBlock;
-	    prevRight = rightBlock;
-
-	    /* Move to the next block below, if there is no such block, exit the
-	     * loop. */
-	    if (current.hasBelow()) {
-		current = current.getBelow();
-	    } else {
-		leftBlock.setNext(ogRight);
-		ogRight.setPrevious(leftBlock);
-		rightBlock.setNext(current.getNext());
-		if (current.hasNext()) {
-		    current.getNext().setPrevious(rightBlock);
-		}
-		break;
+	    if (this.metrics != null) {
+		this.metrics.blocksCreated++;
 	    }
-
-	} while (true);
+	}
 
 	/* Return the new block we're standing on. */
-	return ogLeft;
+	return B;
     }
 
     /**
-     * Produce the blocks obtained by performing a row refinement.
+     * Produce the blocks obtained by performing a row refinement. Only the
+     * current block is split, the blocks of the later column parts are not
+     * defined yet.
      * @param rowRef the row refinement.
      * @param B the current block.
      * @return the new current block.
      */
     private Block produceRowRefinement(Refinement rowRef, Block B) {
 	/* Get the left and right refinement */
-	HashSet<Integer> lRef = rowRef.getLeft();
-	HashSet<Integer> rRef = rowRef.getRight();
+	int lRef = rowRef.getLeft();
+	int rRef = rowRef.getRight();
 
 	/* Determine which parts are smaller and bigger. */
-	HashSet<Integer> sRef, bRef;
-	boolean leftSmaller = (lRef.size() <= rRef.size());
+	int sRef, bRef;
+	Partition P = this.orderedRowPartition;
+	boolean leftSmaller = (P.size(lRef) <= P.size(rRef));
 
 	if (leftSmaller) {
 	    sRef = lRef;
@@ -277,88 +764,39 @@ public class DoublyLexicalOrderer {
 	    bRef = lRef;
 	}
 
-	/* Produce all the blocks obtained by the column refinement. */
-	Block current = B;
-	Block ogTop   = null;
-	Block ogBot   = null;
-	Block prevTop = null;
-	Block prevBot = null;
-
-	do {
-	    /* Get the current block's column part. */
-	    HashSet<Integer> Cj = current.columns();
-
-	    Block smallBlock = new Block(sRef, Cj);
-	    Block bigBlock   = new Block(bRef, Cj);
-
-	    /* Determine the smaller block's size. */
-	    HashMap<Integer, Integer> currentRowMap = current.getRowSizeMap();
-	    int sizeSmall = 0;
-	    for (int r : sRef) {
-		int rowBlockSize = currentRowMap.get(r);
-		smallBlock.setRowSize(r, rowBlockSize);
-		sizeSmall += rowBlockSize;
-	    }
-	    smallBlock.setSize(sizeSmall);
-
-	    /* Use the previous information to determine the bigger block's size. */
-	    int sizeBig = current.size() - sizeSmall;
-	    bigBlock.setSize(sizeBig);
-	    bigBlock.setRowSizeMap(currentRowMap);
-
-	    /* Determine which block is on the top and bot. */
-	    Block topBlock, botBlock;
-	    if (leftSmaller) {
-		topBlock  = smallBlock;
-		botBlock = bigBlock;
-	    } else {
-		topBlock  = bigBlock;
-		botBlock = smallBlock;
-	    }
-
-	    /* Adjust the blocks' pointers. */
-	    topBlock.setBelow(botBlock);
-	    topBlock.setNext(botBlock);
-	    botBlock.setPrevious(topBlock);
-	    botBlock.setBelow(current.getBelow());
-	    botBlock.setNext(current.getNext());
-
-	    if (current.hasNext()) {
-		current.getNext().setPrevious(botBlock);
-	    }
-
-	    if (current.hasPrevious()) {
-		if (current.getPrevious().hasBelow()) {
-		    current.getPrevious().setBelow(topBlock);
-		}
-		current.getPrevious().setNext(topBlock);
-		topBlock.setPrevious(current.getPrevious());
-	    }
-
-	    if (prevTop == null) {
-		ogTop = topBlock;
-		ogBot = botBlock;
-	    } else {
-		prevTop.setRight(topBlock);
-		prevBot.setRight(botBlock);
-	    }
-
-	    /* The current blocks become the previous. */
-	    prevTop = topBlock;
-	    prevBot = botBlock;
+	int Cj = B.columnPart();
+	Block smallBlock = new Block(sRef, Cj);
+	Block bigBlock   = new Block(bRef, Cj);
+	if (this.metrics != null) {
+	    this.metrics.blocksCreated += 2;
+	}
 
-	    /* Move to the next block to the right, if there is no such block,
-	     * exit the loop. */
-	    if (current.hasRight()) {
-		current = current.getRight();
-	    } else {
-		break;
-	    }
+	/* Determine the smaller block's size, and use it to determine the
+	 * bigger block's size. The bigger block keeps the candidates of the
+	 * current block, the rows that left its row part are discarded
+	 * later. */
+	long sizeSmall = sumSizes(P.start(sRef), P.end(sRef));
+	smallBlock.setSize(sizeSmall);
+	bigBlock.setSize(B.size() - sizeSmall);
+	bigBlock.setSplittingRows(B.getSplittingRows());
+	bigBlock.setNumSplittingRows(B.getNumSplittingRows());
+
+	/* Determine which block is on the top and bot. */
+	Block topBlock, botBlock;
+	if (leftSmaller) {
+	    topBlock = smallBlock;
+	    botBlock = bigBlock;
+	} else {
+	    topBlock = bigBlock;
+	    botBlock = smallBlock;
+	}
 
-	} while (true);
+	/* Adjust the blocks' pointers. */
+	topBlock.setBelow(botBlock);
+	botBlock.setBelow(B.getBelow());
 
 	/* Return the new block we're standing on. */
-	return ogTop;
+	return topBlock;
     }
 
     /**
@@ -366,20 +804,8 @@ public class DoublyLexicalOrderer {
      * @return the ordered partition of rows as an array.
      */
     public int[] getOrderedRows() {
-	/* Get the amount of rows in the matrix. */
-	int numRows = this.original.length;
-
-	int[] orderedRows = new int[numRows];
-
-	/* Traverse the ordered partition to obtain an array representation. */
-	int k = 0;
-	for (HashSet<Integer> rowPart : orderedRowPartition) {
-	    for (int r : rowPart) {
-		orderedRows[k++] = r;
-	    }
-	}
-
-	return orderedRows;
+	/* The elements of the partition are already stored in order. */
+	return orderedRowPartition.toArray();
     }
 
     /**
@@ -387,20 +813,8 @@ public class DoublyLexicalOrderer {
      * @return the ordered partition of columns as an array.
      */
     public int[] getOrderedColumns() {
-	/* Get the amount of rows in the matrix. */
-	int numCols = this.original.length;
-
-	int[] orderedCols = new int[numCols];
-
-	/* Traverse the ordered partition to obtain an array representation. */
-	int k = 0;
-	for (HashSet<Integer> colPart : orderedColumnPartition) {
-	    for (int c : colPart) {
-		orderedCols[k++] = c;
-	    }
-	}
-
-	return orderedCols;
+	/* The elements of the partition are already stored in order. */
+	return orderedColumnPartition.toArray();
     }
 
     /**
@@ -411,16 +825,17 @@ public class DoublyLexicalOrderer {
      */
     private int[][] buildOrderedMatrix(int[] orderedRows, int[] orderedCols) {
 	/* The size of the original matrix */
-	int n = this.original.length;
+	int numRows = this.matrix.numRows();
+	int numCols = this.matrix.numColumns();
 
-	int[][] ordered = new int[n][n];
+	int[][] ordered = new int[numRows][numCols];
 
 	int i, j;
 	i = 0;
 	for (int r : orderedRows) {
 	    j = 0;
 	    for (int c : orderedCols) {
-		ordered[i][j] = this.original[r][c];
+		ordered[i][j] = this.matrix.get(r, c);
 		j++;
 	    }
 	    i++;
@@ -434,24 +849,79 @@ public class DoublyLexicalOrderer {
      * @return a doubly lexicographical ordering of the original matrix.
      */
     public int[][] getOrderedMatrix() {
-	/* Get the size of the original matrix */
-	int n = this.original.length;
+	order();
 
-	/* Define the intial set of rows and columns indexes */
-	HashSet<Integer> R = new HashSet<Integer>();
-	HashSet<Integer> C = new HashSet<Integer>();
-	for (int i = 0; i < n; i++) {
-	    R.add(i);
-	    C.add(i);
+	/* Build the ordered matrix defined by the ordered partition. */
+	long start = (this.metrics != null) ? System.nanoTime() : 0;
+	int[] orderedRows = getOrderedRows();
+	int[] orderedCols = getOrderedColumns();
+	int[][] ordered = buildOrderedMatrix(orderedRows, orderedCols);
+
+	if (this.metrics != null) {
+	    this.metrics.buildNanos += System.nanoTime() - start;
 	}
 
-	/* Add R and C to the ordered partitions */
-	orderedRowPartition.add(R);
-	orderedColumnPartition.add(C);
+	return ordered;
+    }
+
+    /**
+     * Returns a view of the doubly lexicographical ordering of the original
+     * matrix, the ordered matrix is never copied.
+     * @return a view of the doubly lexicographical ordering.
+     */
+    public OrderedMatrixView getOrderedView() {
+	order();
+
+	return new OrderedMatrixView(this.matrix,
+				     getOrderedRows(), getOrderedColumns());
+    }
+
+    /**
+     * Computes a doubly lexical ordering of the original matrix, without
+     * building the ordered matrix. The ordering can then be obtained with
+     * {@link #getOrderedRows()} and {@link #getOrderedColumns()}.
+     */
+    public void order() {
+	/* Get the size of the original matrix */
+	int numRows = this.matrix.numRows();
+	int numCols = this.matrix.numColumns();
+
+	/* Define the ordered partitions with the initial parts R and C. */
+	orderedRowPartition.reset(numRows);
+	orderedColumnPartition.reset(numCols);
+	int R = orderedRowPartition.first();
+	int C = orderedColumnPartition.first();
+	ordered = true;
+	logged = true;
+	log.clear();
+
+	/* A matrix without rows or columns is already ordered. */
+	if (R == -1 || C == -1) {
+	    return;
+	}
 
 	/* Define the initial block and determine its size */
-	Block B = new Block(R, C);
-	determineSize(B);
+	long start = (this.metrics != null) ? System.nanoTime() : 0;
+	splittingRows.clear();
+	columnTops[C] = 0;
+	Block B = enterColumnPart(C);
+
+	if (this.metrics != null) {
+	    this.metrics.sizeInitNanos += System.nanoTime() - start;
+	    this.metrics.recordParts(1, 1);
+	}
+
+	refine(B);
+    }
+
+    /**
+     * Refines the ordered partitions until every block is constant.
+     * @param B the first block of the blocks that may be non-constant, every
+     *        block above it and every block of the previous column parts is
+     *        constant.
+     */
+    private void refine(Block B) {
+	long start = (this.metrics != null) ? System.nanoTime() : 0;
 
 	/* Amongst the blocks formed by the current ordered row and column
 	 * partitions, obtain the non-constant block B for which all blocks
@@ -459,121 +929,882 @@ public class DoublyLexicalOrderer {
 	 * refinement. */
 	while (B != null) {
 
-	    if (B.isConstant()) {
+	    if (isConstant(B)) {
 		/* If B is constant, there is nothing to do, move to the next
 		 * block. */
-		B = B.getNext();
+		releaseBlock(B);
+		B = nextBlock(B);
 	    } else {
 		/* If B is non-constant, then it has a splitting row or
 		 * column */
 		int splitRow = getSplittingRow(B);
+		int rowStart = orderedRowPartition.start(B.rowPart());
+		int columnStart = orderedColumnPartition.start(B.columnPart());
 
 		if (splitRow != -1) {
-		    /* If B has a splitting row, produce a column refinement. */
-		    HashSet<Integer> Cj = B.columns();
-		    Refinement colRef = getColumnRefinement(splitRow, Cj);
+		    /* If B has a splitting row, produce a column refinement,
+		     * which replaces Cj by its refinement in the ordered
+		     * partition. */
+		    int Cj = B.columnPart();
+		    int numOnes = this.rowSizes[splitRow];
+		    this.log.recordColumnRefinement(rowStart, columnStart,
+						    splitRow, numOnes);
+		    Refinement colRef;
+		    colRef = getColumnRefinement(splitRow, Cj, numOnes);
 		    B = produceColumnRefinement(colRef, B);
-
-		    /* Replace Cj by its refinement in the ordered partition. */
-		    int j = orderedColumnPartition.indexOf(Cj);
-		    orderedColumnPartition.remove(j);
-		    orderedColumnPartition.add(j, colRef.getLeft());
-		    orderedColumnPartition.add(j + 1, colRef.getRight());
 		} else {
-		    /* If B has no splitting row, produce a row refinement. */
-		    HashSet<Integer> Ri = B.rows();
-		    /* Get a random column. */
-		    int col = -1;
-		    for (int c : B.columns()) {
-			col = c;
-			break;
-		    }
-		    Refinement rowRef = getRowRefinement(col, B.rows());
+		    /* If B has no splitting row, produce a row refinement,
+		     * which replaces Ri by its refinement in the ordered
+		     * partition. */
+		    int Ri = B.rowPart();
+		    int Cj = B.columnPart();
+		    /* Get any column, and the amount of rows full of ones. */
+		    int col = orderedColumnPartition.element(
+			orderedColumnPartition.start(Cj));
+		    int numOnes = (int) (B.size()
+					 / orderedColumnPartition.size(Cj));
+		    this.log.recordRowRefinement(rowStart, columnStart,
+						 col, numOnes);
+		    Refinement rowRef = getRowRefinement(col, Ri, numOnes);
 		    B = produceRowRefinement(rowRef, B);
+		}
+
+		if (this.metrics != null) {
+		    recordRefinement(splitRow != -1);
+		}
 
-		    /* Replace Ri by its refinement in the ordered partition. */
-		    int i = orderedRowPartition.indexOf(Ri);
-		    orderedRowPartition.remove(i);
-		    orderedRowPartition.add(i, rowRef.getLeft());
-		    orderedRowPartition.add(i + 1, rowRef.getRight());
+		if (this.snapshotPath != null
+		    && ++this.sinceSnapshot == this.snapshotInterval) {
+		    B = takeSnapshot(B);
 		}
 	    }
 	}
 
-	/* Build the ordered matrix defined by the ordered partition. */
-	int[] orderedRows = getOrderedRows();
-	int[] orderedCols = getOrderedColumns();
+	if (this.metrics != null) {
+	    this.metrics.refinementNanos += System.nanoTime() - start;
+	}
+    }
+
+    /**
+     * Reports a refinement to the metrics.
+     * @param columnRefinement true if it was a column refinement, false if
+     *        it was a row refinement.
+     */
+    private void recordRefinement(boolean columnRefinement) {
+	if (columnRefinement) {
+	    this.metrics.columnRefinements++;
+	} else {
+	    this.metrics.rowRefinements++;
+	}
 
-	return buildOrderedMatrix(orderedRows, orderedCols);
+	this.metrics.recordParts(this.orderedRowPartition.numParts(),
+				 this.orderedColumnPartition.numParts());
     }
 
     /**
-     * Returns a string representation of the current state of the algorithm.
-     * @return a string representation of the current state of the algorithm.
+     * Private internal class to represent the entries changed by an update,
+     * sorted by the position of their rows in the previous ordering. The
+     * parts of the ordered partitions only subdivide, and their elements only
+     * move inside them, so while the refinements of the previous ordering
+     * are replayed a row is in a row part if and only if its previous
+     * position is in the positions of the part, and the same happens with
+     * the columns.
      */
-    @Override public String toString() {
-	/* Define a proper order for the rows and columns. */
-	LinkedList<LinkedList<Integer>> orderedRowsList, orderedColsList;
-	orderedRowsList = new LinkedList<>();
-	orderedColsList = new LinkedList<>();
+    private static class UpdatedEntries {
+	/** The rows of the changed entries. */
+	private int[] rows;
+
+	/** The position of the row of each entry in the previous ordering. */
+	private int[] rowPositions;
+
+	/** The position of the column of each entry in the previous
+	 * ordering. */
+	private int[] columnPositions;
+
+	/** The new value of each entry. */
+	private int[] values;
+
+	/** The least column position of the entries up to each entry. */
+	private int[] leastColumns;
+
+	/** The amount of changed entries. */
+	private int size;
+
+	/**
+	 * Unique constructor which receives the capacity of the entries.
+	 * @param capacity the maximum amount of changed entries.
+	 */
+	UpdatedEntries(int capacity) {
+	    this.rows = new int[capacity];
+	    this.rowPositions = new int[capacity];
+	    this.columnPositions = new int[capacity];
+	    this.values = new int[capacity];
+	    this.leastColumns = new int[capacity];
+	    this.size = 0;
+	}
 
-	for (HashSet<Integer> rowPart : orderedRowPartition) {
-	    LinkedList<Integer> temp = new LinkedList<>();
+	/**
+	 * Returns the first entry whose row is at or after the given position.
+	 * @param position the position in the previous ordering.
+	 * @return the first entry at or after the position, the amount of
+	 *         entries if there is none.
+	 */
+	int first(int position) {
+	    int low = 0;
+	    int high = this.size;
+
+	    while (low < high) {
+		int middle = (low + high) >>> 1;
+		if (this.rowPositions[middle] < position) {
+		    low = middle + 1;
+		} else {
+		    high = middle;
+		}
+	    }
 
-	    for (int r : rowPart) {
-		temp.add(r);
+	    return low;
+	}
+    }
+
+    /**
+     * Updates entries of the matrix and returns a doubly lexical ordering of
+     * the updated matrix. The k-th update sets the entry in the row rows[k]
+     * and the column cols[k] to values[k].
+     *
+     * If the matrix was ordered starting from a single row part and a single
+     * column part, the refinements of the previous ordering are replayed
+     * without determining the size of any block, as long as the updated
+     * matrix leads to the same refinements: every constant block left behind
+     * has no changed entry, and every refined block either has no changed
+     * entry or is split by the same splitting row. From the first block where
+     * the refinement may differ, the blocks are defined again and refined as
+     * usual. Therefore, the result is always a doubly lexical ordering, and
+     * only the refinements after the first affected block are computed again.
+     * Otherwise, the matrix is ordered from scratch.
+     * @param rows the rows of the updated entries.
+     * @param cols the columns of the updated entries.
+     * @param values the new values of the entries, any non-zero value is
+     *        taken as a one.
+     * @return a doubly lexical ordering of the updated matrix.
+     */
+    public Ordering update(int[] rows, int[] cols, int[] values) {
+	Partition P = this.orderedRowPartition;
+	Partition Q = this.orderedColumnPartition;
+
+	/* Apply the updates, counting the changed entries in the row of every
+	 * position of the previous ordering. */
+	int[] changed = new int[rows.length];
+	int[] starts = new int[P.size() + 1];
+	int numChanges = 0;
+	for (int k = 0; k < rows.length; k++) {
+	    int value = (values[k] != 0) ? 1 : 0;
+	    if (this.matrix.get(rows[k], cols[k]) == value) {
+		continue;
+	    }
+
+	    this.matrix.set(rows[k], cols[k], value);
+	    if (this.transpose != null) {
+		this.transpose.set(cols[k], rows[k], value);
 	    }
 
-	    orderedRowsList.add(temp);
+	    changed[numChanges++] = k;
+	    starts[P.position(rows[k]) + 1]++;
 	}
+	for (int p = 0; p < P.size(); p++) {
+	    starts[p + 1] += starts[p];
+	}
+
+	/* Sort the changed entries by the position of their rows. */
+	UpdatedEntries changes = new UpdatedEntries(numChanges);
+	for (int c = 0; c < numChanges; c++) {
+	    int k = changed[c];
+	    int position = P.position(rows[k]);
+	    int i = starts[position]++;
+	    changes.rows[i] = rows[k];
+	    changes.rowPositions[i] = position;
+	    changes.columnPositions[i] = Q.position(cols[k]);
+	    changes.values[i] = (values[k] != 0) ? 1 : 0;
+	}
+	for (int i = 0; i < numChanges; i++) {
+	    changes.leastColumns[i] = (i == 0)
+		? changes.columnPositions[i]
+		: Math.min(changes.leastColumns[i - 1],
+			   changes.columnPositions[i]);
+	}
+	changes.size = numChanges;
 
-	for (HashSet<Integer> colPart : orderedColumnPartition) {
-	    LinkedList<Integer> temp = new LinkedList<>();
+	if (!this.ordered || !this.logged) {
+	    order();
+	} else if (numChanges > 0) {
+	    replay(changes);
+	}
+
+	return new Ordering(getOrderedRows(), getOrderedColumns());
+    }
 
-	    for (int c : colPart) {
-		temp.add(c);
+    /**
+     * Replays the refinements of the log on the updated matrix, starting from
+     * a single row part and a single column part, until the updated matrix
+     * may lead to a different refinement. The blocks are defined again from
+     * the current block at that point, which is refined as usual, and the
+     * log is continued from there.
+     *
+     * The parts of the replayed refinements are the same positions of the
+     * previous ordering, so the rows and columns are kept in their previous
+     * order and every refinement only splits a part at the amount of
+     * non-zero entries in the log, without reading the matrix. The constant
+     * blocks left behind between two refinements are not visited: they have
+     * a changed entry if and only if a changed entry is no longer in the
+     * blocks that remain, see {@link #isPending(UpdatedEntries, int, int)}.
+     * If not even the first refinement is kept, the matrix is ordered from
+     * scratch instead.
+     * @param changes the changed entries.
+     */
+    private void replay(UpdatedEntries changes) {
+	Partition P = this.orderedRowPartition;
+	Partition Q = this.orderedColumnPartition;
+
+	P.reset(P.toArray(), new int[] {0, P.size()}, 1);
+	Q.reset(Q.toArray(), new int[] {0, Q.size()}, 1);
+	int Ri = P.first();
+	int Cj = Q.first();
+	this.columnTops[Cj] = 0;
+
+	/* The block (Ri, Cj) is the current block after the k-th refinement,
+	 * the loop stops at the block where the refinement continues. */
+	int k = 0;
+	while (k < this.log.size()) {
+	    int rowStart = this.log.rowStart(k);
+	    int columnStart = this.log.columnStart(k);
+	    if (!isPending(changes, rowStart, columnStart)) {
+		break;
+	    }
+
+	    int Rk = P.partOf(P.element(rowStart));
+	    int Ck = Q.partOf(Q.element(columnStart));
+	    if (!isReplayable(changes, k, Rk, Ck)) {
+		Ri = Rk;
+		Cj = Ck;
+		break;
 	    }
 
-	    orderedColsList.add(temp);
+	    int numOnes = this.log.numOnes(k);
+	    if (this.log.isColumnRefinement(k)) {
+		Refinement colRef = splitFront(Q, Ck, numOnes);
+		this.columnTops[colRef.getRight()] = rowStart;
+		Ri = Rk;
+		Cj = colRef.getLeft();
+	    } else {
+		Ri = splitFront(P, Rk, numOnes).getLeft();
+		Cj = Ck;
+	    }
+	    k++;
 	}
 
-	String str = "";
-	for (LinkedList<Integer> rowList : orderedRowsList) {
-	    /* Define the upper part of the blocks. */
-	    for (LinkedList<Integer> colList : orderedColsList) {
-		str += "┌";
-		for (int c : colList) {
-		    str += "───";
-		}
-		str += "┐";
+	/* If no refinement is kept, order the matrix from scratch, which
+	 * traverses the rows in the order of the matrix. */
+	if (k == 0) {
+	    order();
+	    return;
+	}
+
+	/* Define the blocks again from the current block, forgetting the rest
+	 * of the log. */
+	long start = (this.metrics != null) ? System.nanoTime() : 0;
+	this.log.truncate(k);
+	this.splittingRows.clear();
+	this.columnTops[Cj] = P.start(Ri);
+	Block B = enterColumnPart(Cj);
+
+	if (this.metrics != null) {
+	    this.metrics.sizeInitNanos += System.nanoTime() - start;
+	    this.metrics.recordParts(P.numParts(), Q.numParts());
+	}
+
+	refine(B);
+    }
+
+    /**
+     * Returns whether every changed entry is still in the blocks that remain
+     * to be traversed when the refinement reaches the given block. The
+     * blocks that remain are the blocks of the column part of the block from
+     * its row part onwards, and the blocks of the later column parts, which
+     * start above the block. An entry only leaves them when the constant
+     * block that contains it is left behind, so this happens if and only if
+     * no changed entry is in a constant block left behind.
+     * @param changes the changed entries, all of them in the blocks that
+     *        remained at the previous refinement.
+     * @param rowStart the position where the row part of the block starts.
+     * @param columnStart the position where the column part of the block
+     *        starts.
+     * @return true if every changed entry remains, false otherwise.
+     */
+    private boolean isPending(UpdatedEntries changes, int rowStart,
+			      int columnStart) {
+	Partition Q = this.orderedColumnPartition;
+	int columnEnd = Q.end(Q.partOf(Q.element(columnStart)));
+
+	/* No entry is in the previous column parts, and the entries above the
+	 * block are in the later column parts. */
+	int above = changes.first(rowStart);
+	return (changes.leastColumns[changes.size - 1] >= columnStart)
+	    && (above == 0 || changes.leastColumns[above - 1] >= columnEnd);
+    }
+
+    /**
+     * Splits a part of an ordered partition keeping the order of its
+     * elements, the left part has the given amount of elements at the front
+     * of the part. Only the elements of the smaller part are marked.
+     * @param P the ordered partition.
+     * @param part the part to split.
+     * @param numFront the amount of elements of the left part.
+     * @return the refinement of the part.
+     */
+    private Refinement splitFront(Partition P, int part, int numFront) {
+	int start = P.start(part);
+
+	if (numFront <= P.size(part) - numFront) {
+	    /* Marking the first elements in order keeps them in place. */
+	    for (int k = start; k < start + numFront; k++) {
+		P.mark(P.element(k));
+	    }
+	    return new Refinement(P.split(part), part);
+	} else {
+	    for (int k = P.end(part) - 1; k >= start + numFront; k--) {
+		P.markBack(P.element(k));
+	    }
+	    return new Refinement(part, P.split(part));
+	}
+    }
+
+    /**
+     * Returns whether a block has changed entries.
+     * @param changes the changed entries.
+     * @param Ri the row part of the block.
+     * @param Cj the column part of the block.
+     * @return true if the block has a changed entry, false otherwise.
+     */
+    private boolean hasChanges(UpdatedEntries changes, int Ri, int Cj) {
+	int rowEnd = this.orderedRowPartition.end(Ri);
+	int colStart = this.orderedColumnPartition.start(Cj);
+	int colEnd = this.orderedColumnPartition.end(Cj);
+
+	int k = changes.first(this.orderedRowPartition.start(Ri));
+	for (; k < changes.size && changes.rowPositions[k] < rowEnd; k++) {
+	    int position = changes.columnPositions[k];
+	    if (position >= colStart && position < colEnd) {
+		return true;
 	    }
+	}
 
-	    str += "\n";
+	return false;
+    }
 
-	    /* Define the contents of the blocks. */
-	    for (int r : rowList) {
-		for (LinkedList<Integer> colList : orderedColsList) {
-		    str += "│";
-		    for (int c : colList) {
-			str += " " + Integer.toString(this.original[r][c]) + " ";
+    /**
+     * Returns whether the updated matrix leads to the same refinement of the
+     * current block as the k-th refinement of the log. A block without
+     * changed entries is refined in the same way. Otherwise, only a column
+     * refinement may be the same: the splitting row is the last candidate
+     * of the block that is still in it, so the refinement is the same if the
+     * splitting row has no changed entries in the block, and no other row
+     * with changed entries became a splitting row.
+     * @param changes the changed entries.
+     * @param k the position of the refinement in the log.
+     * @param Ri the row part of the current block.
+     * @param Cj the column part of the current block.
+     * @return true if the refinement is the same, false if it may differ.
+     */
+    private boolean isReplayable(UpdatedEntries changes, int k, int Ri,
+				 int Cj) {
+	if (!hasChanges(changes, Ri, Cj)) {
+	    return true;
+	}
+	if (!this.log.isColumnRefinement(k)) {
+	    return false;
+	}
+
+	Partition Q = this.orderedColumnPartition;
+	int splitRow = this.log.index(k);
+	int numCols = Q.size(Cj);
+	int rowEnd = this.orderedRowPartition.end(Ri);
+
+	this.columnMask.clear();
+	for (int i = Q.start(Cj); i < Q.end(Cj); i++) {
+	    this.columnMask.add(Q.element(i));
+	}
+
+	/* The changed entries of a row are contiguous. */
+	int i = changes.first(this.orderedRowPartition.start(Ri));
+	while (i < changes.size && changes.rowPositions[i] < rowEnd) {
+	    int row = changes.rows[i];
+	    int delta = 0;
+	    for (; i < changes.size && changes.rows[i] == row; i++) {
+		int position = changes.columnPositions[i];
+		if (position >= Q.start(Cj) && position < Q.end(Cj)) {
+		    delta += (changes.values[i] == 1) ? 1 : -1;
+		    if (row == splitRow) {
+			return false;
 		    }
-		    str += "│";
 		}
-		str += "\n";
 	    }
 
+	    int now = this.matrix.countOnes(row, this.columnMask);
+	    int before = now - delta;
+	    boolean wasConstant = (before == 0) || (before == numCols);
+	    boolean isConstant = (now == 0) || (now == numCols);
+	    if (wasConstant && !isConstant) {
+		return false;
+	    }
+	}
+
+	return true;
+    }
+
+    /**
+     * Orders the matrix starting from the given groups of rows and columns,
+     * instead of starting from a single row part and a single column part.
+     * The rows are placed in increasing order of their groups, every group
+     * becomes a part of the ordered row partition, and the same happens with
+     * the columns. The refinement starts with one block for every pair of
+     * row and column groups, and only the non-constant blocks are defined.
+     *
+     * The elements of a group keep the order they have in the current
+     * ordering, which is the previous ordering if the matrix was already
+     * ordered, and every column refinement is defined by the first splitting
+     * row in that order. If the order obtained this way is doubly lexical,
+     * such as when the groups are taken from a previous ordering of the
+     * matrix, every refinement agrees with it and so does the result.
+     * Otherwise the groups may not be compatible with any doubly lexical
+     * ordering, so the result is verified, and if it is not doubly lexical
+     * the matrix is ordered from scratch.
+     * @param rowGroups the group of each row.
+     * @param columnGroups the group of each column.
+     * @throws IllegalArgumentException if there is not a group for every row
+     *         and every column of the matrix.
+     */
+    public void order(int[] rowGroups, int[] columnGroups) {
+	int numRows = this.matrix.numRows();
+	int numCols = this.matrix.numColumns();
+
+	if (rowGroups.length != numRows || columnGroups.length != numCols) {
+	    throw new IllegalArgumentException("Expected " + numRows +
+					       " row groups and " + numCols +
+					       " column groups.");
+	}
+
+	/* A matrix without rows or columns is already ordered. */
+	if (numRows == 0 || numCols == 0) {
+	    order();
+	    return;
+	}
+
+	/* Define the ordered partitions with the given groups, and rank the
+	 * rows in the order of the groups. */
+	Partition P = this.orderedRowPartition;
+	int M = seed(P, rowGroups) - 1;
+	int N = seed(this.orderedColumnPartition, columnGroups) - 1;
+	this.rowRanks = new int[numRows];
+	this.rankKeys = new long[numRows];
+	for (int k = 0; k < numRows; k++) {
+	    this.rowRanks[P.element(k)] = k;
+	}
+	ordered = true;
+	logged = false;
+	log.clear();
+
+	/* Every block of the grid may be non-constant. */
+	try {
+	    refine(seedBlocks(new int[N + 1], M, N));
+	} finally {
+	    this.rowRanks = null;
+	    this.rankKeys = null;
+	}
+
+	if (!isDoublyLexical()) {
+	    order();
+	}
+    }
+
+    /**
+     * Defines the blocks of a seeded refinement, whose row parts are 0, ...,
+     * M, and whose column parts are 0, ..., N. The blocks of the column part
+     * Cj are the blocks of the row parts top[Cj], ..., M, where top[Cj] is M +
+     * 1 if the column part has no blocks left. Only the blocks of the first
+     * column part with blocks are defined, the later column parts keep the
+     * position of their first row until the refinement reaches them.
+     * @param top the first row part of the blocks of each column part.
+     * @param M the last row part.
+     * @param N the last column part.
+     * @return the first block to be traversed, null if there is none.
+     */
+    private Block seedBlocks(int[] top, int M, int N) {
+	Partition P = this.orderedRowPartition;
+	long start = (this.metrics != null) ? System.nanoTime() : 0;
+
+	splittingRows.clear();
+	int first = -1;
+	for (int Cj = N; Cj >= 0; Cj--) {
+	    if (top[Cj] <= M) {
+		columnTops[Cj] = P.start(top[Cj]);
+		first = Cj;
+	    }
+	}
+	Block B = (first == -1) ? null : enterColumnPart(first);
+
+	if (this.metrics != null) {
+	    this.metrics.sizeInitNanos += System.nanoTime() - start;
+	    this.metrics.recordParts(P.numParts(),
+				     this.orderedColumnPartition.numParts());
+	}
+
+	return B;
+    }
+
+    /**
+     * Replaces an ordered partition by the given groups, the elements are
+     * placed in increasing order of their groups, the elements of a group
+     * keep their order in the partition, and every group becomes a part.
+     * @param P the ordered partition.
+     * @param groups the group of each element.
+     * @return the amount of parts.
+     */
+    private int seed(Partition P, int[] groups) {
+	int n = groups.length;
+	long[] keys = new long[n];
+
+	for (int e = 0; e < n; e++) {
+	    keys[e] = ((long) groups[e] << 32) | P.position(e);
+	}
+	Arrays.sort(keys);
+
+	int[] order = new int[n];
+	int[] boundaries = new int[n + 1];
+	int numParts = 0;
+	for (int k = 0; k < n; k++) {
+	    order[k] = P.element((int) keys[k]);
+	    if (k == 0 || (keys[k] >> 32) != (keys[k - 1] >> 32)) {
+		boundaries[numParts++] = k;
+	    }
+	}
+	boundaries[numParts] = n;
+
+	P.reset(n);
+	P.reset(order, boundaries, numParts);
+	return numParts;
+    }
+
+    /**
+     * Resumes an ordering from a snapshot written by an orderer of the same
+     * matrix, see {@link #setSnapshots(Path, long)}. The blocks of the
+     * snapshot are restored and refined until the matrix is ordered, and the
+     * result is the same as the one of the orderer that wrote the snapshot.
+     * @param path the file of the snapshot.
+     * @throws IOException if the file can't be read or is not a snapshot of
+     *         the matrix.
+     */
+    public void resume(Path path) throws IOException {
+	OrderingSnapshot snapshot = OrderingSnapshot.read(path);
+
+	if (snapshot.rows.length != this.matrix.numRows()
+	    || snapshot.columns.length != this.matrix.numColumns()) {
+	    throw new IOException("The snapshot is not of a " +
+				  this.matrix.numRows() + " x " +
+				  this.matrix.numColumns() + " matrix.");
+	}
+
+	ordered = true;
+	logged = false;
+	log.clear();
+	this.sinceSnapshot = 0;
+	refine(restore(snapshot));
+    }
+
+    /**
+     * Writes a snapshot of the refinement, taken from the current state
+     * without changing it.
+     * @param B the current block.
+     * @return the current block.
+     */
+    private Block takeSnapshot(Block B) {
+	OrderingSnapshot snapshot = snapshot(B);
+
+	try {
+	    snapshot.write(this.snapshotPath);
+	} catch (IOException e) {
+	    throw new UncheckedIOException(e);
+	}
+
+	this.sinceSnapshot = 0;
+	return B;
+    }
+
+    /**
+     * Returns a snapshot of the refinement, in time linear in the amount of
+     * rows and columns. The candidates to splitting rows of a block that left
+     * its row part are not stored, the candidate taken is the last one still
+     * in the row part, so the refinement continues in the same way.
+     * @param B the current block.
+     * @return the snapshot of the refinement.
+     */
+    private OrderingSnapshot snapshot(Block B) {
+	Partition P = this.orderedRowPartition;
+	Partition Q = this.orderedColumnPartition;
+	int[] rowPositions = partPositions(P);
+	int[] columnPositions = partPositions(Q);
+
+	int rowPart = rowPositions[B.rowPart()];
+	int columnPart = columnPositions[B.columnPart()];
+	int[] tops = new int[Q.numParts() - columnPart];
+	tops[0] = rowPart;
+
+	/* The later column parts keep the position of their first row. */
+	for (int Cj = Q.next(B.columnPart()); Cj != -1; Cj = Q.next(Cj)) {
+	    int Ri = P.partOf(P.element(this.columnTops[Cj]));
+	    tops[columnPositions[Cj] - columnPart] = rowPositions[Ri];
+	}
+
+	/* The sizes of the rows from the current block. */
+	int top = P.start(B.rowPart());
+	int[] sizes = new int[P.size() - top];
+	for (int k = top; k < P.size(); k++) {
+	    sizes[k - top] = this.rowSizes[P.element(k)];
+	}
+
+	/* Every row is in at most one block, so there are at most two
+	 * integers for every block and one for every candidate. */
+	int[] blocks = new int[3 * sizes.length];
+	int n = 0;
+	for (Block current = B; current != null; current = current.getBelow()) {
+	    int Ri = current.rowPart();
+	    int slice = current.getSplittingRows();
+	    blocks[n++] = rowPositions[Ri];
+
+	    if (slice == -1) {
+		blocks[n++] = -1;
+		continue;
+	    }
+
+	    int count = n++;
+	    for (int k = 0; k < current.getNumSplittingRows(); k++) {
+		int r = this.splittingRows.get(slice, k);
+		if (P.partOf(r) == Ri) {
+		    blocks[n++] = r;
+		}
+	    }
+	    blocks[count] = n - count - 1;
+	}
+
+	return new OrderingSnapshot(P.toArray(), partStarts(P),
+				    Q.toArray(), partStarts(Q),
+				    rowPart, columnPart, tops, sizes,
+				    Arrays.copyOf(blocks, n));
+    }
+
+    /**
+     * Restores the ordered partitions and the blocks of a snapshot, the
+     * parts are numbered in order.
+     * @param snapshot the snapshot.
+     * @return the current block of the snapshot.
+     */
+    private Block restore(OrderingSnapshot snapshot) {
+	Partition P = this.orderedRowPartition;
+	Partition Q = this.orderedColumnPartition;
+	int numRowParts = snapshot.numRowParts();
+	int numColumnParts = snapshot.numColumnParts();
+
+	P.reset(snapshot.rows.length);
+	P.reset(snapshot.rows, snapshot.rowStarts, numRowParts);
+	Q.reset(snapshot.columns.length);
+	Q.reset(snapshot.columns, snapshot.columnStarts, numColumnParts);
+
+	/* The current column part and the later ones keep the position of
+	 * their first row. */
+	int Cj = snapshot.columnPart;
+	for (int k = 0; k < snapshot.tops.length; k++) {
+	    this.columnTops[Cj + k] = P.start(snapshot.tops[k]);
+	}
+
+	int top = P.start(snapshot.rowPart);
+	for (int k = top; k < P.size(); k++) {
+	    this.rowSizes[P.element(k)] = snapshot.sizes[k - top];
+	}
 
-	    /* Define the bottom part of the blocks. */
-	    for (LinkedList<Integer> colList : orderedColsList) {
-		str += "└";
-		for (int c : colList) {
-		    str += "───";
+	/* Define the blocks of the current column part with their
+	 * candidates. */
+	this.splittingRows.clear();
+	Block first = null;
+	Block above = null;
+	int[] blocks = snapshot.blocks;
+	int n = 0;
+	while (n < blocks.length) {
+	    int Ri = blocks[n++];
+	    int numSplitting = blocks[n++];
+	    Block B = new Block(Ri, Cj);
+	    B.setSize(sumSizes(P.start(Ri), P.end(Ri)));
+
+	    if (numSplitting != -1) {
+		int slice = this.splittingRows.allocate(P.size(Ri));
+		for (int k = 0; k < numSplitting; k++) {
+		    this.splittingRows.set(slice, k, blocks[n++]);
 		}
-		str += "┘";
+		B.setSplittingRows(slice);
+		B.setNumSplittingRows(numSplitting);
+	    }
+
+	    if (above != null) {
+		above.setBelow(B);
+	    } else {
+		first = B;
+	    }
+	    above = B;
+
+	    if (this.metrics != null) {
+		this.metrics.blocksCreated++;
 	    }
-	    str += "\n";
 	}
 
-	return str;
+	if (this.metrics != null) {
+	    this.metrics.recordParts(numRowParts, numColumnParts);
+	}
+
+	return first;
+    }
+
+    /**
+     * Returns the position of every part of an ordered partition.
+     * @param P the ordered partition.
+     * @return the position of each part, indexed by its identifier.
+     */
+    private int[] partPositions(Partition P) {
+	int[] positions = new int[P.numParts()];
+	int k = 0;
+
+	for (int part = P.first(); part != -1; part = P.next(part)) {
+	    positions[part] = k++;
+	}
+
+	return positions;
+    }
+
+    /**
+     * Returns the positions where the parts of an ordered partition start,
+     * in the order of the parts, followed by the size of the partition.
+     * @param P the ordered partition.
+     * @return the starts of the parts, followed by the size of the partition.
+     */
+    private int[] partStarts(Partition P) {
+	int[] starts = new int[P.numParts() + 1];
+	int k = 0;
+
+	for (int part = P.first(); part != -1; part = P.next(part)) {
+	    starts[k++] = P.start(part);
+	}
+	starts[k] = P.size();
+
+	return starts;
+    }
+
+    /**
+     * Returns whether the current ordered partitions are a doubly lexical
+     * ordering of the matrix, that is, every row is lexically greater than
+     * or equal to the next row, and the same happens with the columns. Every
+     * block must be constant, so the rows of a row part are equal, the
+     * columns of a column part are equal, and only the first row of each row
+     * part and the first column of each column part are compared.
+     * @return true if the ordering is doubly lexical, false otherwise.
+     */
+    private boolean isDoublyLexical() {
+	int[] rows = firstElements(this.orderedRowPartition);
+	int[] cols = firstElements(this.orderedColumnPartition);
+
+	for (int i = 0; i + 1 < rows.length; i++) {
+	    for (int j = 0; j < cols.length; j++) {
+		int a = this.matrix.get(rows[i], cols[j]);
+		int b = this.matrix.get(rows[i + 1], cols[j]);
+		if (a != b) {
+		    if (a < b) {
+			return false;
+		    }
+		    break;
+		}
+	    }
+	}
+
+	for (int j = 0; j + 1 < cols.length; j++) {
+	    for (int i = 0; i < rows.length; i++) {
+		int a = this.matrix.get(rows[i], cols[j]);
+		int b = this.matrix.get(rows[i], cols[j + 1]);
+		if (a != b) {
+		    if (a < b) {
+			return false;
+		    }
+		    break;
+		}
+	    }
+	}
+
+	return true;
+    }
+
+    /**
+     * Returns the first element of every part of an ordered partition, in
+     * the order of the parts.
+     * @param P the ordered partition.
+     * @return the first element of every part.
+     */
+    private int[] firstElements(Partition P) {
+	int[] first = new int[P.numParts()];
+	int k = 0;
+
+	for (int part = P.first(); part != -1; part = P.next(part)) {
+	    first[k++] = P.element(P.start(part));
+	}
+
+	return first;
+    }
+
+    /**
+     * Returns a renderer of the current state of the algorithm, which writes
+     * the blocks of the ordered partitions incrementally.
+     * @return a renderer of the current state of the algorithm.
+     */
+    public OrderingRenderer getRenderer() {
+	return new OrderingRenderer(this.matrix, this.orderedRowPartition,
+				    this.orderedColumnPartition);
+    }
+
+    /**
+     * Writes the current state of the algorithm, only the first row parts
+     * and the first column parts are written, and of every part only its
+     * first rows or its first columns.
+     * @param out where the state is written.
+     * @param maxRowParts the maximum amount of row parts written.
+     * @param maxColumnParts the maximum amount of column parts written.
+     * @param maxRows the maximum amount of rows written of every row part.
+     * @param maxColumns the maximum amount of columns written of every
+     *        column part.
+     * @throws IOException if the state can't be written.
+     */
+    public void render(Appendable out, int maxRowParts, int maxColumnParts,
+		       int maxRows, int maxColumns) throws IOException {
+	getRenderer().setWindow(maxRowParts, maxColumnParts,
+				maxRows, maxColumns).render(out);
+    }
+
+    /**
+     * Returns a string representation of the current state of the algorithm.
+     * @return a string representation of the current state of the algorithm.
+     */
+    @Override public String toString() {
+	StringBuilder str = new StringBuilder();
+
+	try {
+	    getRenderer().render(str);
+	} catch (IOException e) {
+	    /* A string builder never fails to append. */
+	    throw new UncheckedIOException(e);
+	}
+
+	return str.toString();
     }
 }
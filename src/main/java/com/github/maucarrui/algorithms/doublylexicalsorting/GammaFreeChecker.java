@@ -0,0 +1,238 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.util.Arrays;
+
+/**
+ * Class to represent a checker of Γ-free orderings of (0,1)-matrices.
+ *
+ * The checker receives a matrix together with an order of its rows and its
+ * columns, usually the ones given by {@link
+ * DoublyLexicalOrderer#getOrderedRows()} and {@link
+ * DoublyLexicalOrderer#getOrderedColumns()}, and looks for a Γ submatrix (see
+ * {@link GammaSubmatrix}) in the permuted matrix. If the order is a doubly
+ * lexical ordering, the matrix is totally balanced if and only if there is no
+ * Γ.
+ *
+ * The permuted matrix is never built: the non-zero entries of every row and
+ * every column are sorted by their position in the order, and the matrix is
+ * scanned in time proportional to the amount of non-zero entries.
+ */
+public class GammaFreeChecker {
+
+    /** The matrix to be checked. */
+    private SparseMatrix matrix;
+
+    /** The ordered rows of the matrix. */
+    private int[] orderedRows;
+
+    /** The ordered columns of the matrix. */
+    private int[] orderedCols;
+
+    /** The first Γ found, null if there is none. */
+    private GammaSubmatrix witness;
+
+    /** Whether the matrix has already been checked. */
+    private boolean checked;
+
+    /**
+     * Constructor which receives a sparse matrix and the order of its rows
+     * and columns.
+     * @param matrix the matrix to be checked.
+     * @param orderedRows the ordered rows of the matrix.
+     * @param orderedCols the ordered columns of the matrix.
+     */
+    public GammaFreeChecker(SparseMatrix matrix,
+			    int[] orderedRows, int[] orderedCols) {
+	this.matrix = matrix;
+	this.orderedRows = orderedRows;
+	this.orderedCols = orderedCols;
+	this.checked = false;
+    }
+
+    /**
+     * Constructor which receives a bit matrix and the order of its rows and
+     * columns.
+     * @param matrix the matrix to be checked.
+     * @param orderedRows the ordered rows of the matrix.
+     * @param orderedCols the ordered columns of the matrix.
+     */
+    public GammaFreeChecker(BitMatrix matrix,
+			    int[] orderedRows, int[] orderedCols) {
+	this(compress(matrix), orderedRows, orderedCols);
+    }
+
+    /**
+     * Constructor which receives a (0,1)-matrix represented as an array of
+     * rows and the order of its rows and columns.
+     * @param matrix the matrix to be checked.
+     * @param orderedRows the ordered rows of the matrix.
+     * @param orderedCols the ordered columns of the matrix.
+     */
+    public GammaFreeChecker(int[][] matrix,
+			    int[] orderedRows, int[] orderedCols) {
+	this(new SparseMatrix(matrix), orderedRows, orderedCols);
+    }
+
+    /**
+     * Auxiliary method to compress a bit matrix, only the non-zero entries of
+     * the words are visited.
+     * @param matrix the bit matrix.
+     * @return the sparse representation of the matrix.
+     */
+    private static SparseMatrix compress(BitMatrix matrix) {
+	int numRows = matrix.numRows();
+	int words = matrix.wordsPerRow();
+	int[] pointers = new int[numRows + 1];
+
+	for (int r = 0; r < numRows; r++) {
+	    int ones = 0;
+	    for (int w = 0; w < words; w++) {
+		ones += Long.bitCount(matrix.word(r, w));
+	    }
+	    pointers[r + 1] = pointers[r] + ones;
+	}
+
+	int[] indices = new int[pointers[numRows]];
+	int k = 0;
+	for (int r = 0; r < numRows; r++) {
+	    for (int w = 0; w < words; w++) {
+		long word = matrix.word(r, w);
+		while (word != 0L) {
+		    indices[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+		    word &= word - 1;
+		}
+	    }
+	}
+
+	return new SparseMatrix(numRows, matrix.numColumns(), pointers, indices);
+    }
+
+    /**
+     * Looks for a Γ in the permuted matrix.
+     *
+     * For a column l, let a be the row above the row b among the non-zero
+     * entries of l, and let l' be the non-zero entry of b before l. There is
+     * no Γ if and only if the entry (a, l') is non-zero for every such a, b,
+     * l: by induction on the columns, the non-zero entries of b before l are
+     * then contained in the ones of a. Otherwise a, b, l' and l form a Γ. The
+     * entries (a, l') are grouped by their row a and checked by marking the
+     * non-zero entries of a.
+     */
+    private void check() {
+	if (this.checked) {
+	    return;
+	}
+	this.checked = true;
+
+	SparseMatrix M = this.matrix;
+	int numRows = M.numRows();
+	int numCols = M.numColumns();
+	int nnz = M.nnz();
+
+	/* The columns of every row, sorted by their position. */
+	int[] rowEntries = new int[nnz];
+	int[] cursor = new int[numRows];
+	for (int c : this.orderedCols) {
+	    for (int e = M.columnStart(c); e < M.columnEnd(c); e++) {
+		int r = M.rowIndex(e);
+		rowEntries[M.rowStart(r) + cursor[r]++] = c;
+	    }
+	}
+
+	/* The rows of every column, sorted by their position. */
+	int[] colEntries = new int[nnz];
+	int[] next = new int[numCols];
+	for (int r : this.orderedRows) {
+	    for (int e = M.rowStart(r); e < M.rowEnd(r); e++) {
+		int c = M.columnIndex(e);
+		colEntries[M.columnStart(c) + next[c]++] = r;
+	    }
+	}
+
+	/* The entries (a, l') to check, in the order they are found. The
+	 * cursor of a row counts its non-zero entries already visited. */
+	int[] top = new int[nnz];
+	int[] bottom = new int[nnz];
+	int[] left = new int[nnz];
+	int[] right = new int[nnz];
+	int numQueries = 0;
+
+	Arrays.fill(cursor, 0);
+	for (int l : this.orderedCols) {
+	    int above = -1;
+	    for (int e = M.columnStart(l); e < M.columnEnd(l); e++) {
+		int b = colEntries[e];
+		if (above != -1 && cursor[b] > 0) {
+		    top[numQueries] = above;
+		    bottom[numQueries] = b;
+		    left[numQueries] = rowEntries[M.rowStart(b) + cursor[b] - 1];
+		    right[numQueries] = l;
+		    numQueries++;
+		}
+		cursor[b]++;
+		above = b;
+	    }
+	}
+
+	/* Group the entries by their row. */
+	int[] groupStart = new int[numRows + 1];
+	for (int k = 0; k < numQueries; k++) {
+	    groupStart[top[k] + 1]++;
+	}
+	for (int r = 0; r < numRows; r++) {
+	    groupStart[r + 1] += groupStart[r];
+	}
+	int[] byRow = new int[numQueries];
+	Arrays.fill(cursor, 0);
+	for (int k = 0; k < numQueries; k++) {
+	    byRow[groupStart[top[k]] + cursor[top[k]]++] = k;
+	}
+
+	boolean[] marked = new boolean[numCols];
+	int first = -1;
+	for (int a = 0; a < numRows; a++) {
+	    if (groupStart[a] == groupStart[a + 1]) {
+		continue;
+	    }
+	    for (int e = M.rowStart(a); e < M.rowEnd(a); e++) {
+		marked[M.columnIndex(e)] = true;
+	    }
+	    for (int i = groupStart[a]; i < groupStart[a + 1]; i++) {
+		int k = byRow[i];
+		if (!marked[left[k]] && (first == -1 || k < first)) {
+		    first = k;
+		}
+	    }
+	    for (int e = M.rowStart(a); e < M.rowEnd(a); e++) {
+		marked[M.columnIndex(e)] = false;
+	    }
+	}
+
+	if (first != -1) {
+	    this.witness = new GammaSubmatrix(top[first], bottom[first],
+					      left[first], right[first]);
+	}
+    }
+
+    /**
+     * Returns whether the permuted matrix has no Γ submatrix. If the order
+     * is a doubly lexical ordering, this is whether the matrix is totally
+     * balanced.
+     * @return true if the permuted matrix has no Γ, false otherwise.
+     */
+    public boolean isGammaFree() {
+	check();
+	return this.witness == null;
+    }
+
+    /**
+     * Returns the first Γ found in the permuted matrix, scanning the columns
+     * from left to right. The rows and columns of the Γ are given by their
+     * index in the original matrix.
+     * @return the Γ, null if the permuted matrix is Γ-free.
+     */
+    public GammaSubmatrix getWitness() {
+	check();
+	return this.witness;
+    }
+}
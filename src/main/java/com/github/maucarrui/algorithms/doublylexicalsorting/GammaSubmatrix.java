@@ -0,0 +1,88 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+/**
+ * Class to represent a Γ submatrix of an ordered (0,1)-matrix.
+ *
+ * With the rows and columns of the matrix in the order of a doubly lexical
+ * ordering, where the non-zero entries come first, a Γ is a 2 x 2 submatrix
+ *
+ *     0 1
+ *     1 1
+ *
+ * given by a top row above a bottom row and a left column before a right
+ * column. A doubly lexical ordering of a matrix has no Γ if and only if the
+ * matrix is totally balanced. The rows and columns are given by their index
+ * in the original matrix.
+ */
+public class GammaSubmatrix {
+
+    /** The row above in the ordering. */
+    private int topRow;
+
+    /** The row below in the ordering. */
+    private int bottomRow;
+
+    /** The column to the left in the ordering. */
+    private int leftColumn;
+
+    /** The column to the right in the ordering. */
+    private int rightColumn;
+
+    /**
+     * Unique constructor which receives the rows and columns of the Γ.
+     * @param topRow the row above, which is zero in the left column.
+     * @param bottomRow the row below.
+     * @param leftColumn the column to the left.
+     * @param rightColumn the column to the right.
+     */
+    public GammaSubmatrix(int topRow, int bottomRow,
+			  int leftColumn, int rightColumn) {
+	this.topRow = topRow;
+	this.bottomRow = bottomRow;
+	this.leftColumn = leftColumn;
+	this.rightColumn = rightColumn;
+    }
+
+    /**
+     * Returns the row above, which is zero in the left column.
+     * @return the row above.
+     */
+    public int getTopRow() {
+	return this.topRow;
+    }
+
+    /**
+     * Returns the row below.
+     * @return the row below.
+     */
+    public int getBottomRow() {
+	return this.bottomRow;
+    }
+
+    /**
+     * Returns the column to the left.
+     * @return the column to the left.
+     */
+    public int getLeftColumn() {
+	return this.leftColumn;
+    }
+
+    /**
+     * Returns the column to the right.
+     * @return the column to the right.
+     */
+    public int getRightColumn() {
+	return this.rightColumn;
+    }
+
+    /**
+     * Returns a string representation of the Γ.
+     * @return a string representation of the Γ.
+     */
+    @Override
+    public String toString() {
+	return String.format("rows (%d, %d), columns (%d, %d)",
+			     this.topRow, this.bottomRow,
+			     this.leftColumn, this.rightColumn);
+    }
+}
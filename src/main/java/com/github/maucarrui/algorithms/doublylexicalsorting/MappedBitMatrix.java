@@ -0,0 +1,263 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class to represent a bit-packed (0,1)-matrix stored in a file.
+ *
+ * The file starts with a header of four integers: a magic number, the
+ * version of the format, the amount of rows and the amount of columns. The
+ * header is followed by the words of the rows, stored row after row as in
+ * {@link BitMatrix}, in big-endian byte order. The file is mapped into memory
+ * with {@link FileChannel#map}, so the entries are read straight from the
+ * mapped region and the matrix doesn't use memory from the heap. Since a
+ * single mapping can't exceed 2 GB, the rows are mapped in several regions.
+ */
+public class MappedBitMatrix extends BitMatrix {
+
+    /** The magic number of a bit matrix file, "BITM" in ASCII. */
+    static final int MAGIC = 0x4249544d;
+
+    /** The version of the format of the file. */
+    static final int VERSION = 1;
+
+    /** The size in bytes of the header of the file. */
+    static final int HEADER_SIZE = 16;
+
+    /** The maximum size in bytes of a mapped region. */
+    private static final long REGION_SIZE = 1L << 30;
+
+    /** The mapped regions of the file. */
+    private MappedByteBuffer[] buffers;
+
+    /** The words of each mapped region. */
+    private LongBuffer[] regions;
+
+    /** The amount of rows in each mapped region. */
+    private int rowsPerRegion;
+
+    /**
+     * Unique constructor which receives the amount of rows and columns of the
+     * matrix, and the channel of its file.
+     * @param numRows the amount of rows of the matrix.
+     * @param numColumns the amount of columns of the matrix.
+     * @param channel the channel of the file.
+     * @param mode the mode used to map the file.
+     * @throws IOException if the file can't be mapped.
+     */
+    private MappedBitMatrix(int numRows, int numColumns, FileChannel channel,
+			    FileChannel.MapMode mode) throws IOException {
+	super(numRows, numColumns, null);
+
+	long bytesPerRow = 8L * wordsPerRow();
+	long regionRows = REGION_SIZE / Math.max(bytesPerRow, 1L);
+	this.rowsPerRegion = (int) Math.max(1L, Math.min(regionRows, numRows));
+
+	int numRegions = (numRows + this.rowsPerRegion - 1);
+	numRegions /= this.rowsPerRegion;
+	this.buffers = new MappedByteBuffer[numRegions];
+	this.regions = new LongBuffer[numRegions];
+
+	for (int k = 0; k < numRegions; k++) {
+	    long firstRow = (long) k * this.rowsPerRegion;
+	    long rows = Math.min(this.rowsPerRegion, numRows - firstRow);
+	    long position = HEADER_SIZE + firstRow * bytesPerRow;
+
+	    this.buffers[k] = channel.map(mode, position, rows * bytesPerRow);
+	    this.regions[k] = this.buffers[k].asLongBuffer();
+	}
+    }
+
+    /**
+     * Returns the size in bytes of the file of a matrix.
+     * @param numRows the amount of rows of the matrix.
+     * @param numColumns the amount of columns of the matrix.
+     * @return the size in bytes of the file.
+     */
+    private static long fileSize(int numRows, int numColumns) {
+	return HEADER_SIZE + 8L * numRows * wordsPerRow(numColumns);
+    }
+
+    /**
+     * Writes the header of a bit matrix file.
+     * @param channel the channel of the file.
+     * @param numRows the amount of rows of the matrix.
+     * @param numColumns the amount of columns of the matrix.
+     * @throws IOException if the header can't be written.
+     */
+    private static void writeHeader(FileChannel channel,
+				    int numRows, int numColumns)
+	throws IOException {
+	ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+	header.putInt(MAGIC).putInt(VERSION);
+	header.putInt(numRows).putInt(numColumns);
+	header.flip();
+
+	channel.write(header, 0);
+    }
+
+    /**
+     * Maps a bit matrix file for reading.
+     * @param path the path of the file.
+     * @return the matrix stored in the file.
+     * @throws IOException if the file can't be read or is not a bit matrix
+     *         file.
+     */
+    public static MappedBitMatrix open(Path path) throws IOException {
+	try (FileChannel channel = FileChannel.open(path,
+						    StandardOpenOption.READ)) {
+	    int[] size = readHeader(channel);
+
+	    return new MappedBitMatrix(size[0], size[1], channel,
+				       FileChannel.MapMode.READ_ONLY);
+	}
+    }
+
+    /**
+     * Reads and checks the header of a bit matrix file.
+     * @param channel the channel of the file.
+     * @return the amount of rows and the amount of columns of the matrix.
+     * @throws IOException if the header can't be read or the file is not a
+     *         complete bit matrix file.
+     */
+    static int[] readHeader(FileChannel channel) throws IOException {
+	ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+	while (header.hasRemaining()) {
+	    if (channel.read(header, header.position()) < 0) {
+		throw new IOException("Incomplete bit matrix header.");
+	    }
+	}
+	header.flip();
+
+	if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+	    throw new IOException("Not a bit matrix file.");
+	}
+
+	int numRows = header.getInt();
+	int numColumns = header.getInt();
+	if (channel.size() < fileSize(numRows, numColumns)) {
+	    throw new IOException("Truncated bit matrix file.");
+	}
+
+	return new int[]{numRows, numColumns};
+    }
+
+    /**
+     * Creates a bit matrix file where all the entries are zero, and maps it
+     * for reading and writing.
+     * @param path the path of the file.
+     * @param numRows the amount of rows of the matrix.
+     * @param numColumns the amount of columns of the matrix.
+     * @return the matrix stored in the file.
+     * @throws IOException if the file can't be created.
+     */
+    public static MappedBitMatrix create(Path path,
+					 int numRows, int numColumns)
+	throws IOException {
+	StandardOpenOption[] options = {
+	    StandardOpenOption.CREATE,
+	    StandardOpenOption.TRUNCATE_EXISTING,
+	    StandardOpenOption.READ,
+	    StandardOpenOption.WRITE,
+	};
+
+	try (FileChannel channel = FileChannel.open(path, options)) {
+	    writeHeader(channel, numRows, numColumns);
+
+	    return new MappedBitMatrix(numRows, numColumns, channel,
+				       FileChannel.MapMode.READ_WRITE);
+	}
+    }
+
+    /**
+     * Writes a matrix into a bit matrix file.
+     * @param matrix the matrix to write.
+     * @param path the path of the file.
+     * @throws IOException if the file can't be written.
+     */
+    public static void write(BitMatrix matrix, Path path) throws IOException {
+	MappedBitMatrix file = create(path, matrix.numRows(),
+				      matrix.numColumns());
+
+	for (int r = 0; r < matrix.numRows(); r++) {
+	    for (int w = 0; w < matrix.wordsPerRow(); w++) {
+		file.setWord(r, w, matrix.word(r, w));
+	    }
+	}
+
+	file.flush();
+    }
+
+    /**
+     * Writes the changes of a matrix mapped for writing into its file.
+     */
+    public void flush() {
+	for (MappedByteBuffer buffer : this.buffers) {
+	    buffer.force();
+	}
+    }
+
+    /**
+     * Returns the index of a row inside its mapped region.
+     * @param row the row.
+     * @return the index of the first word of the row in its region.
+     */
+    private int base(int row) {
+	return (row % this.rowsPerRegion) * wordsPerRow();
+    }
+
+    /**
+     * Sets a word of a row of the matrix.
+     * @param row the row of the word.
+     * @param w the index of the word inside the row.
+     * @param word the new value of the word.
+     */
+    private void setWord(int row, int w, long word) {
+	this.regions[row / this.rowsPerRegion].put(base(row) + w, word);
+    }
+
+    @Override
+    public int get(int row, int col) {
+	long word = word(row, col >>> 6);
+	return (int) ((word >>> col) & 1L);
+    }
+
+    @Override
+    public void set(int row, int col, int value) {
+	long word = word(row, col >>> 6);
+
+	if (value != 0) {
+	    word |= (1L << col);
+	} else {
+	    word &= ~(1L << col);
+	}
+
+	setWord(row, col >>> 6, word);
+    }
+
+    @Override
+    long word(int row, int w) {
+	return this.regions[row / this.rowsPerRegion].get(base(row) + w);
+    }
+
+    @Override
+    int countOnes(int row, BitMask mask) {
+	LongBuffer region = this.regions[row / this.rowsPerRegion];
+	int base = base(row);
+	int count = 0;
+
+	for (int k = 0; k < mask.numWords(); k++) {
+	    int w = mask.wordIndex(k);
+	    count += Long.bitCount(region.get(base + w) & mask.word(w));
+	}
+
+	return count;
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+/**
+ * Class to represent a view of a matrix with its rows and columns permuted.
+ *
+ * The view doesn't copy the entries of the matrix: the entry (i, j) of the
+ * view is the entry (orderedRows[i], orderedColumns[j]) of the original
+ * matrix, which is looked up every time it is requested. Thus, a view of a
+ * doubly lexical ordering only uses the memory of its two permutations.
+ */
+public class OrderedMatrixView {
+
+    /** The original matrix. */
+    private BitMatrix matrix;
+
+    /** The original row in each position of the view. */
+    private int[] orderedRows;
+
+    /** The original column in each position of the view. */
+    private int[] orderedColumns;
+
+    /**
+     * Unique constructor which receives the original matrix and the
+     * permutations of its rows and columns.
+     * @param matrix the original matrix.
+     * @param orderedRows the original row in each position of the view.
+     * @param orderedColumns the original column in each position of the
+     *        view.
+     */
+    public OrderedMatrixView(BitMatrix matrix,
+			     int[] orderedRows, int[] orderedColumns) {
+	this.matrix = matrix;
+	this.orderedRows = orderedRows;
+	this.orderedColumns = orderedColumns;
+    }
+
+    /**
+     * Returns the amount of rows in the view.
+     * @return the amount of rows in the view.
+     */
+    public int numRows() {
+	return this.orderedRows.length;
+    }
+
+    /**
+     * Returns the amount of columns in the view.
+     * @return the amount of columns in the view.
+     */
+    public int numColumns() {
+	return this.orderedColumns.length;
+    }
+
+    /**
+     * Returns the entry of the view in the given row and column.
+     * @param i the row of the entry in the view.
+     * @param j the column of the entry in the view.
+     * @return 1 if the entry is non-zero, 0 otherwise.
+     */
+    public int get(int i, int j) {
+	return this.matrix.get(this.orderedRows[i], this.orderedColumns[j]);
+    }
+
+    /**
+     * Returns the original row in the given position of the view.
+     * @param i the row of the view.
+     * @return the original row.
+     */
+    public int originalRow(int i) {
+	return this.orderedRows[i];
+    }
+
+    /**
+     * Returns the original column in the given position of the view.
+     * @param j the column of the view.
+     * @return the original column.
+     */
+    public int originalColumn(int j) {
+	return this.orderedColumns[j];
+    }
+
+    /**
+     * Copies a row of the view into the given array, so the rows can be
+     * traversed reusing the same array.
+     * @param i the row of the view.
+     * @param row an array of length at least the amount of columns, if it is
+     *        null a new array is allocated.
+     * @return the array with the entries of the row.
+     */
+    public int[] getRow(int i, int[] row) {
+	int numColumns = this.orderedColumns.length;
+
+	if (row == null || row.length < numColumns) {
+	    row = new int[numColumns];
+	}
+
+	int r = this.orderedRows[i];
+	for (int j = 0; j < numColumns; j++) {
+	    row[j] = this.matrix.get(r, this.orderedColumns[j]);
+	}
+
+	return row;
+    }
+}
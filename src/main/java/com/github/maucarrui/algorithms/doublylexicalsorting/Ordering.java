@@ -0,0 +1,39 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+/**
+ * Class to represent an ordering of the rows and columns of a matrix.
+ */
+public class Ordering {
+
+    /** The ordered rows of the matrix. */
+    private int[] orderedRows;
+
+    /** The ordered columns of the matrix. */
+    private int[] orderedCols;
+
+    /**
+     * Unique constructor which receives the ordered rows and columns.
+     * @param orderedRows the ordered rows of the matrix.
+     * @param orderedCols the ordered columns of the matrix.
+     */
+    public Ordering(int[] orderedRows, int[] orderedCols) {
+	this.orderedRows = orderedRows;
+	this.orderedCols = orderedCols;
+    }
+
+    /**
+     * Returns the ordered rows of the matrix.
+     * @return the ordered rows of the matrix.
+     */
+    public int[] getOrderedRows() {
+	return this.orderedRows;
+    }
+
+    /**
+     * Returns the ordered columns of the matrix.
+     * @return the ordered columns of the matrix.
+     */
+    public int[] getOrderedColumns() {
+	return this.orderedCols;
+    }
+}
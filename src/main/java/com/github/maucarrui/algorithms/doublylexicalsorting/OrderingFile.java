@@ -0,0 +1,126 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.io.IOException;
+
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class to store the ordered rows and columns of a matrix in a file.
+ *
+ * The file starts with a header of four integers: a magic number, the
+ * version of the format, the amount of rows and the amount of columns. The
+ * header is followed by the ordered rows and then by the ordered columns, as
+ * big-endian integers. The file is written and read through a mapping of the
+ * file, see {@link MappedBitMatrix}.
+ */
+public class OrderingFile {
+
+    /** The magic number of an ordering file, "PERM" in ASCII. */
+    static final int MAGIC = 0x5045524d;
+
+    /** The version of the format of the file. */
+    static final int VERSION = 1;
+
+    /** The amount of integers in the header of the file. */
+    static final int HEADER_INTS = 4;
+
+    /**
+     * Writes the ordered rows and columns of a matrix into a file.
+     * @param path the path of the file.
+     * @param orderedRows the ordered rows.
+     * @param orderedCols the ordered columns.
+     * @throws IOException if the file can't be written.
+     */
+    public static void write(Path path, int[] orderedRows, int[] orderedCols)
+	throws IOException {
+	StandardOpenOption[] options = {
+	    StandardOpenOption.CREATE,
+	    StandardOpenOption.TRUNCATE_EXISTING,
+	    StandardOpenOption.READ,
+	    StandardOpenOption.WRITE,
+	};
+
+	long numInts = HEADER_INTS + orderedRows.length + orderedCols.length;
+
+	try (FileChannel channel = FileChannel.open(path, options)) {
+	    MappedByteBuffer buffer;
+	    buffer = channel.map(FileChannel.MapMode.READ_WRITE,
+				 0, 4 * numInts);
+
+	    IntBuffer ints = buffer.asIntBuffer();
+	    ints.put(MAGIC).put(VERSION);
+	    ints.put(orderedRows.length).put(orderedCols.length);
+	    ints.put(orderedRows).put(orderedCols);
+
+	    buffer.force();
+	}
+    }
+
+    /**
+     * Maps an ordering file for reading, after checking its header.
+     * @param path the path of the file.
+     * @return the integers of the file, positioned after the header.
+     * @throws IOException if the file can't be read or is not an ordering
+     *         file.
+     */
+    private static IntBuffer open(Path path) throws IOException {
+	try (FileChannel channel = FileChannel.open(path,
+						    StandardOpenOption.READ)) {
+	    MappedByteBuffer buffer;
+	    buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+				 0, channel.size());
+
+	    IntBuffer ints = buffer.asIntBuffer();
+	    if (ints.remaining() < HEADER_INTS
+		|| ints.get() != MAGIC || ints.get() != VERSION) {
+		throw new IOException("Not an ordering file.");
+	    }
+
+	    long numRows = ints.get(2);
+	    long numCols = ints.get(3);
+	    if (ints.remaining() < 2 + numRows + numCols) {
+		throw new IOException("Truncated ordering file.");
+	    }
+
+	    return ints;
+	}
+    }
+
+    /**
+     * Reads the ordered rows stored in a file.
+     * @param path the path of the file.
+     * @return the ordered rows.
+     * @throws IOException if the file can't be read or is not an ordering
+     *         file.
+     */
+    public static int[] readRows(Path path) throws IOException {
+	IntBuffer ints = open(path);
+	int[] orderedRows = new int[ints.get(2)];
+
+	ints.position(HEADER_INTS);
+	ints.get(orderedRows);
+
+	return orderedRows;
+    }
+
+    /**
+     * Reads the ordered columns stored in a file.
+     * @param path the path of the file.
+     * @return the ordered columns.
+     * @throws IOException if the file can't be read or is not an ordering
+     *         file.
+     */
+    public static int[] readColumns(Path path) throws IOException {
+	IntBuffer ints = open(path);
+	int[] orderedCols = new int[ints.get(3)];
+
+	ints.position(HEADER_INTS + ints.get(2));
+	ints.get(orderedCols);
+
+	return orderedCols;
+    }
+}
@@ -0,0 +1,201 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.util.Locale;
+
+/**
+ * Class to represent the metrics of the refinements of a {@link
+ * DoublyLexicalOrderer}.
+ *
+ * The metrics are only collected when they are given to the orderer with
+ * {@link DoublyLexicalOrderer#setMetrics(OrderingMetrics)}, otherwise the
+ * orderer only checks that there are no metrics. The counters add up over
+ * the runs of the orderer until they are reset, so a fresh set of metrics,
+ * or a reset one, describes a single run. The metrics can be exported as a
+ * line of comma-separated values, with the header given by {@link
+ * #csvHeader()}.
+ */
+public class OrderingMetrics {
+
+    /** The amount of column refinements. */
+    long columnRefinements;
+
+    /** The amount of row refinements. */
+    long rowRefinements;
+
+    /** The amount of blocks created. */
+    long blocksCreated;
+
+    /** The amount of searches of a splitting row of a block. */
+    long splittingRowScans;
+
+    /** The amount of entries whose blocks had their size determined. */
+    long cellsTouched;
+
+    /** The maximum amount of parts of the ordered row partition. */
+    int maxRowParts;
+
+    /** The maximum amount of parts of the ordered column partition. */
+    int maxColumnParts;
+
+    /** The nanoseconds spent determining the sizes of the initial blocks. */
+    long sizeInitNanos;
+
+    /** The nanoseconds spent in the refinement loop. */
+    long refinementNanos;
+
+    /** The nanoseconds spent building the ordered matrix. */
+    long buildNanos;
+
+    /**
+     * Unique constructor, every counter starts at zero.
+     */
+    public OrderingMetrics() {
+	reset();
+    }
+
+    /**
+     * Sets every counter to zero.
+     */
+    public void reset() {
+	this.columnRefinements = 0;
+	this.rowRefinements = 0;
+	this.blocksCreated = 0;
+	this.splittingRowScans = 0;
+	this.cellsTouched = 0;
+	this.maxRowParts = 0;
+	this.maxColumnParts = 0;
+	this.sizeInitNanos = 0;
+	this.refinementNanos = 0;
+	this.buildNanos = 0;
+    }
+
+    /**
+     * Updates the maximum amount of parts of the ordered partitions.
+     * @param rowParts the current amount of row parts.
+     * @param columnParts the current amount of column parts.
+     */
+    void recordParts(int rowParts, int columnParts) {
+	this.maxRowParts = Math.max(this.maxRowParts, rowParts);
+	this.maxColumnParts = Math.max(this.maxColumnParts, columnParts);
+    }
+
+    /**
+     * Returns the amount of column refinements.
+     * @return the amount of column refinements.
+     */
+    public long getColumnRefinements() {
+	return this.columnRefinements;
+    }
+
+    /**
+     * Returns the amount of row refinements.
+     * @return the amount of row refinements.
+     */
+    public long getRowRefinements() {
+	return this.rowRefinements;
+    }
+
+    /**
+     * Returns the amount of blocks created, including the initial ones.
+     * @return the amount of blocks created.
+     */
+    public long getBlocksCreated() {
+	return this.blocksCreated;
+    }
+
+    /**
+     * Returns the amount of times a splitting row of a block was searched.
+     * @return the amount of searches of a splitting row.
+     */
+    public long getSplittingRowScans() {
+	return this.splittingRowScans;
+    }
+
+    /**
+     * Returns the amount of entries of the blocks whose size was determined
+     * by counting the non-zero entries of their rows.
+     * @return the amount of entries counted.
+     */
+    public long getCellsTouched() {
+	return this.cellsTouched;
+    }
+
+    /**
+     * Returns the maximum amount of parts of the ordered row partition.
+     * @return the maximum amount of row parts.
+     */
+    public int getMaxRowParts() {
+	return this.maxRowParts;
+    }
+
+    /**
+     * Returns the maximum amount of parts of the ordered column partition.
+     * @return the maximum amount of column parts.
+     */
+    public int getMaxColumnParts() {
+	return this.maxColumnParts;
+    }
+
+    /**
+     * Returns the nanoseconds spent determining the sizes of the initial
+     * blocks.
+     * @return the nanoseconds spent determining the initial sizes.
+     */
+    public long getSizeInitNanos() {
+	return this.sizeInitNanos;
+    }
+
+    /**
+     * Returns the nanoseconds spent in the refinement loop.
+     * @return the nanoseconds spent in the refinement loop.
+     */
+    public long getRefinementNanos() {
+	return this.refinementNanos;
+    }
+
+    /**
+     * Returns the nanoseconds spent building the ordered matrix.
+     * @return the nanoseconds spent building the ordered matrix.
+     */
+    public long getBuildNanos() {
+	return this.buildNanos;
+    }
+
+    /**
+     * Returns the header of the comma-separated values of the metrics, the
+     * times are given in seconds.
+     * @return the header of the comma-separated values.
+     */
+    public static String csvHeader() {
+	String str;
+	str  = "ColumnRefinements,RowRefinements,BlocksCreated,";
+	str += "SplittingRowScans,CellsTouched,MaxRowParts,MaxColumnParts,";
+	str += "SizeInit,Refinement,Build";
+
+	return str;
+    }
+
+    /**
+     * Returns the metrics as comma-separated values, in the order of {@link
+     * #csvHeader()}.
+     * @return the comma-separated values of the metrics.
+     */
+    public String toCsv() {
+	return String.format(Locale.ROOT,
+			     "%d,%d,%d,%d,%d,%d,%d,%.6f,%.6f,%.6f",
+			     this.columnRefinements, this.rowRefinements,
+			     this.blocksCreated, this.splittingRowScans,
+			     this.cellsTouched, this.maxRowParts,
+			     this.maxColumnParts, this.sizeInitNanos / 1e9,
+			     this.refinementNanos / 1e9, this.buildNanos / 1e9);
+    }
+
+    /**
+     * Returns a string representation of the metrics.
+     * @return a string representation of the metrics.
+     */
+    @Override
+    public String toString() {
+	return csvHeader() + "\n" + toCsv();
+    }
+}
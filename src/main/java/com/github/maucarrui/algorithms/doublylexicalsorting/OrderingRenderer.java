@@ -0,0 +1,187 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.io.IOException;
+
+/**
+ * Class to represent a renderer of the state of a doubly lexical ordering.
+ *
+ * The renderer draws every block of the ordered row and column partitions
+ * as a box, with the entries of the block inside of it. The drawing is
+ * written to an {@link Appendable} as it is produced, traversing the
+ * partitions directly, so the time is linear in the size of the drawing and
+ * the renderer uses constant memory besides the destination. The drawing
+ * can be truncated to a window with the first row parts and the first
+ * column parts, and with the first rows and the first columns of every part,
+ * so its size is bounded even if a part is big. The omitted parts, rows and
+ * columns are marked with ellipses.
+ */
+public class OrderingRenderer {
+
+    /** The matrix whose entries are drawn. */
+    private BitMatrix matrix;
+
+    /** The ordered row partition. */
+    private Partition rows;
+
+    /** The ordered column partition. */
+    private Partition columns;
+
+    /** The maximum amount of row parts drawn. */
+    private int maxRowParts;
+
+    /** The maximum amount of column parts drawn. */
+    private int maxColumnParts;
+
+    /** The maximum amount of rows drawn of every row part. */
+    private int maxRows;
+
+    /** The maximum amount of columns drawn of every column part. */
+    private int maxColumns;
+
+    /**
+     * Unique constructor which receives the matrix and its ordered
+     * partitions, every part is drawn.
+     * @param matrix the matrix whose entries are drawn.
+     * @param rows the ordered row partition.
+     * @param columns the ordered column partition.
+     */
+    OrderingRenderer(BitMatrix matrix, Partition rows, Partition columns) {
+	this.matrix = matrix;
+	this.rows = rows;
+	this.columns = columns;
+	this.maxRowParts = Integer.MAX_VALUE;
+	this.maxColumnParts = Integer.MAX_VALUE;
+	this.maxRows = Integer.MAX_VALUE;
+	this.maxColumns = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Defines the window of the drawing, only the first row parts and the
+     * first column parts are drawn, and of every part only its first rows or
+     * its first columns are drawn.
+     * @param maxRowParts the maximum amount of row parts drawn.
+     * @param maxColumnParts the maximum amount of column parts drawn.
+     * @param maxRows the maximum amount of rows drawn of every row part.
+     * @param maxColumns the maximum amount of columns drawn of every column
+     *        part.
+     * @return the renderer.
+     */
+    public OrderingRenderer setWindow(int maxRowParts, int maxColumnParts,
+				      int maxRows, int maxColumns) {
+	this.maxRowParts = maxRowParts;
+	this.maxColumnParts = maxColumnParts;
+	this.maxRows = maxRows;
+	this.maxColumns = maxColumns;
+	return this;
+    }
+
+    /**
+     * Writes the drawing of the blocks.
+     * @param out where the drawing is written.
+     * @throws IOException if the drawing can't be written.
+     */
+    public void render(Appendable out) throws IOException {
+	int numRowParts = 0;
+	int rowPart = this.rows.first();
+
+	while (rowPart != -1 && numRowParts < this.maxRowParts) {
+	    /* Define the upper part of the blocks. */
+	    border(out, '┌', '┐');
+
+	    /* Define the contents of the blocks, the omitted rows are marked
+	     * below the drawn ones. */
+	    int start = this.rows.start(rowPart);
+	    int end = this.rows.end(rowPart);
+	    int drawn = Math.min(end - start, this.maxRows);
+	    for (int k = start; k < start + drawn; k++) {
+		entries(out, this.rows.element(k));
+	    }
+	    if (drawn < end - start) {
+		entries(out, -1);
+	    }
+
+	    /* Define the bottom part of the blocks. */
+	    border(out, '└', '┘');
+
+	    rowPart = this.rows.next(rowPart);
+	    numRowParts++;
+	}
+
+	if (rowPart != -1) {
+	    out.append("⋮\n");
+	}
+    }
+
+    /**
+     * Writes the upper or bottom border of a row of blocks.
+     * @param out where the border is written.
+     * @param left the left corner of the boxes.
+     * @param right the right corner of the boxes.
+     * @throws IOException if the border can't be written.
+     */
+    private void border(Appendable out, char left, char right)
+	throws IOException {
+	int numColumnParts = 0;
+	int colPart = this.columns.first();
+
+	while (colPart != -1 && numColumnParts < this.maxColumnParts) {
+	    out.append(left);
+	    for (int k = slots(colPart); k > 0; k--) {
+		out.append("───");
+	    }
+	    out.append(right);
+
+	    colPart = this.columns.next(colPart);
+	    numColumnParts++;
+	}
+
+	out.append((colPart != -1) ? " ⋯\n" : "\n");
+    }
+
+    /**
+     * Returns the amount of entries drawn in a row of a column part, its
+     * drawn columns followed by the mark of the omitted columns, if any.
+     * @param colPart the column part.
+     * @return the amount of entries drawn.
+     */
+    private int slots(int colPart) {
+	int size = this.columns.size(colPart);
+	return (size > this.maxColumns) ? this.maxColumns + 1 : size;
+    }
+
+    /**
+     * Writes the entries of a row, divided by the column parts, or the marks
+     * of the omitted rows of a row part.
+     * @param out where the entries are written.
+     * @param r the row, -1 to write the marks of the omitted rows.
+     * @throws IOException if the entries can't be written.
+     */
+    private void entries(Appendable out, int r) throws IOException {
+	int numColumnParts = 0;
+	int colPart = this.columns.first();
+
+	while (colPart != -1 && numColumnParts < this.maxColumnParts) {
+	    out.append('│');
+	    int start = this.columns.start(colPart);
+	    int drawn = Math.min(this.columns.size(colPart), this.maxColumns);
+	    for (int k = start; k < start + drawn; k++) {
+		if (r == -1) {
+		    out.append(" ⋮ ");
+		} else {
+		    int c = this.columns.element(k);
+		    char entry = (char) ('0' + this.matrix.get(r, c));
+		    out.append(' ').append(entry).append(' ');
+		}
+	    }
+	    if (drawn < this.columns.size(colPart)) {
+		out.append((r == -1) ? " ⋱ " : " ⋯ ");
+	    }
+	    out.append('│');
+
+	    colPart = this.columns.next(colPart);
+	    numColumnParts++;
+	}
+
+	out.append((colPart != -1) ? " ⋯\n" : "\n");
+    }
+}
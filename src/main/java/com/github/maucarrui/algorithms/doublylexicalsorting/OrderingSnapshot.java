@@ -0,0 +1,226 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Package-private class to represent a snapshot of the refinement of a
+ * {@link DoublyLexicalOrderer}.
+ *
+ * The blocks that may still be refined form a staircase: the blocks of the
+ * current column part from the current row part to the last one, followed by
+ * the blocks of every later column part from its first row part to the last
+ * one. So the refinement is described by the ordered partitions, the current
+ * block and the first row part of every later column part. The blocks of the
+ * current column part are stored with the amount of non-zero entries of their
+ * rows and their candidates to splitting rows, and the blocks of the later
+ * column parts are determined from the matrix when the refinement reaches
+ * them. Every row is in at most one block, so the size of a snapshot is
+ * linear in the amount of rows and columns. The parts are identified by their
+ * positions in the ordered partitions.
+ */
+class OrderingSnapshot {
+
+    /** The magic number of a snapshot file, "DLOS" in ASCII. */
+    static final int MAGIC = 0x444c4f53;
+
+    /** The version of the format of the file. */
+    static final int VERSION = 2;
+
+    /** The rows in the order of the ordered row partition. */
+    int[] rows;
+
+    /** The positions where the row parts start, followed by the amount of
+     * rows. */
+    int[] rowStarts;
+
+    /** The columns in the order of the ordered column partition. */
+    int[] columns;
+
+    /** The positions where the column parts start, followed by the amount of
+     * columns. */
+    int[] columnStarts;
+
+    /** The row part of the current block. */
+    int rowPart;
+
+    /** The column part of the current block. */
+    int columnPart;
+
+    /** The first row part of the blocks of the current column part and every
+     * later column part. */
+    int[] tops;
+
+    /** The amount of non-zero entries in the current column part of every
+     * row, from the first row of the current block to the last row, in the
+     * order of the ordered row partition. */
+    int[] sizes;
+
+    /** The blocks of the current column part from the current block, each
+     * one given by its row part, the amount of candidates to splitting rows,
+     * -1 if they are not defined yet, and the candidates. */
+    int[] blocks;
+
+    /**
+     * Unique constructor which receives the state of the refinement.
+     * @param rows the rows in order.
+     * @param rowStarts the positions where the row parts start, followed by
+     *        the amount of rows.
+     * @param columns the columns in order.
+     * @param columnStarts the positions where the column parts start,
+     *        followed by the amount of columns.
+     * @param rowPart the row part of the current block.
+     * @param columnPart the column part of the current block.
+     * @param tops the first row part of the blocks of the current column part
+     *        and every later column part.
+     * @param sizes the amount of non-zero entries in the current column part
+     *        of the rows from the first row of the current block.
+     * @param blocks the blocks of the current column part from the current
+     *        block.
+     */
+    OrderingSnapshot(int[] rows, int[] rowStarts, int[] columns,
+		     int[] columnStarts, int rowPart, int columnPart,
+		     int[] tops, int[] sizes, int[] blocks) {
+	this.rows = rows;
+	this.rowStarts = rowStarts;
+	this.columns = columns;
+	this.columnStarts = columnStarts;
+	this.rowPart = rowPart;
+	this.columnPart = columnPart;
+	this.tops = tops;
+	this.sizes = sizes;
+	this.blocks = blocks;
+    }
+
+    /**
+     * Returns the amount of row parts.
+     * @return the amount of row parts.
+     */
+    int numRowParts() {
+	return this.rowStarts.length - 1;
+    }
+
+    /**
+     * Returns the amount of column parts.
+     * @return the amount of column parts.
+     */
+    int numColumnParts() {
+	return this.columnStarts.length - 1;
+    }
+
+    /**
+     * Writes the snapshot into a file. The file starts with a header of six
+     * integers: a magic number, the version of the format, the amount of rows,
+     * the amount of columns, the amount of row parts and the amount of
+     * column parts. The header is followed by the ordered rows, the starts of
+     * the row parts, the ordered columns, the starts of the column parts, the
+     * current block, the first row parts of the staircase, the amounts of
+     * non-zero entries of the rows, and the length of the blocks followed by
+     * the blocks, in big-endian order. The snapshot is written into a temporary file first, which then
+     * replaces the file, so an interrupted write keeps the previous snapshot.
+     * @param path the path of the file.
+     * @throws IOException if the file can't be written.
+     */
+    void write(Path path) throws IOException {
+	Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+	try (DataOutputStream out = new DataOutputStream(
+		 new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+	    out.writeInt(MAGIC);
+	    out.writeInt(VERSION);
+	    out.writeInt(this.rows.length);
+	    out.writeInt(this.columns.length);
+	    out.writeInt(numRowParts());
+	    out.writeInt(numColumnParts());
+
+	    writeInts(out, this.rows);
+	    writeInts(out, this.rowStarts);
+	    writeInts(out, this.columns);
+	    writeInts(out, this.columnStarts);
+	    out.writeInt(this.rowPart);
+	    out.writeInt(this.columnPart);
+	    writeInts(out, this.tops);
+	    writeInts(out, this.sizes);
+	    out.writeInt(this.blocks.length);
+	    writeInts(out, this.blocks);
+	}
+
+	Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+		   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Auxiliary method to write an array of integers.
+     * @param out where the integers are written.
+     * @param ints the integers.
+     * @throws IOException if the integers can't be written.
+     */
+    private static void writeInts(DataOutputStream out, int[] ints)
+	throws IOException {
+	for (int x : ints) {
+	    out.writeInt(x);
+	}
+    }
+
+    /**
+     * Auxiliary method to read an array of integers.
+     * @param in where the integers are read from.
+     * @param length the amount of integers.
+     * @return the integers.
+     * @throws IOException if the integers can't be read.
+     */
+    private static int[] readInts(DataInputStream in, int length)
+	throws IOException {
+	int[] ints = new int[length];
+	for (int k = 0; k < length; k++) {
+	    ints[k] = in.readInt();
+	}
+
+	return ints;
+    }
+
+    /**
+     * Reads a snapshot from a file written by {@link #write(Path)}.
+     * @param path the path of the file.
+     * @return the snapshot.
+     * @throws IOException if the file can't be read or is not a snapshot
+     *         file.
+     */
+    static OrderingSnapshot read(Path path) throws IOException {
+	try (DataInputStream in = new DataInputStream(
+		 new BufferedInputStream(Files.newInputStream(path)))) {
+	    if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+		throw new IOException("Not an ordering snapshot file.");
+	    }
+
+	    int numRows = in.readInt();
+	    int numColumns = in.readInt();
+	    int numRowParts = in.readInt();
+	    int numColumnParts = in.readInt();
+
+	    int[] rows = readInts(in, numRows);
+	    int[] rowStarts = readInts(in, numRowParts + 1);
+	    int[] columns = readInts(in, numColumns);
+	    int[] columnStarts = readInts(in, numColumnParts + 1);
+	    int rowPart = in.readInt();
+	    int columnPart = in.readInt();
+	    int[] tops = readInts(in, numColumnParts - columnPart);
+	    int[] sizes = readInts(in, numRows - rowStarts[rowPart]);
+	    int[] blocks = readInts(in, in.readInt());
+
+	    return new OrderingSnapshot(rows, rowStarts, columns, columnStarts,
+					rowPart, columnPart, tops, sizes,
+					blocks);
+	} catch (EOFException e) {
+	    throw new IOException("Truncated ordering snapshot file.");
+	}
+    }
+}
@@ -0,0 +1,303 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.util.Arrays;
+
+/**
+ * Package-private class to represent an ordered partition of the set
+ * {0, 1, ..., n-1}.
+ *
+ * The elements are stored in a single array, where every part occupies a
+ * contiguous range [start, end) of the array, and the parts appear in the
+ * array in the same order as in the ordered partition. Every part has an
+ * integer identifier, so the position of a part is known in constant time.
+ *
+ * To split a part, the elements of one of the sides are marked: every marked
+ * element is swapped to the front (or back) of its part, and then the marked
+ * elements are separated into a new part. Thus, a split takes time
+ * proportional to the amount of marked elements, and allocates no memory.
+ */
+class Partition {
+
+    /** The elements of the set, ordered as in the ordered partition. */
+    private int[] elements;
+
+    /** The position of each element in the array of elements. */
+    private int[] positions;
+
+    /** The part that contains each element. */
+    private int[] partOf;
+
+    /** The position where each part starts. */
+    private int[] starts;
+
+    /** The position after the last element of each part. */
+    private int[] ends;
+
+    /** The amount of elements marked at the front of each part. */
+    private int[] markedFront;
+
+    /** The amount of elements marked at the back of each part. */
+    private int[] markedBack;
+
+    /** The amount of parts in the partition. */
+    private int numParts;
+
+    /** The size of the set. */
+    private int size;
+
+    /**
+     * Unique constructor which receives the size of the set, the partition
+     * initially has a single part, whose identifier is 0, containing every
+     * element of the set in increasing order.
+     * @param size the size of the set.
+     */
+    Partition(int size) {
+	this.elements = new int[0];
+	reset(size);
+    }
+
+    /**
+     * Returns the partition to a single part, whose identifier is 0,
+     * containing every element of a set of the given size in increasing
+     * order. The arrays of the partition are reused if they are big enough.
+     * @param size the size of the set.
+     */
+    void reset(int size) {
+	int capacity = Math.max(size, 1);
+
+	if (this.elements.length < size || this.starts == null) {
+	    this.elements    = new int[size];
+	    this.positions   = new int[size];
+	    this.partOf      = new int[size];
+	    this.starts      = new int[capacity];
+	    this.ends        = new int[capacity];
+	    this.markedFront = new int[capacity];
+	    this.markedBack  = new int[capacity];
+	}
+
+	for (int e = 0; e < size; e++) {
+	    this.elements[e] = e;
+	    this.positions[e] = e;
+	    this.partOf[e] = 0;
+	}
+
+	this.starts[0] = 0;
+	this.ends[0] = size;
+	this.markedFront[0] = 0;
+	this.markedBack[0] = 0;
+	this.numParts = (size > 0) ? 1 : 0;
+	this.size = size;
+    }
+
+    /**
+     * Replaces the partition by the given ordered partition. The parts are
+     * numbered in order, the k-th part contains the elements in the
+     * positions [boundaries[k], boundaries[k+1]) of the given order.
+     * @param order the elements of the set in order, of the same size as the
+     *        set of the partition.
+     * @param boundaries the positions where the parts start, followed by the
+     *        size of the set.
+     * @param numParts the amount of parts.
+     */
+    void reset(int[] order, int[] boundaries, int numParts) {
+	for (int k = 0; k < numParts; k++) {
+	    this.starts[k] = boundaries[k];
+	    this.ends[k] = boundaries[k + 1];
+	    this.markedFront[k] = 0;
+	    this.markedBack[k] = 0;
+
+	    for (int i = boundaries[k]; i < boundaries[k + 1]; i++) {
+		int e = order[i];
+		this.elements[i] = e;
+		this.positions[e] = i;
+		this.partOf[e] = k;
+	    }
+	}
+
+	this.numParts = numParts;
+    }
+
+    /**
+     * Returns the size of the set.
+     * @return the size of the set.
+     */
+    int size() {
+	return this.size;
+    }
+
+    /**
+     * Returns the amount of parts in the partition.
+     * @return the amount of parts in the partition.
+     */
+    int numParts() {
+	return this.numParts;
+    }
+
+    /**
+     * Returns the element in the given position.
+     * @param position the position of the element.
+     * @return the element in the given position.
+     */
+    int element(int position) {
+	return this.elements[position];
+    }
+
+    /**
+     * Returns the position of the given element.
+     * @param e the element.
+     * @return the position of the element.
+     */
+    int position(int e) {
+	return this.positions[e];
+    }
+
+    /**
+     * Returns the part that contains the given element.
+     * @param e the element.
+     * @return the identifier of the part that contains the element.
+     */
+    int partOf(int e) {
+	return this.partOf[e];
+    }
+
+    /**
+     * Returns the position where the part starts.
+     * @param part the identifier of the part.
+     * @return the position of the first element of the part.
+     */
+    int start(int part) {
+	return this.starts[part];
+    }
+
+    /**
+     * Returns the position after the last element of the part.
+     * @param part the identifier of the part.
+     * @return the position after the last element of the part.
+     */
+    int end(int part) {
+	return this.ends[part];
+    }
+
+    /**
+     * Returns the amount of elements in the part.
+     * @param part the identifier of the part.
+     * @return the amount of elements in the part.
+     */
+    int size(int part) {
+	return this.ends[part] - this.starts[part];
+    }
+
+    /**
+     * Returns the first part of the ordered partition.
+     * @return the identifier of the first part, -1 if the set is empty.
+     */
+    int first() {
+	return (this.numParts == 0) ? -1 : this.partOf[this.elements[0]];
+    }
+
+    /**
+     * Returns the part that follows the given part in the ordered partition.
+     * @param part the identifier of the part.
+     * @return the identifier of the next part, -1 if it is the last part.
+     */
+    int next(int part) {
+	int end = this.ends[part];
+
+	if (end == this.size) {
+	    return -1;
+	}
+
+	return this.partOf[this.elements[end]];
+    }
+
+    /**
+     * Swaps the elements in the given positions.
+     * @param i the position of one element.
+     * @param j the position of the other element.
+     */
+    private void swap(int i, int j) {
+	int a = this.elements[i];
+	int b = this.elements[j];
+
+	this.elements[i] = b;
+	this.elements[j] = a;
+	this.positions[a] = j;
+	this.positions[b] = i;
+    }
+
+    /**
+     * Marks an element, moving it to the front of its part. The element must
+     * not have been marked before.
+     * @param e the element to mark.
+     */
+    void mark(int e) {
+	int part = this.partOf[e];
+	int target = this.starts[part] + this.markedFront[part];
+
+	swap(this.positions[e], target);
+	this.markedFront[part]++;
+    }
+
+    /**
+     * Marks an element, moving it to the back of its part. The element must
+     * not have been marked before.
+     * @param e the element to mark.
+     */
+    void markBack(int e) {
+	int part = this.partOf[e];
+	int target = this.ends[part] - 1 - this.markedBack[part];
+
+	swap(this.positions[e], target);
+	this.markedBack[part]++;
+    }
+
+    /**
+     * Separates the marked elements of a part into a new part. If the elements
+     * were marked at the front, the new part goes before the old part in the
+     * ordered partition, otherwise it goes after it. If none or all of the
+     * elements of the part were marked, the part is not split.
+     * @param part the identifier of the part to split.
+     * @return the identifier of the new part, -1 if the part was not split.
+     */
+    int split(int part) {
+	int front = this.markedFront[part];
+	int back = this.markedBack[part];
+	int size = this.size(part);
+
+	this.markedFront[part] = 0;
+	this.markedBack[part] = 0;
+
+	int marked = (front > 0) ? front : back;
+	if (marked == 0 || marked == size) {
+	    return -1;
+	}
+
+	int newPart = this.numParts++;
+	this.markedFront[newPart] = 0;
+	this.markedBack[newPart] = 0;
+
+	if (front > 0) {
+	    this.starts[newPart] = this.starts[part];
+	    this.ends[newPart] = this.starts[part] + marked;
+	    this.starts[part] = this.ends[newPart];
+	} else {
+	    this.starts[newPart] = this.ends[part] - marked;
+	    this.ends[newPart] = this.ends[part];
+	    this.ends[part] = this.starts[newPart];
+	}
+
+	for (int i = this.starts[newPart]; i < this.ends[newPart]; i++) {
+	    this.partOf[this.elements[i]] = newPart;
+	}
+
+	return newPart;
+    }
+
+    /**
+     * Returns the elements of the set, ordered as in the ordered partition.
+     * @return an array with the elements in order.
+     */
+    int[] toArray() {
+	return Arrays.copyOf(this.elements, this.size);
+    }
+}
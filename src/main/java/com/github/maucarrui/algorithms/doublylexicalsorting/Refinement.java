@@ -1,26 +1,27 @@
 package com.github.maucarrui.algorithms.doublylexicalordering;
 
-import java.util.HashSet;
-
 /**
  * Package-private class to represent a refinement of a set.
  *
  * A refinement of a set is an ordered bipartition of a given set. The first set
  * is called the left refinement and the second is called the right refinement.
+ * Both refinements are parts of an ordered partition, represented by their
+ * identifiers.
  */
 class Refinement {
     /** The left refinement. */
-    private HashSet<Integer> left;
+    private int left;
     
     /** The right refinement. */
-    private HashSet<Integer> right;
+    private int right;
     
     /**
-     * Unique constructor which receives the left and right refinement.
-     * @param left the left refinement.
-     * @param right the right refinement.
+     * Unique constructor which receives the identifiers of the left and right
+     * refinement.
+     * @param left the identifier of the left refinement.
+     * @param right the identifier of the right refinement.
      */
-    Refinement(HashSet<Integer> left, HashSet<Integer> right) {
+    Refinement(int left, int right) {
 	this.left = left;
 	this.right = right;
     }
@@ -29,7 +30,7 @@ class Refinement {
      * Returns the left refinement.
      * @return the left refinement.
      */
-    HashSet<Integer> getLeft(){
+    int getLeft(){
 	return this.left;
     }
 
@@ -37,7 +38,7 @@ class Refinement {
      * Returns the right refinement.
      * @return the right refinement.
      */    
-    HashSet<Integer> getRight(){
+    int getRight(){
 	return this.right;
     }
 }
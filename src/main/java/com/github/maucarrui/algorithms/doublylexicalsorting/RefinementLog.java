@@ -0,0 +1,157 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+/**
+ * Package-private class to represent the log of the refinements performed by
+ * a doubly lexical orderer.
+ *
+ * For every refinement, the log keeps the positions where the row part and
+ * the column part of the refined block started, the row or column that
+ * defined the refinement, and the amount of non-zero entries of that row or
+ * column in the block. The parts only subdivide and their elements only move
+ * inside them, so the parts of every refinement are ranges of positions of
+ * the final ordering, and replaying the log on the final ordering reproduces
+ * the ordered partitions without reading the matrix. Every refinement adds a
+ * part to one of the partitions, so an ordering of an m x n matrix has less
+ * than m + n refinements.
+ */
+class RefinementLog {
+
+    /** The amount of integers used by every refinement. */
+    private static final int ENTRY = 4;
+
+    /** The refinements, four integers each. */
+    private int[] entries;
+
+    /** The amount of refinements in the log. */
+    private int size;
+
+    /**
+     * Unique constructor which receives the maximum amount of refinements of
+     * the log.
+     * @param capacity the maximum amount of refinements of the log.
+     */
+    RefinementLog(int capacity) {
+	this.entries = new int[ENTRY * Math.max(capacity, 1)];
+	this.size = 0;
+    }
+
+    /**
+     * Removes every refinement of the log, keeping its storage.
+     */
+    void clear() {
+	this.size = 0;
+    }
+
+    /**
+     * Records a column refinement.
+     * @param rowStart the position where the row part of the block starts.
+     * @param columnStart the position where the column part of the block
+     *        starts.
+     * @param row the splitting row that defined the refinement.
+     * @param numOnes the amount of non-zero entries of the row in the block.
+     */
+    void recordColumnRefinement(int rowStart, int columnStart,
+				int row, int numOnes) {
+	append(rowStart, columnStart, row, numOnes);
+    }
+
+    /**
+     * Records a row refinement.
+     * @param rowStart the position where the row part of the block starts.
+     * @param columnStart the position where the column part of the block
+     *        starts.
+     * @param col the column that defined the refinement.
+     * @param numOnes the amount of non-zero entries of the column in the
+     *        block.
+     */
+    void recordRowRefinement(int rowStart, int columnStart,
+			     int col, int numOnes) {
+	append(rowStart, columnStart, -col - 1, numOnes);
+    }
+
+    /**
+     * Appends a refinement to the log.
+     * @param rowStart the position where the row part of the block starts.
+     * @param columnStart the position where the column part of the block
+     *        starts.
+     * @param index the row, or the encoded column, of the refinement.
+     * @param numOnes the amount of non-zero entries of the row or column.
+     */
+    private void append(int rowStart, int columnStart, int index,
+			int numOnes) {
+	int k = ENTRY * this.size++;
+	this.entries[k] = rowStart;
+	this.entries[k + 1] = columnStart;
+	this.entries[k + 2] = index;
+	this.entries[k + 3] = numOnes;
+    }
+
+    /**
+     * Returns the amount of refinements in the log.
+     * @return the amount of refinements in the log.
+     */
+    int size() {
+	return this.size;
+    }
+
+    /**
+     * Returns the position where the row part of the block of a refinement
+     * started.
+     * @param k the position of the refinement.
+     * @return the position where the row part started.
+     */
+    int rowStart(int k) {
+	return this.entries[ENTRY * k];
+    }
+
+    /**
+     * Returns the position where the column part of the block of a
+     * refinement started.
+     * @param k the position of the refinement.
+     * @return the position where the column part started.
+     */
+    int columnStart(int k) {
+	return this.entries[ENTRY * k + 1];
+    }
+
+    /**
+     * Returns whether a refinement is a column refinement.
+     * @param k the position of the refinement.
+     * @return true if it is a column refinement, false if it is a row
+     *         refinement.
+     */
+    boolean isColumnRefinement(int k) {
+	return this.entries[ENTRY * k + 2] >= 0;
+    }
+
+    /**
+     * Returns the row of a column refinement, or the column of a row
+     * refinement.
+     * @param k the position of the refinement.
+     * @return the row or the column that defined the refinement.
+     */
+    int index(int k) {
+	int index = this.entries[ENTRY * k + 2];
+	return (index >= 0) ? index : -index - 1;
+    }
+
+    /**
+     * Returns the amount of non-zero entries of the row or the column that
+     * defined a refinement, in the block that was refined. The left part of
+     * the refinement has that amount of elements.
+     * @param k the position of the refinement.
+     * @return the amount of non-zero entries.
+     */
+    int numOnes(int k) {
+	return this.entries[ENTRY * k + 3];
+    }
+
+    /**
+     * Keeps the first refinements of the log, so the log can be continued
+     * from there.
+     * @param k the amount of refinements kept.
+     */
+    void truncate(int k) {
+	this.size = k;
+    }
+}
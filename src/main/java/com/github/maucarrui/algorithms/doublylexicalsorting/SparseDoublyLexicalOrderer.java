@@ -0,0 +1,611 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.util.Arrays;
+
+/**
+ * Class to represent a Doubly Lexical Orderer for sparse matrices.
+ *
+ * Given a sparse (0,1)-matrix M, it returns a doubly lexical ordering of the
+ * rows and columns of M without building a dense representation of M, which
+ * may differ from the one returned by {@link DoublyLexicalOrderer} on the same
+ * matrix. It processes the column parts in the same way, but the blocks are
+ * never stored: for the column part Cj being processed it keeps,
+ * for every row with non-zero entries in Cj, the amount of non-zero entries
+ * of the row block (r, Cj). Blocks without non-zero entries are constant, so
+ * they are skipped without being visited.
+ *
+ * When a column part is split, only the non-zero entries of the smaller half
+ * (in the spirit of Paige and Tarjan) are traversed: the counts of the bigger
+ * half are obtained by subtracting the counts of the smaller half. Every
+ * non-zero entry is traversed O(log n) times by the splits, and the time of
+ * the algorithm depends on the amount of non-zero entries instead of the
+ * amount of entries of the matrix.
+ *
+ * The entries of every row are kept grouped by column part, in the order of
+ * the column parts, so the entries of a splitting row in the column part
+ * being split are found without traversing the rest of the row. A split
+ * regroups the entries of the smaller half while counting them.
+ */
+public class SparseDoublyLexicalOrderer {
+
+    /**
+     * Private internal class to represent the rows with non-zero entries in
+     * a column part, with the amount of non-zero entries of each row block.
+     * The rows are sorted by the position of their row part.
+     */
+    private static class RowCounts {
+	/** The rows with non-zero entries in the column part. */
+	private int[] rows;
+
+	/** The amount of non-zero entries of each row in the column part. */
+	private int[] counts;
+
+	/** The position of the row part of each row when it was sorted. */
+	private int[] keys;
+
+	/** The amount of rows in the list. */
+	private int size;
+
+	/** Where the processing of the column part resumes. */
+	private int cursor;
+
+	/** Whether the rows have been sorted. */
+	private boolean sorted;
+
+	/** The rows whose slot was overwritten while the list was pending. */
+	private int[] savedRows;
+
+	/** The slots of the overwritten rows. */
+	private int[] savedSlots;
+
+	/**
+	 * Unique constructor which receives the capacity of the list.
+	 * @param capacity the maximum amount of rows in the list.
+	 */
+	RowCounts(int capacity) {
+	    this.rows = new int[capacity];
+	    this.counts = new int[capacity];
+	    this.keys = null;
+	    this.size = 0;
+	    this.cursor = 0;
+	    this.sorted = false;
+	    this.savedRows = null;
+	    this.savedSlots = null;
+	}
+    }
+
+    /** The matrix to be ordered. */
+    private SparseMatrix matrix;
+
+    /** The ordered row partition. */
+    private Partition rowPartition;
+
+    /** The ordered column partition. */
+    private Partition columnPartition;
+
+    /** The row counts of each column part that hasn't been processed. */
+    private RowCounts[] counts;
+
+    /** The amount of non-zero entries of each column part. */
+    private int[] partNnz;
+
+    /** The position of the row part where the processing of each column part
+     * starts, the blocks above it are known to be constant. */
+    private int[] startRow;
+
+    /** The position of each row in the row counts of the current part. */
+    private int[] slot;
+
+    /** Auxiliary array to accumulate the counts of the smaller half. */
+    private int[] scratch;
+
+    /** The rows with a non-zero value in the auxiliary array. */
+    private int[] touched;
+
+    /** The columns of the non-zero entries of every row, in the positions of
+     * the compressed sparse rows, grouped by column part. */
+    private int[] rowColumns;
+
+    /** The position in the row columns of every non-zero entry, indexed by
+     * its position in the compressed sparse columns. */
+    private int[] entrySlot;
+
+    /** The position in the compressed sparse columns of the non-zero entry
+     * in every position of the row columns. */
+    private int[] slotEntry;
+
+    /** The position in the row columns where the entries of the smaller half
+     * of a split are moved, for every row with a non-zero value in the
+     * auxiliary array. */
+    private int[] boundary;
+
+    /** Whether the ordering has already been computed. */
+    private boolean ordered;
+
+    /**
+     * Unique constructor for a Sparse Doubly Lexical Orderer that receives the
+     * matrix to be ordered.
+     * @param matrix the matrix to be ordered.
+     */
+    public SparseDoublyLexicalOrderer(SparseMatrix matrix) {
+	this.matrix = matrix;
+	this.rowPartition = new Partition(matrix.numRows());
+	this.columnPartition = new Partition(matrix.numColumns());
+	this.ordered = false;
+    }
+
+    /**
+     * Computes a doubly lexical ordering of the matrix, the ordering can then
+     * be obtained with {@link #getOrderedRows()} and {@link
+     * #getOrderedColumns()}.
+     */
+    public void order() {
+	if (this.ordered) {
+	    return;
+	}
+	this.ordered = true;
+
+	int numRows = this.matrix.numRows();
+	int numCols = this.matrix.numColumns();
+
+	if (numRows == 0 || numCols == 0) {
+	    return;
+	}
+
+	this.counts = new RowCounts[numCols];
+	this.partNnz = new int[numCols];
+	this.startRow = new int[numCols];
+	this.slot = new int[numRows];
+	this.scratch = new int[numRows];
+	this.touched = new int[numRows];
+	groupEntries();
+
+	/* The counts of the initial column part C are the rows' degrees. */
+	RowCounts initial = new RowCounts(numRows);
+	for (int r = 0; r < numRows; r++) {
+	    int degree = this.matrix.rowEnd(r) - this.matrix.rowStart(r);
+	    if (degree > 0) {
+		initial.rows[initial.size] = r;
+		initial.counts[initial.size] = degree;
+		initial.size++;
+	    }
+	}
+
+	int C = this.columnPartition.first();
+	this.counts[C] = initial;
+	this.partNnz[C] = this.matrix.nnz();
+	this.startRow[C] = 0;
+
+	/* Process the column parts from left to right, the column parts
+	 * created by a split are processed before the following ones. */
+	while (C != -1) {
+	    C = processColumnPart(C);
+	    this.counts[C] = null;
+	    C = this.columnPartition.next(C);
+	}
+    }
+
+    /**
+     * Defines the row columns from the compressed sparse columns, with a
+     * single column part every row is trivially grouped.
+     */
+    private void groupEntries() {
+	int nnz = this.matrix.nnz();
+	this.rowColumns = new int[nnz];
+	this.entrySlot = new int[nnz];
+	this.slotEntry = new int[nnz];
+	this.boundary = new int[this.matrix.numRows()];
+
+	int[] filled = this.boundary;
+	for (int c = 0; c < this.matrix.numColumns(); c++) {
+	    int colEnd = this.matrix.columnEnd(c);
+	    for (int k = this.matrix.columnStart(c); k < colEnd; k++) {
+		int r = this.matrix.rowIndex(k);
+		int slot = this.matrix.rowStart(r) + filled[r]++;
+		this.rowColumns[slot] = c;
+		this.entrySlot[k] = slot;
+		this.slotEntry[slot] = k;
+	    }
+	}
+    }
+
+    /**
+     * Returns the first position of the row columns of a row whose column is
+     * at or after the given position of the ordered column partition. The
+     * entries of the row are grouped in the order of the column parts, so
+     * the position is found by a galloping search from a position of the
+     * row columns, in time logarithmic in the distance between them.
+     * @param row the row.
+     * @param position the start or the end of a column part.
+     * @param slot a position of the row columns with an entry of the row,
+     *        where the search starts.
+     * @return the first position of the row columns after the entries whose
+     *         column is before the given position.
+     */
+    private int findEntries(int row, int position, int slot) {
+	int low = this.matrix.rowStart(row);
+	int high = this.matrix.rowEnd(row);
+	int step = 1;
+
+	/* Narrow [low, high) around the slot, doubling the step. */
+	if (isAtOrAfter(slot, position)) {
+	    high = slot;
+	    while (high - step >= low && isAtOrAfter(high - step, position)) {
+		high -= step;
+		step <<= 1;
+	    }
+	    low = Math.max(low, high - step + 1);
+	} else {
+	    low = slot + 1;
+	    while (low + step <= high
+		   && !isAtOrAfter(low + step - 1, position)) {
+		low += step;
+		step <<= 1;
+	    }
+	    high = Math.min(high, low + step - 1);
+	}
+
+	while (low < high) {
+	    int middle = (low + high) >>> 1;
+	    if (isAtOrAfter(middle, position)) {
+		high = middle;
+	    } else {
+		low = middle + 1;
+	    }
+	}
+
+	return low;
+    }
+
+    /**
+     * Returns whether the column in a position of the row columns is at or
+     * after the given position of the ordered column partition.
+     * @param slot the position of the row columns.
+     * @param position the position of the ordered column partition.
+     * @return true if the column is at or after the position, false
+     *         otherwise.
+     */
+    private boolean isAtOrAfter(int slot, int position) {
+	return this.columnPartition.position(this.rowColumns[slot]) >= position;
+    }
+
+    /**
+     * Swaps two positions of the row columns, updating the position of their
+     * entries.
+     * @param i one position of the row columns.
+     * @param j the other position of the row columns.
+     */
+    private void swapEntries(int i, int j) {
+	int col = this.rowColumns[i];
+	int entry = this.slotEntry[i];
+
+	this.rowColumns[i] = this.rowColumns[j];
+	this.slotEntry[i] = this.slotEntry[j];
+	this.entrySlot[this.slotEntry[i]] = i;
+
+	this.rowColumns[j] = col;
+	this.slotEntry[j] = entry;
+	this.entrySlot[entry] = j;
+    }
+
+    /**
+     * Sorts the row counts of a column part by the position of the row parts,
+     * discarding the rows above the start of the column part and the rows
+     * without non-zero entries. It also updates the slot of every row.
+     * @param list the row counts of the column part.
+     * @param start the position where the processing of the part starts.
+     */
+    private void prepare(RowCounts list, int start) {
+	long[] keys = new long[list.size];
+	int numKeys = 0;
+
+	for (int k = 0; k < list.size; k++) {
+	    int r = list.rows[k];
+	    if (list.counts[k] > 0 && this.rowPartition.position(r) >= start) {
+		int part = this.rowPartition.partOf(r);
+		long partStart = this.rowPartition.start(part);
+		keys[numKeys++] = (partStart << 32) | k;
+	    }
+	}
+
+	Arrays.sort(keys, 0, numKeys);
+
+	int[] rows = new int[numKeys];
+	int[] values = new int[numKeys];
+	int[] starts = new int[numKeys];
+	for (int k = 0; k < numKeys; k++) {
+	    int index = (int) keys[k];
+	    rows[k] = list.rows[index];
+	    values[k] = list.counts[index];
+	    starts[k] = (int) (keys[k] >>> 32);
+	    this.slot[rows[k]] = k;
+	}
+
+	list.rows = rows;
+	list.counts = values;
+	list.keys = starts;
+	list.size = numKeys;
+	list.cursor = 0;
+	list.sorted = true;
+    }
+
+    /**
+     * Makes the row counts of a pending column part the current ones. If the
+     * rows haven't been sorted they're sorted, otherwise the slots that were
+     * overwritten while the column part was pending are restored.
+     * @param list the row counts of the column part.
+     * @param start the position where the processing of the part starts.
+     */
+    private void resume(RowCounts list, int start) {
+	if (!list.sorted) {
+	    prepare(list, start);
+	    return;
+	}
+
+	if (list.savedRows != null) {
+	    for (int k = 0; k < list.savedRows.length; k++) {
+		this.slot[list.savedRows[k]] = list.savedSlots[k];
+	    }
+	    list.savedRows = null;
+	    list.savedSlots = null;
+	}
+    }
+
+    /**
+     * Returns the end of the group of rows of the same row part that starts
+     * in the given position. If the row part where the rows were sorted has
+     * been split since then, its rows are sorted again.
+     * @param list the row counts of the column part.
+     * @param g the start of the group.
+     * @return the position after the last row of the group.
+     */
+    private int groupEnd(RowCounts list, int g) {
+	int P = this.rowPartition.partOf(list.rows[g]);
+	int key = list.keys[g];
+	boolean split = false;
+
+	/* The run [g, e) contains the rows that were sorted in one part. */
+	int e = g;
+	while (e < list.size && list.keys[e] == key) {
+	    if (this.rowPartition.partOf(list.rows[e]) != P) {
+		split = true;
+	    }
+	    e++;
+	}
+
+	if (split) {
+	    sortRun(list, g, e);
+	    P = this.rowPartition.partOf(list.rows[g]);
+	}
+
+	int h = g;
+	while (h < e && this.rowPartition.partOf(list.rows[h]) == P) {
+	    h++;
+	}
+
+	return h;
+    }
+
+    /**
+     * Sorts a run of the row counts by the current position of the row parts.
+     * @param list the row counts of the column part.
+     * @param from the start of the run.
+     * @param to the end of the run.
+     */
+    private void sortRun(RowCounts list, int from, int to) {
+	int length = to - from;
+	long[] keys = new long[length];
+
+	for (int k = 0; k < length; k++) {
+	    int part = this.rowPartition.partOf(list.rows[from + k]);
+	    long partStart = this.rowPartition.start(part);
+	    keys[k] = (partStart << 32) | k;
+	}
+
+	Arrays.sort(keys);
+
+	int[] rows = Arrays.copyOfRange(list.rows, from, to);
+	int[] values = Arrays.copyOfRange(list.counts, from, to);
+	for (int k = 0; k < length; k++) {
+	    int index = (int) keys[k];
+	    list.rows[from + k] = rows[index];
+	    list.counts[from + k] = values[index];
+	    list.keys[from + k] = (int) (keys[k] >>> 32);
+	    this.slot[rows[index]] = from + k;
+	}
+    }
+
+    /**
+     * Processes a column part, traversing its blocks from top to bottom and
+     * performing the refinements defined by its non-constant blocks. The
+     * refinements keep on the left part of every column refinement, the
+     * right parts are processed afterwards.
+     * @param C the column part to process.
+     * @return the last column part that was processed.
+     */
+    private int processColumnPart(int C) {
+	RowCounts list = this.counts[C];
+	resume(list, this.startRow[C]);
+
+	/* The group [g, h) contains the rows of the current row part, the
+	 * rows in [g, k) are known to be constant in the block. */
+	int g = list.cursor;
+	int h = (g < list.size) ? groupEnd(list, g) : g;
+	int k = g;
+	int full = 0;
+
+	while (g < list.size) {
+	    int P = this.rowPartition.partOf(list.rows[g]);
+	    int numCols = this.columnPartition.size(C);
+
+	    /* Look for a splitting row of the block (P, C). */
+	    while (k < h) {
+		int count = list.counts[k];
+		if (count == numCols) {
+		    full++;
+		} else if (count > 0) {
+		    break;
+		}
+		k++;
+	    }
+
+	    if (k < h) {
+		/* Produce a column refinement and keep on the left part. The
+		 * constant rows remain constant in the left part. */
+		C = refineColumns(C, list.rows[k], P, g);
+		if (this.counts[C] != list) {
+		    list = this.counts[C];
+		    g = list.cursor;
+		    h = groupEnd(list, g);
+		    k = g;
+		    full = 0;
+		}
+		continue;
+	    }
+
+	    /* If the block is non-constant, produce a row refinement. */
+	    if (full > 0 && full < this.rowPartition.size(P)) {
+		for (int i = g; i < h; i++) {
+		    if (list.counts[i] == numCols) {
+			this.rowPartition.mark(list.rows[i]);
+		    }
+		}
+		this.rowPartition.split(P);
+	    }
+
+	    /* Move to the next block with non-zero entries. */
+	    g = h;
+	    if (g < list.size) {
+		h = groupEnd(list, g);
+	    }
+	    k = g;
+	    full = 0;
+	}
+
+	return C;
+    }
+
+    /**
+     * Splits a column part C by a splitting row of the block (P, C), the
+     * columns where the row has non-zero entries go to the left part.
+     * @param C the column part to split.
+     * @param row the splitting row.
+     * @param P the row part of the block.
+     * @param g the position of the first row of P in the row counts of C.
+     * @return the left part of the refinement, whose counts are ready.
+     */
+    private int refineColumns(int C, int row, int P, int g) {
+	/* Move the columns where the row is non-zero to the left part, the
+	 * entries of the row in C are contiguous. */
+	int rowStart = this.matrix.rowStart(row);
+	int from = findEntries(row, this.columnPartition.start(C), rowStart);
+	int to = findEntries(row, this.columnPartition.end(C), from);
+	for (int k = from; k < to; k++) {
+	    this.columnPartition.mark(this.rowColumns[k]);
+	}
+
+	int left = this.columnPartition.split(C);
+	int right = C;
+
+	/* Determine the smaller half, by columns and non-zero entries. */
+	int nnzLeft = 0;
+	int leftEnd = this.columnPartition.end(left);
+	for (int i = this.columnPartition.start(left); i < leftEnd; i++) {
+	    int c = this.columnPartition.element(i);
+	    nnzLeft += this.matrix.columnEnd(c) - this.matrix.columnStart(c);
+	}
+	int nnzRight = this.partNnz[C] - nnzLeft;
+	this.partNnz[left] = nnzLeft;
+	this.partNnz[right] = nnzRight;
+
+	int costLeft = this.columnPartition.size(left) + nnzLeft;
+	int costRight = this.columnPartition.size(right) + nnzRight;
+	int small = (costLeft <= costRight) ? left : right;
+
+	/* Both parts start at the row part of the block. */
+	int start = this.rowPartition.start(P);
+	this.startRow[left] = start;
+	this.startRow[right] = start;
+
+	/* Count the non-zero entries of the smaller half for each row, moving
+	 * them to the side of the entries of the row in C where the smaller
+	 * half goes, so the entries stay grouped by column part. */
+	int numTouched = 0;
+	int smallEnd = this.columnPartition.end(small);
+	for (int i = this.columnPartition.start(small); i < smallEnd; i++) {
+	    int c = this.columnPartition.element(i);
+	    int colEnd = this.matrix.columnEnd(c);
+	    for (int k = this.matrix.columnStart(c); k < colEnd; k++) {
+		int r = this.matrix.rowIndex(k);
+		if (this.rowPartition.position(r) >= start) {
+		    if (this.scratch[r] == 0) {
+			this.touched[numTouched++] = r;
+			this.boundary[r] = (small == left)
+			    ? findEntries(r, this.columnPartition.start(left),
+					  this.entrySlot[k])
+			    : findEntries(r, this.columnPartition.end(right),
+					  this.entrySlot[k]);
+		    }
+		    this.scratch[r]++;
+
+		    int target = (small == left)
+			? this.boundary[r]++ : --this.boundary[r];
+		    if (this.entrySlot[k] != target) {
+			swapEntries(this.entrySlot[k], target);
+		    }
+		}
+	    }
+	}
+
+	/* The smaller half gets new counts, the bigger half keeps the counts
+	 * of C minus the counts of the smaller half. */
+	RowCounts list = this.counts[C];
+	RowCounts smallList = new RowCounts(numTouched);
+	for (int t = 0; t < numTouched; t++) {
+	    int r = this.touched[t];
+	    smallList.rows[t] = r;
+	    smallList.counts[t] = this.scratch[r];
+	    list.counts[this.slot[r]] -= this.scratch[r];
+	    this.scratch[r] = 0;
+	}
+	smallList.size = numTouched;
+
+	if (small == left) {
+	    /* The right part resumes at P, and the slots overwritten by the
+	     * left part are restored when it does. */
+	    list.cursor = g;
+	    list.savedRows = Arrays.copyOf(this.touched, numTouched);
+	    list.savedSlots = new int[numTouched];
+	    for (int t = 0; t < numTouched; t++) {
+		list.savedSlots[t] = this.slot[this.touched[t]];
+	    }
+
+	    this.counts[right] = list;
+	    this.counts[left] = smallList;
+	    prepare(smallList, start);
+	} else {
+	    this.counts[left] = list;
+	    this.counts[right] = smallList;
+	}
+
+	return left;
+    }
+
+    /**
+     * Returns the ordered partition of rows as an array.
+     * @return the ordered partition of rows as an array.
+     */
+    public int[] getOrderedRows() {
+	order();
+	return this.rowPartition.toArray();
+    }
+
+    /**
+     * Returns the ordered partition of columns as an array.
+     * @return the ordered partition of columns as an array.
+     */
+    public int[] getOrderedColumns() {
+	order();
+	return this.columnPartition.toArray();
+    }
+}
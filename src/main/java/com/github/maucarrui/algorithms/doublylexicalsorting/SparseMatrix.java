@@ -0,0 +1,223 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+/**
+ * Class to represent a sparse (0,1)-matrix.
+ *
+ * The matrix is given in compressed sparse row (CSR) format: the columns of
+ * the non-zero entries of the r-th row are stored in the positions
+ * [rowPointers[r], rowPointers[r+1]) of the array of column indices. The
+ * matrix also keeps its compressed sparse column (CSC) representation, so the
+ * non-zero entries can be traversed by rows and by columns. The memory used by
+ * the matrix is proportional to the amount of non-zero entries.
+ */
+public class SparseMatrix {
+
+    /** The amount of rows in the matrix. */
+    private int numRows;
+
+    /** The amount of columns in the matrix. */
+    private int numColumns;
+
+    /** Where the non-zero entries of each row start in the column indexes. */
+    private int[] rowPointers;
+
+    /** The columns of the non-zero entries, stored row after row. */
+    private int[] columnIndices;
+
+    /** Where the non-zero entries of each column start in the row indexes. */
+    private int[] columnPointers;
+
+    /** The rows of the non-zero entries, stored column after column. */
+    private int[] rowIndices;
+
+    /**
+     * Constructor which receives the matrix in compressed sparse row format.
+     * A row must not contain the same column more than once.
+     * @param numRows the amount of rows of the matrix.
+     * @param numColumns the amount of columns of the matrix.
+     * @param rowPointers an array of size numRows + 1, where the non-zero
+     *        entries of the r-th row are in the positions [rowPointers[r],
+     *        rowPointers[r+1]) of the column indices.
+     * @param columnIndices the columns of the non-zero entries.
+     */
+    public SparseMatrix(int numRows, int numColumns,
+			int[] rowPointers, int[] columnIndices) {
+	this.numRows = numRows;
+	this.numColumns = numColumns;
+	this.rowPointers = rowPointers;
+	this.columnIndices = columnIndices;
+
+	/* Build the compressed sparse column representation. */
+	int nnz = rowPointers[numRows];
+	this.columnPointers = new int[numColumns + 1];
+	this.rowIndices = new int[nnz];
+
+	for (int k = 0; k < nnz; k++) {
+	    this.columnPointers[columnIndices[k] + 1]++;
+	}
+
+	for (int c = 0; c < numColumns; c++) {
+	    this.columnPointers[c + 1] += this.columnPointers[c];
+	}
+
+	int[] next = new int[numColumns];
+	for (int r = 0; r < numRows; r++) {
+	    for (int k = rowPointers[r]; k < rowPointers[r + 1]; k++) {
+		int c = columnIndices[k];
+		this.rowIndices[this.columnPointers[c] + next[c]++] = r;
+	    }
+	}
+    }
+
+    /**
+     * Constructor which receives a (0,1)-matrix represented as an array of
+     * rows, every non-zero entry of the array is taken as a one.
+     * @param matrix the matrix to be compressed.
+     */
+    public SparseMatrix(int[][] matrix) {
+	this(matrix.length, (matrix.length == 0) ? 0 : matrix[0].length,
+	     rowPointersOf(matrix), columnIndicesOf(matrix));
+    }
+
+    /**
+     * Returns a sparse matrix given in compressed sparse column (CSC) format.
+     * A column must not contain the same row more than once.
+     * @param numRows the amount of rows of the matrix.
+     * @param numColumns the amount of columns of the matrix.
+     * @param columnPointers an array of size numColumns + 1, where the
+     *        non-zero entries of the c-th column are in the positions
+     *        [columnPointers[c], columnPointers[c+1]) of the row indices.
+     * @param rowIndices the rows of the non-zero entries.
+     * @return the sparse matrix.
+     */
+    public static SparseMatrix fromColumns(int numRows, int numColumns,
+					   int[] columnPointers,
+					   int[] rowIndices) {
+	/* The CSR format of the transpose is the CSC format of the matrix. */
+	SparseMatrix transpose = new SparseMatrix(numColumns, numRows,
+						  columnPointers, rowIndices);
+
+	return new SparseMatrix(numRows, numColumns,
+				transpose.columnPointers, transpose.rowIndices);
+    }
+
+    /**
+     * Auxiliary method to obtain the row pointers of an array of rows.
+     * @param matrix the matrix.
+     * @return the row pointers of the matrix.
+     */
+    private static int[] rowPointersOf(int[][] matrix) {
+	int[] pointers = new int[matrix.length + 1];
+
+	for (int r = 0; r < matrix.length; r++) {
+	    int nnz = 0;
+	    for (int value : matrix[r]) {
+		if (value != 0) {
+		    nnz++;
+		}
+	    }
+	    pointers[r + 1] = pointers[r] + nnz;
+	}
+
+	return pointers;
+    }
+
+    /**
+     * Auxiliary method to obtain the column indices of an array of rows.
+     * @param matrix the matrix.
+     * @return the column indices of the non-zero entries of the matrix.
+     */
+    private static int[] columnIndicesOf(int[][] matrix) {
+	int[] pointers = rowPointersOf(matrix);
+	int[] indices = new int[pointers[matrix.length]];
+
+	int k = 0;
+	for (int r = 0; r < matrix.length; r++) {
+	    for (int c = 0; c < matrix[r].length; c++) {
+		if (matrix[r][c] != 0) {
+		    indices[k++] = c;
+		}
+	    }
+	}
+
+	return indices;
+    }
+
+    /**
+     * Returns the amount of rows in the matrix.
+     * @return the amount of rows in the matrix.
+     */
+    public int numRows() {
+	return this.numRows;
+    }
+
+    /**
+     * Returns the amount of columns in the matrix.
+     * @return the amount of columns in the matrix.
+     */
+    public int numColumns() {
+	return this.numColumns;
+    }
+
+    /**
+     * Returns the amount of non-zero entries in the matrix.
+     * @return the amount of non-zero entries in the matrix.
+     */
+    public int nnz() {
+	return this.rowPointers[this.numRows];
+    }
+
+    /**
+     * Returns where the non-zero entries of a row start.
+     * @param row the row.
+     * @return the position of the first non-zero entry of the row.
+     */
+    int rowStart(int row) {
+	return this.rowPointers[row];
+    }
+
+    /**
+     * Returns where the non-zero entries of a row end.
+     * @param row the row.
+     * @return the position after the last non-zero entry of the row.
+     */
+    int rowEnd(int row) {
+	return this.rowPointers[row + 1];
+    }
+
+    /**
+     * Returns the column of a non-zero entry in row order.
+     * @param k the position of the entry.
+     * @return the column of the entry.
+     */
+    int columnIndex(int k) {
+	return this.columnIndices[k];
+    }
+
+    /**
+     * Returns where the non-zero entries of a column start.
+     * @param col the column.
+     * @return the position of the first non-zero entry of the column.
+     */
+    int columnStart(int col) {
+	return this.columnPointers[col];
+    }
+
+    /**
+     * Returns where the non-zero entries of a column end.
+     * @param col the column.
+     * @return the position after the last non-zero entry of the column.
+     */
+    int columnEnd(int col) {
+	return this.columnPointers[col + 1];
+    }
+
+    /**
+     * Returns the row of a non-zero entry in column order.
+     * @param k the position of the entry.
+     * @return the row of the entry.
+     */
+    int rowIndex(int k) {
+	return this.rowIndices[k];
+    }
+}
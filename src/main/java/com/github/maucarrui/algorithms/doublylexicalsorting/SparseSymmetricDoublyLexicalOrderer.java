@@ -0,0 +1,708 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.util.Arrays;
+
+/**
+ * Class to represent a Doubly Lexical Orderer for sparse symmetric matrices.
+ *
+ * Given a sparse symmetric (0,1)-matrix M whose diagonal entries are all
+ * non-zero, such as the closed neighbourhood matrix of a graph, it returns a
+ * doubly lexical ordering of M where the rows and the columns are in the same
+ * order, without building a dense representation of M.
+ *
+ * It visits the parts in the same way as {@link
+ * SymmetricDoublyLexicalOrderer}, from the diagonal block downwards, keeping
+ * a single ordered partition. The blocks are handled as in {@link
+ * SparseDoublyLexicalOrderer}: for the part being processed it keeps, for
+ * every row with non-zero entries in the part, the amount of non-zero entries
+ * of the row block, and when the part is split only the non-zero entries of
+ * the smaller half are traversed.
+ *
+ * Since the rows of a part are also its columns, a split of the diagonal
+ * block moves the rows of the smaller half to one end of the diagonal block
+ * of the row counts, so the block is never sorted again. When a part is split
+ * as a row part before being processed, its row counts are kept by the half
+ * with more non-zero entries, which subtracts the columns of the other half
+ * when its processing starts, and the other half is counted again.
+ */
+public class SparseSymmetricDoublyLexicalOrderer {
+
+    /**
+     * Private internal class to represent the rows with non-zero entries in
+     * a part, with the amount of non-zero entries of each row block. The rows
+     * are sorted by the position of their row part.
+     */
+    private static class RowCounts {
+	/** The rows with non-zero entries in the part. */
+	private int[] rows;
+
+	/** The amount of non-zero entries of each row in the part. */
+	private int[] counts;
+
+	/** The position of the row part of each row when it was sorted. */
+	private int[] keys;
+
+	/** The amount of rows in the list. */
+	private int size;
+
+	/** Where the processing of the part resumes. */
+	private int cursor;
+
+	/** Whether the rows have been sorted. */
+	private boolean sorted;
+
+	/** Hash table with the rows of the list, plus one, 0 if empty. */
+	private int[] table;
+
+	/** The position in the list of each row of the hash table. */
+	private int[] slots;
+
+	/** The amount of rows from the cursor in the diagonal block when the
+	 * list became pending, 0 if the cursor isn't at the diagonal block. */
+	private int diagonal;
+
+	/** The elements removed from the part while the list was pending. */
+	private int[] removed;
+
+	/** The amount of elements removed from the part. */
+	private int numRemoved;
+
+	/**
+	 * Unique constructor which receives the capacity of the list.
+	 * @param capacity the maximum amount of rows in the list.
+	 */
+	RowCounts(int capacity) {
+	    this.rows = new int[capacity];
+	    this.counts = new int[capacity];
+	    this.keys = null;
+	    this.size = 0;
+	    this.cursor = 0;
+	    this.sorted = false;
+	    this.table = null;
+	    this.slots = null;
+	    this.diagonal = 0;
+	    this.removed = null;
+	    this.numRemoved = 0;
+	}
+
+	/**
+	 * Builds the hash table of the rows of the list. The list is only
+	 * traversed by the rows of the other parts, so every list keeps the
+	 * position of its own rows, and a pending list is resumed without
+	 * recomputing them.
+	 */
+	void index() {
+	    int capacity = Integer.highestOneBit(Math.max(1, this.size)) << 2;
+	    this.table = new int[capacity];
+	    this.slots = new int[capacity];
+
+	    for (int k = 0; k < this.size; k++) {
+		int h = find(this.rows[k]);
+		this.table[h] = this.rows[k] + 1;
+		this.slots[h] = k;
+	    }
+	}
+
+	/**
+	 * Returns the entry of the hash table of a row, or the empty entry
+	 * where the row would be.
+	 * @param row the row.
+	 * @return the entry of the hash table of the row.
+	 */
+	private int find(int row) {
+	    int mask = this.table.length - 1;
+	    int h = (row * 0x9E3779B1) & mask;
+
+	    while (this.table[h] != 0 && this.table[h] != row + 1) {
+		h = (h + 1) & mask;
+	    }
+
+	    return h;
+	}
+
+	/**
+	 * Returns the position of a row in the list, the row must be in it.
+	 * @param row the row.
+	 * @return the position of the row in the list.
+	 */
+	int slot(int row) {
+	    return this.slots[find(row)];
+	}
+
+	/**
+	 * Defines the position of a row in the list, the row must be in it.
+	 * @param row the row.
+	 * @param slot the new position of the row in the list.
+	 */
+	void setSlot(int row, int slot) {
+	    this.slots[find(row)] = slot;
+	}
+    }
+
+    /** The matrix to be ordered. */
+    private SparseMatrix matrix;
+
+    /** The ordered partition of the rows and the columns. */
+    private Partition partition;
+
+    /** The row counts of each part that hasn't been processed, null if they
+     * must be counted when its processing starts. */
+    private RowCounts[] counts;
+
+    /** The amount of non-zero entries of each part. */
+    private int[] partNnz;
+
+    /** The position of the row part where the processing of each part
+     * starts, the blocks above it are known to be constant. */
+    private int[] startRow;
+
+    /** Auxiliary array to accumulate the counts of the smaller half. */
+    private int[] scratch;
+
+    /** The rows with a non-zero value in the auxiliary array. */
+    private int[] touched;
+
+    /** Whether the ordering has already been computed. */
+    private boolean ordered;
+
+    /**
+     * Unique constructor for a Sparse Symmetric Doubly Lexical Orderer that
+     * receives the matrix to be ordered. The matrix must be symmetric and its
+     * diagonal entries must be non-zero.
+     * @param matrix the matrix to be ordered.
+     */
+    public SparseSymmetricDoublyLexicalOrderer(SparseMatrix matrix) {
+	this.matrix = matrix;
+	this.partition = new Partition(matrix.numRows());
+	this.ordered = false;
+    }
+
+    /**
+     * Computes a doubly lexical ordering of the matrix, the ordering can then
+     * be obtained with {@link #getOrdering()}.
+     */
+    public void order() {
+	if (this.ordered) {
+	    return;
+	}
+	this.ordered = true;
+
+	int n = this.matrix.numRows();
+	this.counts = new RowCounts[n];
+	this.partNnz = new int[n];
+	this.startRow = new int[n];
+	this.scratch = new int[n];
+	this.touched = new int[n];
+
+	/* Process the parts from left to right, the parts created by a split
+	 * are processed before the following ones. */
+	int P = this.partition.first();
+	while (P != -1) {
+	    P = processPart(P);
+	    this.counts[P] = null;
+	    P = this.partition.next(P);
+	}
+    }
+
+    /**
+     * Counts the non-zero entries of a part for every row from the diagonal
+     * block downwards. Every part before it has been processed, so the blocks
+     * above the diagonal block are constant.
+     * @param Pj the part.
+     * @return the row counts of the part.
+     */
+    private RowCounts countPart(int Pj) {
+	Partition P = this.partition;
+	int start = P.start(Pj);
+	int nnz = 0;
+	int numTouched = 0;
+
+	for (int k = start; k < P.end(Pj); k++) {
+	    int col = P.element(k);
+	    int end = this.matrix.rowEnd(col);
+	    nnz += end - this.matrix.rowStart(col);
+
+	    /* By symmetry, the rows of a column are the columns of its row. */
+	    for (int e = this.matrix.rowStart(col); e < end; e++) {
+		int r = this.matrix.columnIndex(e);
+		if (P.position(r) >= start) {
+		    if (this.scratch[r] == 0) {
+			this.touched[numTouched++] = r;
+		    }
+		    this.scratch[r]++;
+		}
+	    }
+	}
+
+	RowCounts list = new RowCounts(numTouched);
+	for (int t = 0; t < numTouched; t++) {
+	    int r = this.touched[t];
+	    list.rows[t] = r;
+	    list.counts[t] = this.scratch[r];
+	    this.scratch[r] = 0;
+	}
+	list.size = numTouched;
+
+	this.partNnz[Pj] = nnz;
+	this.startRow[Pj] = start;
+
+	return list;
+    }
+
+    /**
+     * Sorts the row counts of a part by the position of the row parts,
+     * discarding the rows above the start of the part and the rows without
+     * non-zero entries. It also indexes the positions of the rows.
+     * @param list the row counts of the part.
+     * @param start the position where the processing of the part starts.
+     */
+    private void prepare(RowCounts list, int start) {
+	Partition P = this.partition;
+	long[] keys = new long[list.size];
+	int numKeys = 0;
+
+	for (int k = 0; k < list.size; k++) {
+	    int r = list.rows[k];
+	    if (list.counts[k] > 0 && P.position(r) >= start) {
+		long partStart = P.start(P.partOf(r));
+		keys[numKeys++] = (partStart << 32) | k;
+	    }
+	}
+
+	Arrays.sort(keys, 0, numKeys);
+
+	int[] rows = new int[numKeys];
+	int[] values = new int[numKeys];
+	int[] starts = new int[numKeys];
+	for (int k = 0; k < numKeys; k++) {
+	    int index = (int) keys[k];
+	    rows[k] = list.rows[index];
+	    values[k] = list.counts[index];
+	    starts[k] = (int) (keys[k] >>> 32);
+	}
+
+	list.rows = rows;
+	list.counts = values;
+	list.keys = starts;
+	list.size = numKeys;
+	list.cursor = 0;
+	list.sorted = true;
+	list.index();
+    }
+
+    /**
+     * Makes the row counts of a pending part the current ones. If the rows
+     * haven't been sorted they're sorted, then the elements removed from the
+     * part are subtracted from the counts.
+     * @param list the row counts of the part.
+     * @param Pj the part.
+     */
+    private void resume(RowCounts list, int Pj) {
+	int start = this.startRow[Pj];
+
+	if (!list.sorted) {
+	    prepare(list, start);
+	}
+
+	if (list.numRemoved > 0) {
+	    subtractRemoved(list, Pj, start);
+	}
+    }
+
+    /**
+     * Subtracts the columns removed from a part from its row counts. If the
+     * cursor is at the diagonal block, the removed rows before the part are
+     * moved before the cursor, and the ones after it are moved after the
+     * diagonal block, in a run of their own.
+     * @param list the row counts of the part.
+     * @param Pj the part.
+     * @param start the position where the processing of the part starts.
+     */
+    private void subtractRemoved(RowCounts list, int Pj, int start) {
+	Partition P = this.partition;
+
+	for (int i = 0; i < list.numRemoved; i++) {
+	    int c = list.removed[i];
+	    int end = this.matrix.rowEnd(c);
+	    for (int e = this.matrix.rowStart(c); e < end; e++) {
+		int r = this.matrix.columnIndex(e);
+		if (P.position(r) >= start) {
+		    list.counts[list.slot(r)]--;
+		}
+	    }
+	}
+
+	if (list.diagonal > 0) {
+	    int runEnd = list.cursor + list.diagonal;
+	    int end = runEnd;
+
+	    for (int i = 0; i < list.numRemoved; i++) {
+		int r = list.removed[i];
+		if (P.position(r) < P.start(Pj)) {
+		    swap(list, list.slot(r), list.cursor++);
+		} else {
+		    swap(list, list.slot(r), --end);
+		}
+	    }
+	    for (int i = end; i < runEnd; i++) {
+		list.keys[i] = P.end(Pj);
+	    }
+	}
+
+	list.diagonal = 0;
+	list.removed = null;
+	list.numRemoved = 0;
+    }
+
+    /**
+     * Splits the row counts of a pending part that was split as a row part.
+     * The half with fewer non-zero entries is removed from the row counts,
+     * which are kept by the other half, and it is counted again when its
+     * processing starts. The removed columns are subtracted when the row
+     * counts are resumed.
+     * @param front the new part, before the split part.
+     * @param back the split part.
+     */
+    private void splitPending(int front, int back) {
+	Partition P = this.partition;
+	RowCounts list = this.counts[back];
+
+	if (list == null) {
+	    return;
+	}
+
+	int nnzFront = 0;
+	for (int i = P.start(front); i < P.end(front); i++) {
+	    int c = P.element(i);
+	    nnzFront += this.matrix.rowEnd(c) - this.matrix.rowStart(c);
+	}
+	int nnzBack = this.partNnz[back] - nnzFront;
+	int start = this.startRow[back];
+
+	int costFront = P.size(front) + nnzFront;
+	int costBack = P.size(back) + nnzBack;
+	int kept = (costFront <= costBack) ? back : front;
+	int other = (kept == back) ? front : back;
+
+	this.counts[back] = null;
+	this.counts[kept] = list;
+	this.partNnz[kept] = (kept == back) ? nnzBack : nnzFront;
+	this.startRow[kept] = Math.max(start, P.start(kept));
+
+	int size = P.size(other);
+	if (list.removed == null) {
+	    list.removed = new int[size];
+	} else if (list.numRemoved + size > list.removed.length) {
+	    int capacity = Math.max(2 * list.removed.length,
+				    list.numRemoved + size);
+	    list.removed = Arrays.copyOf(list.removed, capacity);
+	}
+	for (int i = P.start(other); i < P.end(other); i++) {
+	    list.removed[list.numRemoved++] = P.element(i);
+	}
+    }
+
+    /**
+     * Returns the end of the group of rows of the same row part that starts
+     * in the given position. If the row part where the rows were sorted has
+     * been split since then, its rows are sorted again.
+     * @param list the row counts of the part.
+     * @param g the start of the group.
+     * @return the position after the last row of the group.
+     */
+    private int groupEnd(RowCounts list, int g) {
+	Partition P = this.partition;
+	int part = P.partOf(list.rows[g]);
+	int key = list.keys[g];
+	boolean split = false;
+
+	/* The run [g, e) contains the rows that were sorted in one part. */
+	int e = g;
+	while (e < list.size && list.keys[e] == key) {
+	    if (P.partOf(list.rows[e]) != part) {
+		split = true;
+	    }
+	    e++;
+	}
+
+	if (split) {
+	    sortRun(list, g, e);
+	    part = P.partOf(list.rows[g]);
+	}
+
+	int h = g;
+	while (h < e && P.partOf(list.rows[h]) == part) {
+	    h++;
+	}
+
+	return h;
+    }
+
+    /**
+     * Returns the end of the group of rows of the same row part that starts
+     * in the given position. If the group is the diagonal block of the part
+     * being processed, it contains exactly the rows of the part, so the group
+     * isn't traversed.
+     * @param list the row counts of the part.
+     * @param g the start of the group.
+     * @param Pj the part being processed.
+     * @return the position after the last row of the group.
+     */
+    private int blockEnd(RowCounts list, int g, int Pj) {
+	if (this.partition.partOf(list.rows[g]) == Pj) {
+	    return g + this.partition.size(Pj);
+	}
+
+	return groupEnd(list, g);
+    }
+
+    /**
+     * Sorts a run of the row counts by the current position of the row parts.
+     * @param list the row counts of the part.
+     * @param from the start of the run.
+     * @param to the end of the run.
+     */
+    private void sortRun(RowCounts list, int from, int to) {
+	Partition P = this.partition;
+	int length = to - from;
+	long[] keys = new long[length];
+
+	for (int k = 0; k < length; k++) {
+	    long partStart = P.start(P.partOf(list.rows[from + k]));
+	    keys[k] = (partStart << 32) | k;
+	}
+
+	Arrays.sort(keys);
+
+	int[] rows = Arrays.copyOfRange(list.rows, from, to);
+	int[] values = Arrays.copyOfRange(list.counts, from, to);
+	for (int k = 0; k < length; k++) {
+	    int index = (int) keys[k];
+	    list.rows[from + k] = rows[index];
+	    list.counts[from + k] = values[index];
+	    list.keys[from + k] = (int) (keys[k] >>> 32);
+	    list.setSlot(rows[index], from + k);
+	}
+    }
+
+    /**
+     * Swaps two rows of the row counts, updating their positions.
+     * @param list the current row counts.
+     * @param i the position of the first row.
+     * @param j the position of the second row.
+     */
+    private void swap(RowCounts list, int i, int j) {
+	int row = list.rows[i];
+	int count = list.counts[i];
+
+	list.rows[i] = list.rows[j];
+	list.counts[i] = list.counts[j];
+	list.rows[j] = row;
+	list.counts[j] = count;
+
+	list.setSlot(list.rows[i], i);
+	list.setSlot(list.rows[j], j);
+    }
+
+    /**
+     * Processes a part, traversing its row blocks from the diagonal block
+     * downwards and performing the refinements defined by its non-constant
+     * blocks. The refinements keep on the left half of every refinement of
+     * the part, the right halves are processed afterwards.
+     * @param Pj the part to process.
+     * @return the last part that was processed.
+     */
+    private int processPart(int Pj) {
+	Partition P = this.partition;
+
+	if (this.counts[Pj] == null) {
+	    this.counts[Pj] = countPart(Pj);
+	}
+	RowCounts list = this.counts[Pj];
+	resume(list, Pj);
+
+	/* The group [g, h) contains the rows of the current row part, the
+	 * rows in [g, k) are known to be constant in the block. */
+	int g = list.cursor;
+	int h = (g < list.size) ? blockEnd(list, g, Pj) : g;
+	int k = g;
+	int full = 0;
+
+	while (g < list.size) {
+	    int Pi = P.partOf(list.rows[g]);
+	    int numCols = P.size(Pj);
+
+	    /* Look for a splitting row of the block (Pi, Pj). */
+	    while (k < h) {
+		int count = list.counts[k];
+		if (count == numCols) {
+		    full++;
+		} else if (count > 0) {
+		    break;
+		}
+		k++;
+	    }
+
+	    if (k < h) {
+		/* Refine Pj and keep on its left half. The constant rows
+		 * remain constant in the left half. */
+		boolean diagonal = (Pi == Pj);
+		Pj = refine(Pj, list.rows[k], Pi, g, h);
+		if (this.counts[Pj] != list) {
+		    list = this.counts[Pj];
+		    g = list.cursor;
+		    h = blockEnd(list, g, Pj);
+		    k = g;
+		    full = 0;
+		} else if (diagonal) {
+		    /* The rows of the right half left the diagonal block. */
+		    h = blockEnd(list, g, Pj);
+		}
+		continue;
+	    }
+
+	    /* If the block is non-constant, refine Pi moving its full rows
+	     * to the top. The row counts of Pi are split between its halves. */
+	    if (full > 0 && full < P.size(Pi)) {
+		for (int i = g; i < h; i++) {
+		    if (list.counts[i] == numCols) {
+			P.mark(list.rows[i]);
+		    }
+		}
+		splitPending(P.split(Pi), Pi);
+	    }
+
+	    /* Move to the next block with non-zero entries. */
+	    g = h;
+	    if (g < list.size) {
+		h = blockEnd(list, g, Pj);
+	    }
+	    k = g;
+	    full = 0;
+	}
+
+	return Pj;
+    }
+
+    /**
+     * Splits the part being processed by a splitting row of the block (Pi,
+     * Pj), the columns where the row has non-zero entries go to the left
+     * half.
+     * @param Pj the part to split.
+     * @param row the splitting row.
+     * @param Pi the row part of the block.
+     * @param g the position of the first row of Pi in the row counts of Pj.
+     * @param h the position after the last row of Pi in the row counts.
+     * @return the left half of the refinement, whose counts are ready.
+     */
+    private int refine(int Pj, int row, int Pi, int g, int h) {
+	Partition P = this.partition;
+	boolean diagonal = (Pi == Pj);
+
+	/* Both halves start at the row part of the block. */
+	int start = P.start(Pi);
+
+	/* Move the columns where the row is non-zero to the left half. */
+	int rowEnd = this.matrix.rowEnd(row);
+	for (int e = this.matrix.rowStart(row); e < rowEnd; e++) {
+	    int c = this.matrix.columnIndex(e);
+	    if (P.partOf(c) == Pj) {
+		P.mark(c);
+	    }
+	}
+
+	int left = P.split(Pj);
+	int right = Pj;
+
+	/* Determine the smaller half, by columns and non-zero entries. */
+	int nnzLeft = 0;
+	for (int i = P.start(left); i < P.end(left); i++) {
+	    int c = P.element(i);
+	    nnzLeft += this.matrix.rowEnd(c) - this.matrix.rowStart(c);
+	}
+	int nnzRight = this.partNnz[Pj] - nnzLeft;
+	this.partNnz[left] = nnzLeft;
+	this.partNnz[right] = nnzRight;
+
+	int costLeft = P.size(left) + nnzLeft;
+	int costRight = P.size(right) + nnzRight;
+	int small = (costLeft <= costRight) ? left : right;
+
+	/* If the diagonal block was split, the right half starts at its own
+	 * diagonal block, the blocks of the left half above it are constant
+	 * once the left half is processed. */
+	this.startRow[left] = start;
+	this.startRow[right] = diagonal ? P.start(right) : start;
+
+	/* Count the non-zero entries of the smaller half for each row. */
+	int numTouched = 0;
+	for (int i = P.start(small); i < P.end(small); i++) {
+	    int c = P.element(i);
+	    int colEnd = this.matrix.rowEnd(c);
+	    for (int e = this.matrix.rowStart(c); e < colEnd; e++) {
+		int r = this.matrix.columnIndex(e);
+		if (P.position(r) >= start) {
+		    if (this.scratch[r] == 0) {
+			this.touched[numTouched++] = r;
+		    }
+		    this.scratch[r]++;
+		}
+	    }
+	}
+
+	/* The smaller half gets new counts, the bigger half keeps the counts
+	 * of Pj minus the counts of the smaller half. */
+	RowCounts list = this.counts[Pj];
+	RowCounts smallList = new RowCounts(numTouched);
+	for (int t = 0; t < numTouched; t++) {
+	    int r = this.touched[t];
+	    smallList.rows[t] = r;
+	    smallList.counts[t] = this.scratch[r];
+	    list.counts[list.slot(r)] -= this.scratch[r];
+	    this.scratch[r] = 0;
+	}
+	smallList.size = numTouched;
+
+	if (small == left) {
+	    /* The right half resumes at Pi. If Pi is the diagonal block, the
+	     * rows of the left half are moved before the cursor. */
+	    list.cursor = g;
+	    if (diagonal) {
+		for (int i = P.start(left); i < P.end(left); i++) {
+		    swap(list, list.slot(P.element(i)), list.cursor++);
+		}
+		list.diagonal = P.size(right);
+	    }
+
+	    this.counts[right] = list;
+	    this.counts[left] = smallList;
+	    prepare(smallList, start);
+	} else {
+	    /* If Pi is the diagonal block, the rows of the right half are
+	     * moved after the rows of the left half, in a run of their own. */
+	    if (diagonal) {
+		int end = h;
+		for (int i = P.start(right); i < P.end(right); i++) {
+		    swap(list, list.slot(P.element(i)), --end);
+		}
+		for (int i = end; i < h; i++) {
+		    list.keys[i] = P.start(right);
+		}
+	    }
+
+	    this.counts[left] = list;
+	    this.counts[right] = smallList;
+	}
+
+	return left;
+    }
+
+    /**
+     * Returns the order of the rows and the columns.
+     * @return the order of the rows and the columns as an array.
+     */
+    public int[] getOrdering() {
+	order();
+	return this.partition.toArray();
+    }
+}
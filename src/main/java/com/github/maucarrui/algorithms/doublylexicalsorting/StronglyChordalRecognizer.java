@@ -0,0 +1,241 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.github.maucarrui.algorithms.treeisomorphism.Graph;
+
+/**
+ * Class to represent a recognizer of strongly chordal graphs.
+ *
+ * A graph is strongly chordal if and only if its closed neighbourhood matrix
+ * N is totally balanced, that is, if a doubly lexical ordering of N has no Γ
+ * submatrix (see {@link GammaSubmatrix}). The recognizer orders N with a
+ * {@link SparseSymmetricDoublyLexicalOrderer}, so the rows and the columns
+ * are in the same order and N is never densified, and then looks for a Γ in
+ * the ordered matrix with a {@link GammaFreeChecker}, in time linear in the
+ * amount of edges.
+ *
+ * If there is no Γ, the reverse of the order of the vertices is a strong
+ * elimination ordering of the graph: for every vertex v, the closed
+ * neighbourhoods of the neighbours of v that come after v are totally ordered
+ * by inclusion. Otherwise, the Γ found is returned as a witness.
+ */
+public class StronglyChordalRecognizer {
+
+    /** The closed neighbourhood matrix of the graph. */
+    private SparseMatrix neighbourhoods;
+
+    /** The identifier of each vertex, null if the vertices are 0..n-1. */
+    private int[] labels;
+
+    /** The strong elimination ordering, null if it doesn't exist. */
+    private int[] eliminationOrdering;
+
+    /** The Γ found in the ordered matrix, null if there is none. */
+    private GammaSubmatrix witness;
+
+    /** Whether the graph has already been recognized. */
+    private boolean recognized;
+
+    /**
+     * Constructor which receives the graph as an adjacency array, where the
+     * neighbours of the vertex v are in adjacency[v]. The adjacency must be
+     * symmetric and must not repeat a neighbour, loops are ignored.
+     * @param adjacency the neighbours of every vertex 0, 1, ..., n-1.
+     * @throws IllegalArgumentException if a neighbour is out of range, is
+     *         repeated, or doesn't have the vertex as a neighbour.
+     */
+    public StronglyChordalRecognizer(int[][] adjacency) {
+	this.neighbourhoods = closedNeighbourhoods(adjacency);
+	checkSymmetry(this.neighbourhoods);
+	this.labels = null;
+	this.recognized = false;
+    }
+
+    /**
+     * Constructor which receives the graph, the vertices are reported by
+     * their identifiers.
+     * @param graph the graph.
+     */
+    public StronglyChordalRecognizer(Graph<Integer> graph) {
+	int n = graph.order();
+	this.labels = new int[n];
+
+	int v = 0;
+	for (Integer ID : graph.vertices()) {
+	    this.labels[v++] = ID;
+	}
+	Arrays.sort(this.labels);
+
+	HashMap<Integer, Integer> index = new HashMap<>();
+	for (v = 0; v < n; v++) {
+	    index.put(this.labels[v], v);
+	}
+
+	int[][] adjacency = new int[n][];
+	for (v = 0; v < n; v++) {
+	    int k = 0;
+	    adjacency[v] = new int[graph.getNeighborsOf(this.labels[v]).size()];
+	    for (Integer ID : graph.getNeighborsOf(this.labels[v])) {
+		adjacency[v][k++] = index.get(ID);
+	    }
+	}
+
+	this.neighbourhoods = closedNeighbourhoods(adjacency);
+	this.recognized = false;
+    }
+
+    /**
+     * Auxiliary method to build the closed neighbourhood matrix of a graph.
+     * @param adjacency the neighbours of every vertex.
+     * @return the closed neighbourhood matrix of the graph.
+     */
+    private static SparseMatrix closedNeighbourhoods(int[][] adjacency) {
+	int n = adjacency.length;
+	int[] pointers = new int[n + 1];
+
+	for (int v = 0; v < n; v++) {
+	    int degree = 1;
+	    for (int u : adjacency[v]) {
+		if (u < 0 || u >= n) {
+		    String msg = "The vertex " + v + " has a neighbour out " +
+			"of range.";
+		    throw new IllegalArgumentException(msg);
+		}
+		if (u != v) {
+		    degree++;
+		}
+	    }
+	    pointers[v + 1] = pointers[v] + degree;
+	}
+
+	int[] indices = new int[pointers[n]];
+	for (int v = 0; v < n; v++) {
+	    int k = pointers[v];
+	    indices[k++] = v;
+	    for (int u : adjacency[v]) {
+		if (u != v) {
+		    indices[k++] = u;
+		}
+	    }
+	}
+
+	return new SparseMatrix(n, n, pointers, indices);
+    }
+
+    /**
+     * Auxiliary method to check that the closed neighbourhood matrix of a
+     * graph is symmetric and doesn't repeat a neighbour of any vertex, that
+     * is, that every row has the same vertices as the column of its vertex.
+     * @param N the closed neighbourhood matrix of the graph.
+     * @throws IllegalArgumentException if a row repeats a neighbour, or a
+     *         neighbour doesn't have the vertex in its row.
+     */
+    private static void checkSymmetry(SparseMatrix N) {
+	int n = N.numRows();
+
+	/* The neighbours of v are stamped with v, a neighbour already stamped
+	 * is repeated. */
+	int[] stamp = new int[n];
+	Arrays.fill(stamp, -1);
+	for (int v = 0; v < n; v++) {
+	    for (int k = N.rowStart(v); k < N.rowEnd(v); k++) {
+		int u = N.columnIndex(k);
+		if (stamp[u] == v) {
+		    String msg = "The vertex " + v + " repeats the " +
+			"neighbour " + u + ".";
+		    throw new IllegalArgumentException(msg);
+		}
+		stamp[u] = v;
+	    }
+
+	    /* Without repetitions, the column of v has the same vertices as
+	     * its row if it has as many and all of them are stamped. */
+	    int start = N.columnStart(v);
+	    int end = N.columnEnd(v);
+	    boolean symmetric = end - start == N.rowEnd(v) - N.rowStart(v);
+	    for (int k = start; symmetric && k < end; k++) {
+		symmetric = stamp[N.rowIndex(k)] == v;
+	    }
+	    if (!symmetric) {
+		String msg = "The neighbours of the vertex " + v + " don't " +
+		    "have it as a neighbour.";
+		throw new IllegalArgumentException(msg);
+	    }
+	}
+    }
+
+    /**
+     * Orders the closed neighbourhood matrix and looks for a Γ in it.
+     */
+    private void recognize() {
+	if (this.recognized) {
+	    return;
+	}
+	this.recognized = true;
+
+	SparseSymmetricDoublyLexicalOrderer orderer;
+	orderer = new SparseSymmetricDoublyLexicalOrderer(this.neighbourhoods);
+	int[] ordering = orderer.getOrdering();
+
+	GammaFreeChecker checker;
+	checker = new GammaFreeChecker(this.neighbourhoods, ordering, ordering);
+	GammaSubmatrix gamma = checker.getWitness();
+	if (gamma != null) {
+	    this.witness = new GammaSubmatrix(label(gamma.getTopRow()),
+					      label(gamma.getBottomRow()),
+					      label(gamma.getLeftColumn()),
+					      label(gamma.getRightColumn()));
+	    this.eliminationOrdering = null;
+	    return;
+	}
+
+	int n = ordering.length;
+	this.eliminationOrdering = new int[n];
+	for (int i = 0; i < n; i++) {
+	    this.eliminationOrdering[i] = label(ordering[n - 1 - i]);
+	}
+    }
+
+    /**
+     * Returns the identifier of a vertex.
+     * @param v the vertex.
+     * @return the identifier of the vertex.
+     */
+    private int label(int v) {
+	return (this.labels == null) ? v : this.labels[v];
+    }
+
+    /**
+     * Returns whether the graph is strongly chordal.
+     * @return true if the graph is strongly chordal, false otherwise.
+     */
+    public boolean isStronglyChordal() {
+	recognize();
+	return this.witness == null;
+    }
+
+    /**
+     * Returns a strong elimination ordering of the graph.
+     * @return the vertices of the graph in a strong elimination ordering,
+     *         null if the graph is not strongly chordal.
+     */
+    public int[] getStrongEliminationOrdering() {
+	recognize();
+	return this.eliminationOrdering;
+    }
+
+    /**
+     * Returns a Γ of the ordered closed neighbourhood matrix, which proves
+     * that the graph is not strongly chordal. The top row isn't adjacent to
+     * the left column, while the bottom row is adjacent to both columns and
+     * the top row is adjacent to the right column (a vertex is adjacent to
+     * itself in the closed neighbourhood matrix).
+     * @return the Γ, null if the graph is strongly chordal.
+     */
+    public GammaSubmatrix getWitness() {
+	recognize();
+	return this.witness;
+    }
+}
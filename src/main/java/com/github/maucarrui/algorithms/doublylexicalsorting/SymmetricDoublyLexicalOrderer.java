@@ -0,0 +1,236 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+/**
+ * Class to represent a Doubly Lexical Orderer for symmetric matrices.
+ *
+ * Given a bit-packed symmetric (0,1)-matrix M whose diagonal entries are all
+ * non-zero, such as the closed neighbourhood matrix of a graph, it returns a
+ * doubly lexical ordering of M where the rows and the columns are in the same
+ * order. Such an ordering may not exist if some diagonal entry is zero.
+ *
+ * It visits the blocks in the same way as {@link DenseDoublyLexicalOrderer},
+ * but it keeps a single ordered partition, shared by the rows and the
+ * columns, so every refinement of a column part is also a refinement of the
+ * row part with the same elements, and the other way around. When a part P
+ * is processed as a column part, every part before it is constant on every
+ * column, and by symmetry every row part before it is constant on every
+ * block, so the visit of P starts at the diagonal block (P, P) instead of the
+ * top of the matrix. Only the blocks on and below the diagonal are visited,
+ * and a single partition is kept, roughly half the work and memory of
+ * ordering the matrix as a general one.
+ */
+public class SymmetricDoublyLexicalOrderer {
+
+    /** The matrix to be ordered. */
+    private BitMatrix matrix;
+
+    /** The ordered partition of the rows and the columns. */
+    private Partition partition;
+
+    /** The mask of the part being processed. */
+    private BitMask columnMask;
+
+    /** Whether the ordering has already been computed. */
+    private boolean ordered;
+
+    /**
+     * Constructor for a Symmetric Doubly Lexical Orderer that receives the
+     * bit-packed matrix to be ordered. The matrix must be symmetric and its
+     * diagonal entries must be non-zero.
+     * @param matrix the matrix to be ordered.
+     */
+    public SymmetricDoublyLexicalOrderer(BitMatrix matrix) {
+	this.matrix = matrix;
+	this.partition = new Partition(matrix.numRows());
+	this.columnMask = new BitMask(matrix.numColumns());
+	this.ordered = false;
+    }
+
+    /**
+     * Constructor for a Symmetric Doubly Lexical Orderer that receives the
+     * matrix to be ordered as an array of rows. The matrix is packed into a
+     * {@link BitMatrix} before being ordered.
+     * @param matrix the matrix to be ordered.
+     */
+    public SymmetricDoublyLexicalOrderer(int[][] matrix) {
+	this(new BitMatrix(matrix));
+    }
+
+    /**
+     * Computes a doubly lexical ordering of the matrix, the ordering can then
+     * be obtained with {@link #getOrdering()}.
+     */
+    public void order() {
+	if (this.ordered) {
+	    return;
+	}
+	this.ordered = true;
+
+	/* Process the parts from left to right, the parts created by a split
+	 * are processed before the following ones. */
+	int P = this.partition.first();
+	while (P != -1) {
+	    P = processPart(P);
+	    P = this.partition.next(P);
+	}
+    }
+
+    /**
+     * Defines the mask of the columns in a part.
+     * @param Pj the part.
+     */
+    private void buildMask(int Pj) {
+	Partition P = this.partition;
+
+	this.columnMask.clear();
+	for (int k = P.start(Pj); k < P.end(Pj); k++) {
+	    this.columnMask.add(P.element(k));
+	}
+    }
+
+    /**
+     * Visits the blocks of a part as a column part, from the diagonal block
+     * to the bottom of the matrix, refining the part by its splitting rows
+     * and the row parts of the blocks without splitting rows.
+     * @param Pj the part.
+     * @return the last part visited, every part before it has been
+     *         processed.
+     */
+    private int processPart(int Pj) {
+	Partition P = this.partition;
+	int n = this.matrix.numRows();
+	int numCols = P.size(Pj);
+	int position = P.start(Pj);
+
+	buildMask(Pj);
+
+	while (position < n) {
+	    int Pi = P.partOf(P.element(position));
+	    int end = P.end(Pi);
+	    boolean diagonal = (Pi == Pj);
+	    boolean restart = false;
+
+	    /* Whether (Pi, Pj) has full and empty row blocks. */
+	    boolean full = false;
+	    boolean empty = false;
+
+	    for (int k = position; k < end; k++) {
+		int r = P.element(k);
+		int size = this.matrix.countOnes(r, this.columnMask);
+
+		if (size == 0) {
+		    empty = true;
+		} else if (size == numCols) {
+		    full = true;
+		} else {
+		    /* r is a splitting row, refine Pj and continue with its
+		     * left half, where r is full. */
+		    Pj = refine(r, Pj, size);
+		    numCols = size;
+		    buildMask(Pj);
+		    full = true;
+
+		    /* If the diagonal block was split, its rows moved, so
+		     * the visit starts again at the new diagonal block. */
+		    if (diagonal) {
+			restart = true;
+			break;
+		    }
+		}
+	    }
+
+	    if (restart) {
+		position = P.start(Pj);
+		continue;
+	    }
+
+	    /* If (Pi, Pj) is non-constant without splitting rows, refine Pi
+	     * moving its full rows to the top. The diagonal block is never
+	     * refined this way, since its rows are non-zero on the diagonal. */
+	    if (full && empty) {
+		refineRows(Pi, Pj);
+	    }
+
+	    position = end;
+	}
+
+	return Pj;
+    }
+
+    /**
+     * Performs a refinement of a part by a row, the elements where the row
+     * is non-zero go first. Only the elements of the smaller half are moved.
+     * @param row the splitting row.
+     * @param Pj the part.
+     * @param numOnes the amount of non-zero entries of the row in Pj.
+     * @return the left half of the refinement.
+     */
+    private int refine(int row, int Pj, int numOnes) {
+	Partition P = this.partition;
+	int numZeros = P.size(Pj) - numOnes;
+
+	if (numOnes <= numZeros) {
+	    for (int k = P.start(Pj); k < P.end(Pj); k++) {
+		int col = P.element(k);
+		if (this.matrix.get(row, col) == 1) {
+		    P.mark(col);
+		}
+	    }
+	    return P.split(Pj);
+	} else {
+	    for (int k = P.end(Pj) - 1; k >= P.start(Pj); k--) {
+		int col = P.element(k);
+		if (this.matrix.get(row, col) == 0) {
+		    P.markBack(col);
+		}
+	    }
+	    P.split(Pj);
+	    return Pj;
+	}
+    }
+
+    /**
+     * Performs a refinement of a part by a part where every row block is
+     * constant, the full rows go first. Only the rows of the smaller half are
+     * moved.
+     * @param Pi the part to be refined.
+     * @param Pj the part where every row block of Pi is constant.
+     */
+    private void refineRows(int Pi, int Pj) {
+	Partition P = this.partition;
+	int col = P.element(P.start(Pj));
+
+	int numOnes = 0;
+	for (int k = P.start(Pi); k < P.end(Pi); k++) {
+	    numOnes += this.matrix.get(P.element(k), col);
+	}
+
+	refine(col, Pi, numOnes);
+    }
+
+    /**
+     * Returns the order of the rows and the columns.
+     * @return the order of the rows and the columns as an array.
+     */
+    public int[] getOrdering() {
+	order();
+	return this.partition.toArray();
+    }
+
+    /**
+     * Returns a doubly lexicographical ordering of the original matrix.
+     * @return a doubly lexicographical ordering of the original matrix.
+     */
+    public int[][] getOrderedMatrix() {
+	int[] ordering = getOrdering();
+	int[][] ordered = new int[ordering.length][ordering.length];
+
+	for (int i = 0; i < ordering.length; i++) {
+	    for (int j = 0; j < ordering.length; j++) {
+		ordered[i][j] = this.matrix.get(ordering[i], ordering[j]);
+	    }
+	}
+
+	return ordered;
+    }
+}
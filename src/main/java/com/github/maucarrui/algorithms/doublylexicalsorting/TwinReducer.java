@@ -0,0 +1,342 @@
+package com.github.maucarrui.algorithms.doublylexicalordering;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Class to represent a reduction of a matrix by its twins.
+ *
+ * Two rows (columns) of a matrix are twins if they are identical. Twins
+ * always end up adjacent in a doubly lexical ordering, and repeating a row
+ * or a column doesn't change how the other rows or columns compare, so a
+ * doubly lexical ordering of M is obtained from a doubly lexical ordering of
+ * the reduced matrix, which keeps a single representative of every class of
+ * twins, by replacing every representative by its whole class.
+ *
+ * The classes are found by hashing: every row and column receives a random
+ * 64-bit value, and the hash of a row (column) is the sum of the values of
+ * the columns (rows) where it has a one. Rows and columns are sorted by their
+ * hash, and the ones with the same hash are compared entry by entry, so a
+ * collision never merges different rows or columns.
+ */
+public class TwinReducer {
+
+    /** The matrix to be reduced. */
+    private BitMatrix matrix;
+
+    /** The class of twins of each row. */
+    private int[] rowClass;
+
+    /** The rows of the matrix sorted by their class. */
+    private int[] rowMembers;
+
+    /** Where the rows of each class start in the sorted rows. */
+    private int[] rowClassStart;
+
+    /** The class of twins of each column. */
+    private int[] columnClass;
+
+    /** The columns of the matrix sorted by their class. */
+    private int[] columnMembers;
+
+    /** Where the columns of each class start in the sorted columns. */
+    private int[] columnClassStart;
+
+    /** The reduced matrix. */
+    private BitMatrix reduced;
+
+    /** The ordered rows of the matrix, null if it hasn't been ordered. */
+    private int[] orderedRows;
+
+    /** The ordered columns of the matrix, null if it hasn't been ordered. */
+    private int[] orderedCols;
+
+    /**
+     * Unique constructor which receives the matrix to be reduced, and finds
+     * its classes of twins.
+     * @param matrix the matrix to be reduced.
+     */
+    public TwinReducer(BitMatrix matrix) {
+	this.matrix = matrix;
+
+	int numRows = matrix.numRows();
+	int numCols = matrix.numColumns();
+
+	/* Assign a random value to every row and column. */
+	Random rand = new Random(numRows * 31L + numCols);
+	long[] rowValues = new long[numRows];
+	long[] colValues = new long[numCols];
+	for (int r = 0; r < numRows; r++) {
+	    rowValues[r] = rand.nextLong();
+	}
+	for (int c = 0; c < numCols; c++) {
+	    colValues[c] = rand.nextLong();
+	}
+
+	/* Hash the rows and columns visiting the ones of every row. */
+	long[] rowHashes = new long[numRows];
+	long[] colHashes = new long[numCols];
+	for (int r = 0; r < numRows; r++) {
+	    for (int w = 0; w < matrix.wordsPerRow(); w++) {
+		long word = matrix.word(r, w);
+		while (word != 0L) {
+		    int c = (w << 6) + Long.numberOfTrailingZeros(word);
+		    rowHashes[r] += colValues[c];
+		    colHashes[c] += rowValues[r];
+		    word &= word - 1;
+		}
+	    }
+	}
+
+	this.rowClass = new int[numRows];
+	this.rowMembers = new int[numRows];
+	this.rowClassStart = classify(rowHashes, true,
+				      this.rowClass, this.rowMembers);
+
+	this.columnClass = new int[numCols];
+	this.columnMembers = new int[numCols];
+	this.columnClassStart = classify(colHashes, false,
+					 this.columnClass, this.columnMembers);
+
+	/* Build the reduced matrix with the representatives. */
+	int numRowClasses = this.rowClassStart.length - 1;
+	int numColClasses = this.columnClassStart.length - 1;
+	this.reduced = new BitMatrix(numRowClasses, numColClasses);
+	for (int i = 0; i < numRowClasses; i++) {
+	    int r = this.rowMembers[this.rowClassStart[i]];
+	    for (int j = 0; j < numColClasses; j++) {
+		int c = this.columnMembers[this.columnClassStart[j]];
+		if (matrix.get(r, c) == 1) {
+		    this.reduced.set(i, j, 1);
+		}
+	    }
+	}
+    }
+
+    /**
+     * Returns if two rows or two columns of the matrix are identical.
+     * @param a the first row or column.
+     * @param b the second row or column.
+     * @param rows true to compare rows, false to compare columns.
+     * @return true if they are identical, false otherwise.
+     */
+    private boolean areTwins(int a, int b, boolean rows) {
+	if (rows) {
+	    for (int w = 0; w < this.matrix.wordsPerRow(); w++) {
+		if (this.matrix.word(a, w) != this.matrix.word(b, w)) {
+		    return false;
+		}
+	    }
+	} else {
+	    for (int r = 0; r < this.matrix.numRows(); r++) {
+		if (this.matrix.get(r, a) != this.matrix.get(r, b)) {
+		    return false;
+		}
+	    }
+	}
+
+	return true;
+    }
+
+    /**
+     * Groups the rows or columns of the matrix into classes of twins. The
+     * classes are numbered by their smallest member.
+     * @param hashes the hash of every row or column.
+     * @param rows true to group rows, false to group columns.
+     * @param classOf the array where the class of every element is stored.
+     * @param members the array where the elements sorted by class are
+     *        stored.
+     * @return where the elements of each class start in the members, with an
+     *         extra position for the end of the last class.
+     */
+    private int[] classify(long[] hashes, boolean rows,
+			   int[] classOf, int[] members) {
+	int n = hashes.length;
+
+	/* Sort the elements by their hash, ties by their index. */
+	Integer[] sorted = new Integer[n];
+	for (int e = 0; e < n; e++) {
+	    sorted[e] = e;
+	}
+	final long[] keys = hashes;
+
+	Arrays.sort(sorted, new Comparator<Integer>() {
+		@Override
+		public int compare(Integer a, Integer b) {
+		    if (keys[a] != keys[b]) {
+			return (keys[a] < keys[b]) ? -1 : 1;
+		    }
+		    return a.compareTo(b);
+		}
+	    });
+
+	/* Inside a run of equal hashes, compare every element with the
+	 * representatives found so far in the run. */
+	int[] representative = new int[n];
+	int k = 0;
+	while (k < n) {
+	    int end = k;
+	    while (end < n && hashes[sorted[end]] == hashes[sorted[k]]) {
+		end++;
+	    }
+
+	    for (int i = k; i < end; i++) {
+		int e = sorted[i];
+		representative[e] = e;
+		for (int j = k; j < i; j++) {
+		    int f = sorted[j];
+		    if (representative[f] == f && areTwins(e, f, rows)) {
+			representative[e] = f;
+			break;
+		    }
+		}
+	    }
+
+	    k = end;
+	}
+
+	/* Number the classes by their smallest member. */
+	int numClasses = 0;
+	for (int e = 0; e < n; e++) {
+	    if (representative[e] == e) {
+		classOf[e] = numClasses++;
+	    }
+	}
+
+	int[] starts = new int[numClasses + 1];
+	for (int e = 0; e < n; e++) {
+	    classOf[e] = classOf[representative[e]];
+	    starts[classOf[e] + 1]++;
+	}
+	for (int i = 0; i < numClasses; i++) {
+	    starts[i + 1] += starts[i];
+	}
+
+	int[] next = new int[numClasses];
+	for (int e = 0; e < n; e++) {
+	    members[starts[classOf[e]] + next[classOf[e]]++] = e;
+	}
+
+	return starts;
+    }
+
+    /**
+     * Returns the reduced matrix, whose rows and columns are the
+     * representatives of the classes of twins, in the order of their
+     * smallest member.
+     * @return the reduced matrix.
+     */
+    public BitMatrix getReducedMatrix() {
+	return this.reduced;
+    }
+
+    /**
+     * Returns the weight of every row of the reduced matrix, which is the
+     * amount of twins it represents.
+     * @return the weight of every row of the reduced matrix.
+     */
+    public int[] getRowWeights() {
+	return weights(this.rowClassStart);
+    }
+
+    /**
+     * Returns the weight of every column of the reduced matrix, which is the
+     * amount of twins it represents.
+     * @return the weight of every column of the reduced matrix.
+     */
+    public int[] getColumnWeights() {
+	return weights(this.columnClassStart);
+    }
+
+    /**
+     * Auxiliary method to obtain the size of every class.
+     * @param starts where the members of each class start.
+     * @return the size of every class.
+     */
+    private static int[] weights(int[] starts) {
+	int[] weights = new int[starts.length - 1];
+
+	for (int i = 0; i < weights.length; i++) {
+	    weights[i] = starts[i + 1] - starts[i];
+	}
+
+	return weights;
+    }
+
+    /**
+     * Expands an ordering of the rows of the reduced matrix into an ordering
+     * of the rows of the matrix, replacing every representative by its
+     * class.
+     * @param reducedRows the ordered rows of the reduced matrix.
+     * @return the ordered rows of the matrix.
+     */
+    public int[] expandRows(int[] reducedRows) {
+	return expand(reducedRows, this.rowClassStart, this.rowMembers);
+    }
+
+    /**
+     * Expands an ordering of the columns of the reduced matrix into an
+     * ordering of the columns of the matrix, replacing every representative
+     * by its class.
+     * @param reducedCols the ordered columns of the reduced matrix.
+     * @return the ordered columns of the matrix.
+     */
+    public int[] expandColumns(int[] reducedCols) {
+	return expand(reducedCols, this.columnClassStart, this.columnMembers);
+    }
+
+    /**
+     * Auxiliary method to expand an ordering of the classes.
+     * @param ordered the ordered classes.
+     * @param starts where the members of each class start.
+     * @param members the elements sorted by class.
+     * @return the ordered elements.
+     */
+    private static int[] expand(int[] ordered, int[] starts, int[] members) {
+	int[] expanded = new int[members.length];
+
+	int k = 0;
+	for (int i : ordered) {
+	    for (int p = starts[i]; p < starts[i + 1]; p++) {
+		expanded[k++] = members[p];
+	    }
+	}
+
+	return expanded;
+    }
+
+    /**
+     * Computes a doubly lexical ordering of the matrix, ordering the reduced
+     * matrix and expanding its ordering.
+     */
+    public void order() {
+	if (this.orderedRows != null) {
+	    return;
+	}
+
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(this.reduced);
+	orderer.order();
+
+	this.orderedRows = expandRows(orderer.getOrderedRows());
+	this.orderedCols = expandColumns(orderer.getOrderedColumns());
+    }
+
+    /**
+     * Returns the ordered rows of the matrix.
+     * @return the ordered rows of the matrix.
+     */
+    public int[] getOrderedRows() {
+	order();
+	return this.orderedRows.clone();
+    }
+
+    /**
+     * Returns the ordered columns of the matrix.
+     * @return the ordered columns of the matrix.
+     */
+    public int[] getOrderedColumns() {
+	order();
+	return this.orderedCols.clone();
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import java.util.Random;
+
+/**
+ * Class with the auxiliary methods shared by the unit tests of the orderers,
+ * to build random matrices and to check the orderings they return.
+ */
+final class Matrices {
+
+    /**
+     * Private constructor, the class only has static methods.
+     */
+    private Matrices() {
+    }
+
+    /**
+     * Auxiliary method to test whether or not a matrix is doubly
+     * lexicographical ordered by the given ordering of its rows and columns.
+     * @param original the original matrix.
+     * @param orderedRows the ordered rows indexes.
+     * @param orderedCols the ordered columns indexes.
+     * @return true if the ordering is doubly lexicographical, false otherwise.
+     */
+    static boolean isOrdered(int[][] original,
+			     int[] orderedRows, int[] orderedCols) {
+	int numRows = orderedRows.length;
+	int numCols = orderedCols.length;
+
+	/* Check that the rows are ordered */
+	for (int i = 0; i < (numRows - 1); i++) {
+	    for (int j = 0; j < numCols; j++) {
+		int a = original[orderedRows[i]][orderedCols[j]];
+		int b = original[orderedRows[i+1]][orderedCols[j]];
+
+		if (a != b) {
+		    /* The first different entry must be a one on the upper
+		     * row. */
+		    if (a < b) { return false; }
+		    break;
+		}
+	    }
+	}
+
+	/* Check that the columns are ordered */
+	for (int j = 0; j < (numCols - 1); j++) {
+	    for (int i = 0; i < numRows; i++) {
+		int a = original[orderedRows[i]][orderedCols[j]];
+		int b = original[orderedRows[i]][orderedCols[j+1]];
+
+		if (a != b) {
+		    /* The first different entry must be a one on the left
+		     * column. */
+		    if (a < b) { return false; }
+		    break;
+		}
+	    }
+	}
+
+	return true;
+    }
+
+    /**
+     * Auxiliary method to check that an array is a permutation of the
+     * integers 0, 1, ..., n-1.
+     * @param permutation the array to check.
+     * @param n the size of the permutation.
+     * @return true if the array is a permutation, false otherwise.
+     */
+    static boolean isPermutation(int[] permutation, int n) {
+	if (permutation.length != n) { return false; }
+
+	boolean[] seen = new boolean[n];
+	for (int e : permutation) {
+	    if (e < 0 || e >= n || seen[e]) { return false; }
+	    seen[e] = true;
+	}
+
+	return true;
+    }
+
+    /**
+     * Auxiliary method to return a random (0,1)-matrix.
+     * @param numRows the amount of rows of the matrix.
+     * @param numCols the amount of columns of the matrix.
+     * @param density the percentage of non-zero entries.
+     * @return a matrix with the given percentage of non-zero entries.
+     */
+    static int[][] buildRandomMatrix(int numRows, int numCols, int density) {
+	int[][] randM = new int[numRows][numCols];
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRows; i++) {
+	    for (int j = 0; j < numCols; j++) {
+		int k = rand.nextInt(100);
+		randM[i][j] = (k < density) ? 1 : 0;
+	    }
+	}
+
+	return randM;
+    }
+
+    /**
+     * Auxiliary method to return the closed neighbourhood matrix of a random
+     * graph, which is symmetric and has ones on its diagonal.
+     * @param n the amount of vertices of the graph.
+     * @param density the percentage of edges of the graph.
+     * @return the closed neighbourhood matrix of the graph.
+     */
+    static int[][] buildRandomGraph(int n, int density) {
+	int[][] randM = new int[n][n];
+
+	Random rand = new Random();
+
+	for (int i = 0; i < n; i++) {
+	    randM[i][i] = 1;
+	    for (int j = i + 1; j < n; j++) {
+		int k = rand.nextInt(100);
+		randM[i][j] = (k < density) ? 1 : 0;
+		randM[j][i] = randM[i][j];
+	    }
+	}
+
+	return randM;
+    }
+}
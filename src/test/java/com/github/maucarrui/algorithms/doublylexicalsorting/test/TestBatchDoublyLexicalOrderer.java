@@ -0,0 +1,55 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.BatchDoublyLexicalOrderer;
+import com.github.maucarrui.algorithms.doublylexicalordering.BitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.Ordering;
+
+/**
+ * Class for the unit tests of the Batch Doubly Lexical Orderer class.
+ */
+public class TestBatchDoublyLexicalOrderer {
+
+    @Test
+    public void shouldReturnOrderingsInInputOrder() {
+	int numRandMatrices = 300;
+	int maxSize = 80;
+
+	Random rand = new Random();
+
+	List<int[][]> originals = new ArrayList<int[][]>();
+	List<BitMatrix> matrices = new ArrayList<BitMatrix>();
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int numRows = rand.nextInt(maxSize) + 1;
+	    int numCols = rand.nextInt(maxSize) + 1;
+	    int density = rand.nextInt(100);
+
+	    int[][] original;
+	    original = Matrices.buildRandomMatrix(numRows, numCols, density);
+	    originals.add(original);
+	    matrices.add(new BitMatrix(original));
+	}
+
+	BatchDoublyLexicalOrderer batch = new BatchDoublyLexicalOrderer(4);
+	List<Ordering> orderings = batch.order(matrices);
+	batch.shutdown();
+
+	assertTrue(orderings.size() == numRandMatrices);
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int[][] original = originals.get(i);
+	    int[] orderedRows = orderings.get(i).getOrderedRows();
+	    int[] orderedCols = orderings.get(i).getOrderedColumns();
+
+	    assertTrue(Matrices.isPermutation(orderedRows, original.length));
+	    assertTrue(Matrices.isPermutation(orderedCols, original[0].length));
+	    assertTrue(Matrices.isOrdered(original, orderedRows, orderedCols));
+	}
+    }
+}
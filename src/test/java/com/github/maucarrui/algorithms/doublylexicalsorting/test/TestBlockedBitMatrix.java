@@ -0,0 +1,225 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.BitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.BlockedBitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.DoublyLexicalOrderer;
+import com.github.maucarrui.algorithms.doublylexicalordering.MappedBitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.OrderingFile;
+
+/**
+ * Class for the unit tests of the Blocked Bit Matrix class.
+ */
+public class TestBlockedBitMatrix {
+
+    /** The maximum heap of the process that orders the big matrix. */
+    private static final String SMALL_HEAP = "-Xmx32m";
+
+    /**
+     * Auxiliary method to return a temporary file, deleted when the tests
+     * finish.
+     * @return the path of the temporary file.
+     * @throws IOException if the file can't be created.
+     */
+    private Path temporaryFile() throws IOException {
+	File file = File.createTempFile("thesis-algorithms", ".bin");
+	file.deleteOnExit();
+
+	return file.toPath();
+    }
+
+    /**
+     * Auxiliary method to return a random bit-packed (0,1)-matrix.
+     * @param numRows the amount of rows of the matrix.
+     * @param numCols the amount of columns of the matrix.
+     * @param density the percentage of non-zero entries.
+     * @return the random matrix.
+     */
+    private BitMatrix buildRandomMatrix(int numRows, int numCols,
+					int density) {
+	BitMatrix randM = new BitMatrix(numRows, numCols);
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRows; i++) {
+	    for (int j = 0; j < numCols; j++) {
+		randM.set(i, j, (rand.nextInt(100) < density) ? 1 : 0);
+	    }
+	}
+
+	return randM;
+    }
+
+    /**
+     * Auxiliary method to order the matrix stored in a file in another
+     * process with a small heap, and compare the ordering with the one of the
+     * mapped matrix.
+     * @param matrixPath the path of the matrix.
+     * @param orderingPath the path where the ordering is written.
+     * @throws IOException if the files can't be read.
+     * @throws InterruptedException if the process is interrupted.
+     */
+    private void orderWithSmallHeap(Path matrixPath, Path orderingPath)
+	throws IOException, InterruptedException {
+	/* Order the matrix in another process with a small heap. */
+	String java = System.getProperty("java.home") + File.separator
+	    + "bin" + File.separator + "java";
+	ProcessBuilder builder;
+	builder = new ProcessBuilder(java, SMALL_HEAP, "-cp",
+				     System.getProperty("java.class.path"),
+				     TestBlockedBitMatrix.class.getName(),
+				     matrixPath.toString(),
+				     orderingPath.toString());
+	builder.inheritIO();
+	assertEquals(0, builder.start().waitFor());
+
+	/* The ordering is the same as the one of the mapped matrix. */
+	MappedBitMatrix mapped = MappedBitMatrix.open(matrixPath);
+	DoublyLexicalOrderer DLO = new DoublyLexicalOrderer(mapped);
+	DLO.order();
+
+	assertArrayEquals(DLO.getOrderedRows(),
+			  OrderingFile.readRows(orderingPath));
+	assertArrayEquals(DLO.getOrderedColumns(),
+			  OrderingFile.readColumns(orderingPath));
+    }
+
+    /**
+     * Orders the matrix stored in a file with a {@link BlockedBitMatrix}, and
+     * writes the ordering into another file. It is run in a process with a
+     * heap much smaller than the matrix.
+     * @param args the path of the matrix and the path of the ordering.
+     * @throws IOException if the files can't be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+	Path path = Paths.get(args[0]);
+
+	try (BlockedBitMatrix matrix = BlockedBitMatrix.open(path)) {
+	    DoublyLexicalOrderer DLO = new DoublyLexicalOrderer(matrix);
+	    DLO.order();
+
+	    OrderingFile.write(Paths.get(args[1]),
+			       DLO.getOrderedRows(), DLO.getOrderedColumns());
+	}
+    }
+
+    @Test
+    public void shouldReadTheWrittenMatrix() throws IOException {
+	BitMatrix original = buildRandomMatrix(70, 130, 50);
+	Path path = temporaryFile();
+	MappedBitMatrix.write(original, path);
+
+	/* Blocks of three rows, and two of them in memory. */
+	try (BlockedBitMatrix blocked = BlockedBitMatrix.open(path, 72, 2)) {
+	    assertEquals(70, blocked.numRows());
+	    assertEquals(130, blocked.numColumns());
+	    assertEquals(3, blocked.rowsPerBlock());
+
+	    Random rand = new Random();
+	    for (int k = 0; k < 5000; k++) {
+		int i = rand.nextInt(70);
+		int j = rand.nextInt(130);
+		assertEquals(original.get(i, j), blocked.get(i, j));
+	    }
+	}
+    }
+
+    @Test
+    public void shouldOrderLikeTheMatrixInMemory() throws IOException {
+	int numRandMatrices = 60;
+	int maxSize = 120;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int numRows = rand.nextInt(maxSize) + 1;
+	    int numCols = rand.nextInt(maxSize) + 1;
+	    BitMatrix original = buildRandomMatrix(numRows, numCols,
+						   rand.nextInt(101));
+	    Path path = temporaryFile();
+	    MappedBitMatrix.write(original, path);
+
+	    DoublyLexicalOrderer inHeap = new DoublyLexicalOrderer(original);
+	    inHeap.order();
+
+	    /* A single row per block, so almost every row is read from the
+	     * file, but the refinements are the same. */
+	    int numBuffers = rand.nextInt(3) + 1;
+	    BlockedBitMatrix blocked;
+	    blocked = BlockedBitMatrix.open(path, 1, numBuffers);
+	    try {
+		DoublyLexicalOrderer inFile = new DoublyLexicalOrderer(blocked);
+		inFile.order();
+
+		assertArrayEquals(inHeap.getOrderedRows(),
+				  inFile.getOrderedRows());
+		assertArrayEquals(inHeap.getOrderedColumns(),
+				  inFile.getOrderedColumns());
+	    } finally {
+		blocked.close();
+	    }
+	}
+    }
+
+    @Test
+    public void shouldOrderWithASmallHeap()
+	throws IOException, InterruptedException {
+	/* A 128 MB matrix whose rows and columns take a few random types. */
+	int numRows = 32768;
+	int numCols = 32768;
+	Path matrixPath = temporaryFile();
+	Path orderingPath = temporaryFile();
+
+	/* The columns of each type of row, about 3% of them. */
+	Random rand = new Random();
+	int[][] columns = new int[37][numCols];
+	int[] numOnes = new int[37];
+	for (int j = 0; j < numCols; j++) {
+	    int colType = rand.nextInt(29);
+	    for (int rowType = 0; rowType < 37; rowType++) {
+		if ((rowType * colType) % 31 == 1) {
+		    columns[rowType][numOnes[rowType]++] = j;
+		}
+	    }
+	}
+
+	MappedBitMatrix created;
+	created = MappedBitMatrix.create(matrixPath, numRows, numCols);
+	for (int i = 0; i < numRows; i++) {
+	    int rowType = rand.nextInt(37);
+	    for (int k = 0; k < numOnes[rowType]; k++) {
+		created.set(i, columns[rowType][k], 1);
+	    }
+	}
+	created.flush();
+	assertTrue(matrixPath.toFile().length() > (128L << 20));
+
+	orderWithSmallHeap(matrixPath, orderingPath);
+    }
+
+    @Test
+    public void shouldOrderRandomMatricesWithASmallHeap()
+	throws IOException, InterruptedException {
+	/* A random matrix, whose ordering has a part for almost every row and
+	 * every column, so the refinement is much longer than the one of a
+	 * matrix with a few types of rows. */
+	Path matrixPath = temporaryFile();
+	Path orderingPath = temporaryFile();
+	MappedBitMatrix.write(buildRandomMatrix(3000, 3000, 50), matrixPath);
+
+	orderWithSmallHeap(matrixPath, orderingPath);
+    }
+}
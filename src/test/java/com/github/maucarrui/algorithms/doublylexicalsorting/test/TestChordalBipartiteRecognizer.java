@@ -0,0 +1,150 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.ChordalBipartiteRecognizer;
+import com.github.maucarrui.algorithms.doublylexicalordering.DoublyLexicalOrderer;
+import com.github.maucarrui.algorithms.doublylexicalordering.GammaSubmatrix;
+
+/**
+ * Class for the unit tests of the Chordal Bipartite Recognizer class.
+ */
+public class TestChordalBipartiteRecognizer {
+
+    /**
+     * Auxiliary method to return the biadjacency matrix of a bipartite graph
+     * padded with zeros to a square matrix.
+     * @param numLeft the amount of vertices of the left side.
+     * @param numRight the amount of vertices of the right side.
+     * @param left the endpoints of the edges in the left side.
+     * @param right the endpoints of the edges in the right side.
+     * @return the padded biadjacency matrix.
+     */
+    private int[][] biadjacency(int numLeft, int numRight,
+				int[] left, int[] right) {
+	int n = Math.max(numLeft, numRight);
+	int[][] matrix = new int[n][n];
+	for (int e = 0; e < left.length; e++) {
+	    matrix[left[e]][right[e]] = 1;
+	}
+
+	return matrix;
+    }
+
+    /**
+     * Auxiliary method to test whether a graph is chordal bipartite by
+     * ordering the dense biadjacency matrix and looking for a Γ by brute
+     * force.
+     * @param matrix the padded biadjacency matrix.
+     * @return true if the graph is chordal bipartite, false otherwise.
+     */
+    private boolean isChordalBipartite(int[][] matrix) {
+	int[][] M = new DoublyLexicalOrderer(matrix).getOrderedMatrix();
+	int n = M.length;
+
+	for (int i = 0; i < n; i++) {
+	    for (int k = i + 1; k < n; k++) {
+		for (int j = 0; j < n; j++) {
+		    for (int l = j + 1; l < n; l++) {
+			if (M[i][j] == 0 && M[i][l] == 1
+			    && M[k][j] == 1 && M[k][l] == 1) {
+			    return false;
+			}
+		    }
+		}
+	    }
+	}
+
+	return true;
+    }
+
+    /**
+     * Auxiliary method to test whether a witness is a Γ of the graph.
+     * @param matrix the padded biadjacency matrix.
+     * @param witness the witness.
+     * @return true if the witness is a Γ, false otherwise.
+     */
+    private boolean isGamma(int[][] matrix, GammaSubmatrix witness) {
+	int top = witness.getTopRow();
+	int bottom = witness.getBottomRow();
+	int left = witness.getLeftColumn();
+	int right = witness.getRightColumn();
+
+	return matrix[top][left] == 0 && matrix[top][right] == 1
+	    && matrix[bottom][left] == 1 && matrix[bottom][right] == 1;
+    }
+
+    @Test
+    public void shouldRecognizeHardcoded() {
+	/* A cycle of length 4, a cycle of length 6, a domino (two cycles of
+	 * length 4 sharing an edge) and a cycle of length 8. */
+	int[][][] graphs = new int[][][]{
+	    {{0, 0, 1, 1}, {0, 1, 0, 1}},
+	    {{0, 0, 1, 1, 2, 2}, {0, 1, 1, 2, 2, 0}},
+	    {{0, 0, 1, 1, 1, 2, 2}, {0, 1, 0, 1, 2, 1, 2}},
+	    {{0, 0, 1, 1, 2, 2, 3, 3}, {0, 1, 1, 2, 2, 3, 3, 0}},
+	};
+	int[] sizes = new int[]{2, 3, 3, 4};
+	boolean[] expected = new boolean[]{true, false, true, false};
+
+	for (int i = 0; i < graphs.length; i++) {
+	    int n = sizes[i];
+	    int[] left = graphs[i][0];
+	    int[] right = graphs[i][1];
+
+	    ChordalBipartiteRecognizer recognizer;
+	    recognizer = new ChordalBipartiteRecognizer(n, n, left, right);
+
+	    assertEquals(expected[i], recognizer.isChordalBipartite());
+	    if (expected[i]) {
+		assertNull(recognizer.getWitness());
+	    } else {
+		int[][] matrix = biadjacency(n, n, left, right);
+		assertTrue(isGamma(matrix, recognizer.getWitness()));
+	    }
+	}
+    }
+
+    @Test
+    public void shouldRecognizeRandoms() {
+	int numRandGraphs = 300;
+	int maxSize = 10;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandGraphs; i++) {
+	    int numLeft = rand.nextInt(maxSize) + 1;
+	    int numRight = rand.nextInt(maxSize) + 1;
+	    int numEdges = rand.nextInt(numLeft * numRight + 1);
+
+	    /* The edges may be repeated. */
+	    int[] left = new int[numEdges];
+	    int[] right = new int[numEdges];
+	    for (int e = 0; e < numEdges; e++) {
+		left[e] = rand.nextInt(numLeft);
+		right[e] = rand.nextInt(numRight);
+	    }
+
+	    int[][] matrix = biadjacency(numLeft, numRight, left, right);
+
+	    ChordalBipartiteRecognizer recognizer;
+	    recognizer = new ChordalBipartiteRecognizer(numLeft, numRight,
+							left, right);
+
+	    boolean expected = isChordalBipartite(matrix);
+	    assertEquals(expected, recognizer.isChordalBipartite());
+	    assertEquals(numLeft, recognizer.getOrderedLeft().length);
+	    assertEquals(numRight, recognizer.getOrderedRight().length);
+
+	    if (!expected) {
+		assertTrue(isGamma(matrix, recognizer.getWitness()));
+	    }
+	}
+    }
+}
@@ -0,0 +1,191 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.file.Path;
+
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.BitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.CompressedMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.DoublyLexicalOrderer;
+import com.github.maucarrui.algorithms.doublylexicalordering.OrderedMatrixView;
+
+/**
+ * Class for the unit tests of the Compressed Matrix class.
+ */
+public class TestCompressedMatrix {
+
+    /**
+     * Auxiliary method to return a temporary file, deleted when the tests
+     * finish.
+     * @return the path of the temporary file.
+     * @throws IOException if the file can't be created.
+     */
+    private Path temporaryFile() throws IOException {
+	File file = File.createTempFile("thesis-algorithms", ".bin");
+	file.deleteOnExit();
+
+	return file.toPath();
+    }
+
+    /**
+     * Auxiliary method to return a random bit-packed (0,1)-matrix.
+     * @param numRows the amount of rows of the matrix.
+     * @param numCols the amount of columns of the matrix.
+     * @param density the percentage of non-zero entries.
+     * @return the random matrix.
+     */
+    private BitMatrix buildRandomMatrix(int numRows, int numCols,
+					int density) {
+	BitMatrix randM = new BitMatrix(numRows, numCols);
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRows; i++) {
+	    for (int j = 0; j < numCols; j++) {
+		randM.set(i, j, (rand.nextInt(100) < density) ? 1 : 0);
+	    }
+	}
+
+	return randM;
+    }
+
+    /**
+     * Auxiliary method to return a random permutation of 0, 1, ..., n-1.
+     * @param n the size of the permutation.
+     * @return the permutation.
+     */
+    private int[] randomPermutation(int n) {
+	Random rand = new Random();
+	int[] perm = new int[n];
+	for (int i = 0; i < n; i++) {
+	    perm[i] = i;
+	}
+	for (int i = n - 1; i > 0; i--) {
+	    int j = rand.nextInt(i + 1);
+	    int tmp = perm[i];
+	    perm[i] = perm[j];
+	    perm[j] = tmp;
+	}
+
+	return perm;
+    }
+
+    /**
+     * Auxiliary method to test whether two matrices have the same entries.
+     * @param expected the expected matrix.
+     * @param actual the actual matrix.
+     * @return true if the matrices are equal, false otherwise.
+     */
+    private boolean isEqual(BitMatrix expected, BitMatrix actual) {
+	if (expected.numRows() != actual.numRows()
+	    || expected.numColumns() != actual.numColumns()) {
+	    return false;
+	}
+
+	for (int i = 0; i < expected.numRows(); i++) {
+	    for (int j = 0; j < expected.numColumns(); j++) {
+		if (expected.get(i, j) != actual.get(i, j)) {
+		    return false;
+		}
+	    }
+	}
+
+	return true;
+    }
+
+    @Test
+    public void shouldDecodeTheEncodedMatrix() {
+	int numRandMatrices = 100;
+	int maxSize = 150;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int numRows = rand.nextInt(maxSize) + 1;
+	    int numCols = rand.nextInt(maxSize) + 1;
+	    BitMatrix matrix = buildRandomMatrix(numRows, numCols,
+						 rand.nextInt(101));
+
+	    int[] rows = randomPermutation(numRows);
+	    int[] cols = randomPermutation(numCols);
+	    CompressedMatrix compressed;
+	    compressed = CompressedMatrix.encode(matrix, rows, cols);
+
+	    assertTrue(isEqual(matrix, compressed.decode()));
+
+	    /* Every row can be decoded on its own. */
+	    OrderedMatrixView view = new OrderedMatrixView(matrix, rows, cols);
+	    int[] row = null;
+	    for (int k = 0; k < 20; k++) {
+		int r = rand.nextInt(numRows);
+		row = compressed.getOrderedRow(r, row);
+		assertArrayEquals(view.getRow(r, null), row);
+	    }
+	}
+    }
+
+    @Test
+    public void shouldCompressOrderedMatrices() {
+	/* A matrix whose rows are nested intervals of shuffled columns. */
+	int n = 256;
+	int[] cols = randomPermutation(n);
+	int[] rows = randomPermutation(n);
+	BitMatrix matrix = new BitMatrix(n, n);
+	for (int i = 0; i < n; i++) {
+	    for (int j = 0; j <= i; j++) {
+		matrix.set(rows[i], cols[j], 1);
+	    }
+	}
+
+	DoublyLexicalOrderer DLO = new DoublyLexicalOrderer(matrix);
+	DLO.order();
+
+	CompressedMatrix ordered = CompressedMatrix.encode(matrix);
+	assertArrayEquals(DLO.getOrderedRows(), ordered.getOrderedRows());
+	assertTrue(isEqual(matrix, ordered.decode()));
+
+	int[] identity = new int[n];
+	for (int i = 0; i < n; i++) {
+	    identity[i] = i;
+	}
+	CompressedMatrix unordered;
+	unordered = CompressedMatrix.encode(matrix, identity, identity);
+
+	/* The staircase is made of two runs per row. */
+	assertTrue(ordered.sizeInBytes() < unordered.sizeInBytes());
+	assertTrue(ordered.sizeInBytes() < 16L * n + 64);
+    }
+
+    @Test
+    public void shouldReadTheWrittenMatrix() throws IOException {
+	BitMatrix matrix = buildRandomMatrix(90, 90, 30);
+	CompressedMatrix compressed = CompressedMatrix.encode(matrix);
+
+	Path path = temporaryFile();
+	compressed.write(path);
+	assertEquals(compressed.sizeInBytes(), path.toFile().length());
+
+	CompressedMatrix read = CompressedMatrix.read(path);
+	assertArrayEquals(compressed.getOrderedRows(), read.getOrderedRows());
+	assertArrayEquals(compressed.getOrderedColumns(),
+			  read.getOrderedColumns());
+	assertTrue(isEqual(matrix, read.decode()));
+
+	int[] row = null;
+	for (int r = 0; r < 90; r++) {
+	    row = read.getRow(r, row);
+	    for (int c = 0; c < 90; c++) {
+		assertEquals(matrix.get(r, c), row[c]);
+	    }
+	}
+    }
+}
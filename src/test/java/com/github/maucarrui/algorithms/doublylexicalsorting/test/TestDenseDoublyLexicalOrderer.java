@@ -0,0 +1,87 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.BitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.DenseDoublyLexicalOrderer;
+
+/**
+ * Class for the unit tests of the Dense Doubly Lexical Orderer class.
+ */
+public class TestDenseDoublyLexicalOrderer {
+
+    @Test
+    public void shouldReturnOrderedMatrixHardcoded() {
+	int[][][] testMatrices = new int[][][]{
+	    {
+		{1, 0, 1, 1},
+		{0, 0, 1, 0},
+		{1, 0, 0, 1},
+		{0, 0, 1, 1},
+	    },
+	    {
+		{0, 1, 0, 1, 1},
+		{0, 1, 0, 0, 0},
+		{0, 0, 1, 0, 1},
+		{0, 0, 0, 1, 1},
+		{0, 0, 0, 0, 0},
+	    },
+	    {
+		{0, 0, 0, 0, 1},
+		{0, 0, 0, 1, 0},
+		{0, 0, 1, 0, 0},
+		{0, 1, 0, 0, 0},
+		{1, 0, 0, 0, 0},
+	    },
+	    {
+		{0, 0, 0},
+		{0, 0, 0},
+	    },
+	};
+
+	for (int[][] original : testMatrices) {
+	    BitMatrix packed = new BitMatrix(original);
+	    DenseDoublyLexicalOrderer orderer;
+	    orderer = new DenseDoublyLexicalOrderer(packed);
+
+	    int[] orderedRows = orderer.getOrderedRows();
+	    int[] orderedCols = orderer.getOrderedColumns();
+
+	    assertTrue(Matrices.isPermutation(orderedRows, original.length));
+	    assertTrue(Matrices.isPermutation(orderedCols, original[0].length));
+	    assertTrue(Matrices.isOrdered(original, orderedRows, orderedCols));
+	}
+    }
+
+    @Test
+    public void shouldReturnOrderedMatrixRandoms() {
+	int numRandMatrices = 200;
+	int maxSize = 150;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int numRows = rand.nextInt(maxSize) + 1;
+	    int numCols = rand.nextInt(maxSize) + 1;
+	    int density = rand.nextInt(100);
+
+	    int[][] original;
+	    original = Matrices.buildRandomMatrix(numRows, numCols, density);
+
+	    BitMatrix packed = new BitMatrix(original);
+	    DenseDoublyLexicalOrderer orderer;
+	    orderer = new DenseDoublyLexicalOrderer(packed);
+
+	    int[] orderedRows = orderer.getOrderedRows();
+	    int[] orderedCols = orderer.getOrderedColumns();
+
+	    assertTrue(Matrices.isPermutation(orderedRows, numRows));
+	    assertTrue(Matrices.isPermutation(orderedCols, numCols));
+	    assertTrue(Matrices.isOrdered(original, orderedRows, orderedCols));
+	}
+    }
+}
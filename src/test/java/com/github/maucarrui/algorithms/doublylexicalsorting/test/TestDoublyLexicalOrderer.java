@@ -1,19 +1,123 @@
 package com.github.maucarrui.algorithms.doublylexicalsorting.test;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+
 import java.lang.String;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.util.Arrays;
 import java.util.Random;
 
+import java.util.concurrent.ForkJoinPool;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.BitMatrix;
 import com.github.maucarrui.algorithms.doublylexicalordering.DoublyLexicalOrderer;
+import com.github.maucarrui.algorithms.doublylexicalordering.OrderedMatrixView;
+import com.github.maucarrui.algorithms.doublylexicalordering.Ordering;
+import com.github.maucarrui.algorithms.doublylexicalordering.OrderingFile;
+import com.github.maucarrui.algorithms.doublylexicalordering.OrderingMetrics;
 
 /**
  * Class for the unit tests of the Doubly Lexical Orderer class.
  */
 public class TestDoublyLexicalOrderer {
+
+    /** The maximum heap of the process that orders a big random matrix. */
+    private static final String SMALL_HEAP = "-Xmx24m";
+
+    /**
+     * Orders a random bit-packed matrix generated from a seed, and writes the
+     * ordering into a file. It is run in a process with a heap a few times
+     * bigger than the matrix.
+     * @param args the amount of rows, the amount of columns, the seed of the
+     *        matrix and the path of the ordering.
+     * @throws IOException if the ordering can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+	int numRows = Integer.parseInt(args[0]);
+	int numCols = Integer.parseInt(args[1]);
+	long seed = Long.parseLong(args[2]);
+
+	DoublyLexicalOrderer DLO;
+	DLO = new DoublyLexicalOrderer(buildRandomMatrix(numRows, numCols,
+							 seed));
+	DLO.order();
+
+	OrderingFile.write(Paths.get(args[3]),
+			   DLO.getOrderedRows(), DLO.getOrderedColumns());
+    }
+
+    /**
+     * Auxiliary method to return a random bit-packed (0,1)-matrix generated
+     * from a seed, so another process can generate the same matrix.
+     * @param numRows the amount of rows of the matrix.
+     * @param numCols the amount of columns of the matrix.
+     * @param seed the seed of the matrix.
+     * @return the random matrix.
+     */
+    private static BitMatrix buildRandomMatrix(int numRows, int numCols,
+					       long seed) {
+	BitMatrix randM = new BitMatrix(numRows, numCols);
+
+	Random rand = new Random(seed);
+
+	for (int i = 0; i < numRows; i++) {
+	    for (int j = 0; j < numCols; j++) {
+		randM.set(i, j, rand.nextInt(2));
+	    }
+	}
+
+	return randM;
+    }
+
+    /**
+     * Auxiliary method to order a random matrix in another process with a
+     * small heap, and compare the ordering with the one of this process.
+     * @param numRows the amount of rows of the matrix.
+     * @param numCols the amount of columns of the matrix.
+     * @throws IOException if the ordering can't be read.
+     * @throws InterruptedException if the process is interrupted.
+     */
+    private void orderWithSmallHeap(int numRows, int numCols)
+	throws IOException, InterruptedException {
+	File file = File.createTempFile("thesis-algorithms", ".bin");
+	file.deleteOnExit();
+	Path orderingPath = file.toPath();
+	long seed = new Random().nextLong();
+
+	String java = System.getProperty("java.home") + File.separator
+	    + "bin" + File.separator + "java";
+	ProcessBuilder builder;
+	builder = new ProcessBuilder(java, SMALL_HEAP, "-cp",
+				     System.getProperty("java.class.path"),
+				     TestDoublyLexicalOrderer.class.getName(),
+				     Integer.toString(numRows),
+				     Integer.toString(numCols),
+				     Long.toString(seed),
+				     orderingPath.toString());
+	builder.inheritIO();
+	assertEquals(0, builder.start().waitFor());
+
+	DoublyLexicalOrderer DLO;
+	DLO = new DoublyLexicalOrderer(buildRandomMatrix(numRows, numCols,
+							 seed));
+	DLO.order();
+
+	assertArrayEquals(DLO.getOrderedRows(),
+			  OrderingFile.readRows(orderingPath));
+	assertArrayEquals(DLO.getOrderedColumns(),
+			  OrderingFile.readColumns(orderingPath));
+    }
     
     /**
      * Auxiliary method to test whether or not a matrix is double
@@ -25,10 +129,11 @@ public class TestDoublyLexicalOrderer {
      */
     private boolean isOrdered(int[][] ordered) {
 	/* Get the size of the matrix */
-	int n = ordered.length;
+	int m = ordered.length;
+	int n = (m == 0) ? 0 : ordered[0].length;
 	
 	/* Check that the rows are ordered */
-	for (int i = 0; i < (n - 1); i++) {
+	for (int i = 0; i < (m - 1); i++) {
 	    String a = "";
 	    String b = "";
 	    
@@ -49,7 +154,7 @@ public class TestDoublyLexicalOrderer {
 	    String a = "";
 	    String b = "";
 	    
-	    for (int i = 0; i < n; i++) {
+	    for (int i = 0; i < m; i++) {
 		a += Integer.toString(ordered[i][j]);
 		b += Integer.toString(ordered[i][j+1]);
 	    }
@@ -238,4 +343,520 @@ public class TestDoublyLexicalOrderer {
 	    assertTrue(isConsistent(original, ordered, orderedRows, orderedCols));
 	}
     }
+
+    @Test
+    public void shouldReturnOrderedBitMatrixRandoms(){
+	int numRandMatrices = 100;
+	int maxSize = 200;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int size = rand.nextInt(maxSize) + 1;
+
+	    int[][] original = buildRandomMatrix(size);
+	    BitMatrix packed = new BitMatrix(original);
+
+	    DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(packed);
+	    int[][] ordered   = orderer.getOrderedMatrix();
+	    int[] orderedRows = orderer.getOrderedRows();
+	    int[] orderedCols = orderer.getOrderedColumns();
+
+	    assertTrue(isOrdered(ordered));
+	    assertTrue(isConsistent(original, ordered, orderedRows, orderedCols));
+	}
+    }
+
+    @Test
+    public void shouldReuseRowCountsWhenOrderingAgain(){
+	int[][] original = buildRandomMatrix(150);
+
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(original);
+	int[][] first = orderer.getOrderedMatrix();
+	int growths = orderer.getArenaGrowthCount();
+	int[][] second = orderer.getOrderedMatrix();
+
+	assertTrue(isOrdered(second));
+	assertTrue(Arrays.deepEquals(first, second));
+	assertTrue(orderer.getArenaGrowthCount() == growths);
+    }
+
+    @Test
+    public void shouldReturnOrderedView(){
+	int[][] original = buildRandomMatrix(120);
+
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(original);
+	OrderedMatrixView view = orderer.getOrderedView();
+	int[][] ordered = orderer.getOrderedMatrix();
+
+	assertTrue(view.numRows() == ordered.length);
+	assertTrue(view.numColumns() == ordered[0].length);
+
+	int[] row = null;
+	for (int i = 0; i < view.numRows(); i++) {
+	    row = view.getRow(i, row);
+	    for (int j = 0; j < view.numColumns(); j++) {
+		assertTrue(view.get(i, j) == ordered[i][j]);
+		assertTrue(row[j] == ordered[i][j]);
+	    }
+	}
+    }
+
+    /**
+     * Auxiliary method to return a matrix with its rows and columns in the
+     * given order.
+     * @param original the original matrix.
+     * @param orderedRows the ordered rows indexes.
+     * @param orderedCols the ordered columns indexes.
+     * @return the matrix with its rows and columns in the given order.
+     */
+    private int[][] permute(int[][] original,
+			    int[] orderedRows, int[] orderedCols) {
+	int[][] permuted = new int[orderedRows.length][orderedCols.length];
+
+	for (int i = 0; i < orderedRows.length; i++) {
+	    for (int j = 0; j < orderedCols.length; j++) {
+		permuted[i][j] = original[orderedRows[i]][orderedCols[j]];
+	    }
+	}
+
+	return permuted;
+    }
+
+    @Test
+    public void shouldReturnOrderedMatrixAfterUpdates(){
+	int size = 80;
+	int[][] original = buildRandomMatrix(size);
+
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(original);
+	orderer.order();
+
+	Random rand = new Random();
+
+	for (int u = 0; u < 50; u++) {
+	    /* Flip a few random entries. */
+	    int numFlips = rand.nextInt(4) + 1;
+	    int[] rows = new int[numFlips];
+	    int[] cols = new int[numFlips];
+	    int[] values = new int[numFlips];
+	    for (int k = 0; k < numFlips; k++) {
+		rows[k] = rand.nextInt(size);
+		cols[k] = rand.nextInt(size);
+		values[k] = 1 - original[rows[k]][cols[k]];
+		original[rows[k]][cols[k]] = values[k];
+	    }
+
+	    Ordering ordering = orderer.update(rows, cols, values);
+	    int[] orderedRows = ordering.getOrderedRows();
+	    int[] orderedCols = ordering.getOrderedColumns();
+
+	    assertTrue(isOrdered(permute(original, orderedRows, orderedCols)));
+	}
+    }
+
+    @Test
+    public void shouldReturnOrderedMatrixAfterLocalUpdates(){
+	int numRows = 90;
+	int numCols = 70;
+	Random rand = new Random();
+
+	for (int density = 10; density <= 90; density += 40) {
+	    int[][] original;
+	    original = Matrices.buildRandomMatrix(numRows, numCols, density);
+
+	    DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(original);
+	    orderer.order();
+	    int[] orderedRows = orderer.getOrderedRows();
+	    int[] orderedCols = orderer.getOrderedColumns();
+
+	    for (int u = 0; u < 30; u++) {
+		/* Flip a few entries among the last rows and columns of the
+		 * current ordering, so most refinements are kept. */
+		int numFlips = rand.nextInt(4) + 1;
+		int[] rows = new int[numFlips];
+		int[] cols = new int[numFlips];
+		int[] values = new int[numFlips];
+		for (int k = 0; k < numFlips; k++) {
+		    rows[k] = orderedRows[numRows - 1 - rand.nextInt(10)];
+		    cols[k] = orderedCols[numCols - 1 - rand.nextInt(10)];
+		    values[k] = 1 - original[rows[k]][cols[k]];
+		    original[rows[k]][cols[k]] = values[k];
+		}
+
+		Ordering ordering = orderer.update(rows, cols, values);
+		orderedRows = ordering.getOrderedRows();
+		orderedCols = ordering.getOrderedColumns();
+
+		assertTrue(Matrices.isPermutation(orderedRows, numRows));
+		assertTrue(Matrices.isPermutation(orderedCols, numCols));
+		assertTrue(Matrices.isOrdered(original,
+					      orderedRows, orderedCols));
+	    }
+	}
+    }
+
+    @Test
+    public void shouldReturnOrderedMatrixFromGroups(){
+	int size = 100;
+	int[][] original = buildRandomMatrix(size);
+
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(original);
+	orderer.order();
+	int[] previousRows = orderer.getOrderedRows();
+	int[] previousCols = orderer.getOrderedColumns();
+
+	/* Group the rows and columns as in a previous ordering. */
+	int[] rowGroups = new int[size];
+	int[] columnGroups = new int[size];
+	for (int k = 0; k < size; k++) {
+	    rowGroups[previousRows[k]] = k / 25;
+	    columnGroups[previousCols[k]] = k / 25;
+	}
+	orderer.order(rowGroups, columnGroups);
+	assertTrue(isOrdered(permute(original, orderer.getOrderedRows(),
+				     orderer.getOrderedColumns())));
+
+	/* Random groups may not be compatible with any ordering. */
+	Random rand = new Random();
+	for (int k = 0; k < size; k++) {
+	    rowGroups[k] = rand.nextInt(3);
+	    columnGroups[k] = rand.nextInt(3);
+	}
+	orderer.order(rowGroups, columnGroups);
+	assertTrue(isOrdered(permute(original, orderer.getOrderedRows(),
+				     orderer.getOrderedColumns())));
+    }
+
+    @Test
+    public void shouldKeepTheGroupsOfAPreviousOrdering(){
+	int size = 120;
+	int[][] original = Matrices.buildRandomMatrix(size, size, 50);
+
+	OrderingMetrics metrics = new OrderingMetrics();
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(original);
+	orderer.setMetrics(metrics);
+	orderer.order();
+	long scratch = metrics.getColumnRefinements()
+	    + metrics.getRowRefinements();
+	int[] previousRows = orderer.getOrderedRows();
+	int[] previousCols = orderer.getOrderedColumns();
+
+	for (int groupSize = 60; groupSize >= 2; groupSize /= 2) {
+	    int[] rowGroups = new int[size];
+	    int[] columnGroups = new int[size];
+	    for (int k = 0; k < size; k++) {
+		rowGroups[previousRows[k]] = k / groupSize;
+		columnGroups[previousCols[k]] = k / groupSize;
+	    }
+
+	    /* The refinements agree with the previous ordering, so the matrix
+	     * is not ordered from scratch again. */
+	    metrics.reset();
+	    orderer.order(rowGroups, columnGroups);
+	    long seeded = metrics.getColumnRefinements()
+		+ metrics.getRowRefinements();
+	    assertTrue(seeded < scratch);
+	    assertTrue(Matrices.isOrdered(original, orderer.getOrderedRows(),
+					  orderer.getOrderedColumns()));
+	}
+    }
+
+    @Test
+    public void shouldRejectGroupsOfAnotherSize(){
+	DoublyLexicalOrderer orderer;
+	orderer = new DoublyLexicalOrderer(buildRandomMatrix(10));
+
+	try {
+	    orderer.order(new int[9], new int[10]);
+	    assertTrue(false);
+	} catch (IllegalArgumentException e) {
+	    assertTrue(e.getMessage().startsWith("Expected"));
+	}
+
+	try {
+	    orderer.order(new int[10], new int[11]);
+	    assertTrue(false);
+	} catch (IllegalArgumentException e) {
+	    assertTrue(e.getMessage().startsWith("Expected"));
+	}
+    }
+
+    @Test
+    public void shouldReturnOrderedMatrixWithTranspose(){
+	int[][] original = buildRandomMatrix(150);
+	BitMatrix packed = new BitMatrix(original);
+
+	BitMatrix transpose = packed.transpose();
+	for (int i = 0; i < original.length; i++) {
+	    for (int j = 0; j < original.length; j++) {
+		assertTrue(transpose.get(j, i) == original[i][j]);
+	    }
+	}
+
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(packed);
+	orderer.setTransposeEnabled(true);
+	int[][] ordered   = orderer.getOrderedMatrix();
+	int[] orderedRows = orderer.getOrderedRows();
+	int[] orderedCols = orderer.getOrderedColumns();
+
+	assertTrue(isOrdered(ordered));
+	assertTrue(isConsistent(original, ordered, orderedRows, orderedCols));
+    }
+
+    @Test
+    public void shouldReturnSameOrderingInParallel(){
+	/* The matrix is big enough to determine its first block in
+	 * parallel. */
+	int[][] original = buildRandomMatrix(2100);
+	BitMatrix packed = new BitMatrix(original);
+
+	DoublyLexicalOrderer sequential = new DoublyLexicalOrderer(packed);
+	sequential.order();
+
+	ForkJoinPool pool = new ForkJoinPool(4);
+	DoublyLexicalOrderer parallel = new DoublyLexicalOrderer(packed);
+	parallel.setPool(pool);
+	int[][] ordered   = parallel.getOrderedMatrix();
+	int[] orderedRows = parallel.getOrderedRows();
+	int[] orderedCols = parallel.getOrderedColumns();
+	pool.shutdown();
+
+	assertTrue(isConsistent(original, ordered, orderedRows, orderedCols));
+	assertTrue(Arrays.equals(orderedRows, sequential.getOrderedRows()));
+	assertTrue(Arrays.equals(orderedCols, sequential.getOrderedColumns()));
+    }
+
+    @Test
+    public void shouldCollectMetrics(){
+	int[][] original = buildRandomMatrix(120);
+	BitMatrix packed = new BitMatrix(original);
+
+	DoublyLexicalOrderer plain = new DoublyLexicalOrderer(packed);
+	plain.order();
+
+	OrderingMetrics metrics = new OrderingMetrics();
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(packed);
+	orderer.setMetrics(metrics);
+	int[][] ordered = orderer.getOrderedMatrix();
+
+	/* The metrics don't change the ordering. */
+	assertTrue(isOrdered(ordered));
+	assertTrue(Arrays.equals(plain.getOrderedRows(),
+				 orderer.getOrderedRows()));
+	assertTrue(Arrays.equals(plain.getOrderedColumns(),
+				 orderer.getOrderedColumns()));
+
+	/* Every refinement creates two blocks for each block it splits. */
+	long refinements = metrics.getColumnRefinements()
+	    + metrics.getRowRefinements();
+	assertTrue(refinements > 0);
+	assertTrue(metrics.getBlocksCreated() >= 1 + 2 * refinements);
+	assertTrue(metrics.getSplittingRowScans() >= refinements);
+	assertTrue(metrics.getCellsTouched() >= 120 * 120);
+	assertTrue(metrics.getMaxRowParts() <= 120);
+	assertTrue(metrics.getMaxColumnParts() <= 120);
+	assertTrue(metrics.getBuildNanos() > 0);
+
+	String[] header = OrderingMetrics.csvHeader().split(",");
+	String[] values = metrics.toCsv().split(",");
+	assertTrue(header.length == values.length);
+
+	/* The identity is split in a part for every row and column. */
+	int[][] identity = new int[50][50];
+	for (int i = 0; i < 50; i++) {
+	    identity[i][i] = 1;
+	}
+	metrics.reset();
+	orderer = new DoublyLexicalOrderer(identity);
+	orderer.setMetrics(metrics);
+	orderer.order();
+	assertTrue(metrics.getMaxRowParts() == 50);
+	assertTrue(metrics.getMaxColumnParts() == 50);
+    }
+
+    @Test
+    public void shouldRenderWindowOfParts() throws IOException {
+	/* The identity has a part for every row and column. */
+	int size = 40;
+	int[][] identity = new int[size][size];
+	for (int i = 0; i < size; i++) {
+	    identity[i][i] = 1;
+	}
+
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(identity);
+	orderer.order();
+
+	StringWriter full = new StringWriter();
+	orderer.render(full, Integer.MAX_VALUE, Integer.MAX_VALUE,
+		       Integer.MAX_VALUE, Integer.MAX_VALUE);
+	assertTrue(full.toString().equals(orderer.toString()));
+	assertTrue(full.toString().split("\n").length == 3 * size);
+
+	/* Only two row parts of three boxes each are written. */
+	StringBuilder window = new StringBuilder();
+	orderer.render(window, 2, 3, Integer.MAX_VALUE, Integer.MAX_VALUE);
+	String[] lines = window.toString().split("\n");
+	assertTrue(lines.length == 3 * 2 + 1);
+	assertTrue(lines[0].equals("┌───┐┌───┐┌───┐ ⋯"));
+	assertTrue(lines[1].equals("│ 1 ││ 0 ││ 0 │ ⋯"));
+	assertTrue(lines[6].equals("⋮"));
+    }
+
+    @Test
+    public void shouldRenderWindowOfBigParts() throws IOException {
+	/* Before ordering, the identity is a single block. */
+	int size = 40;
+	int[][] identity = new int[size][size];
+	for (int i = 0; i < size; i++) {
+	    identity[i][i] = 1;
+	}
+	DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(identity);
+
+	/* Only three rows and four columns of the block are written. */
+	StringBuilder window = new StringBuilder();
+	orderer.render(window, 1, 1, 3, 4);
+	String[] lines = window.toString().split("\n");
+	assertTrue(lines.length == 3 + 3);
+	assertTrue(lines[0].equals("┌───────────────┐"));
+	assertTrue(lines[1].equals("│ 1  0  0  0  ⋯ │"));
+	assertTrue(lines[3].equals("│ 0  0  1  0  ⋯ │"));
+	assertTrue(lines[4].equals("│ ⋮  ⋮  ⋮  ⋮  ⋱ │"));
+	assertTrue(lines[5].equals("└───────────────┘"));
+    }
+
+    @Test
+    public void shouldReturnOrderedRectangularMatrices(){
+	int numRandMatrices = 200;
+	int maxSize = 60;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    /* Tall and wide matrices, one side is much shorter. */
+	    int longSide = rand.nextInt(maxSize) + 1;
+	    int shortSide = rand.nextInt(8) + 1;
+	    int numRows = (i % 2 == 0) ? longSide : shortSide;
+	    int numCols = (i % 2 == 0) ? shortSide : longSide;
+
+	    int[][] original = new int[numRows][numCols];
+	    for (int r = 0; r < numRows; r++) {
+		for (int c = 0; c < numCols; c++) {
+		    original[r][c] = rand.nextInt(2);
+		}
+	    }
+
+	    DoublyLexicalOrderer orderer = new DoublyLexicalOrderer(original);
+	    orderer.setTransposeEnabled(i % 4 < 2);
+	    int[][] ordered   = orderer.getOrderedMatrix();
+	    int[] orderedRows = orderer.getOrderedRows();
+	    int[] orderedCols = orderer.getOrderedColumns();
+
+	    assertTrue(ordered.length == numRows);
+	    assertTrue(ordered[0].length == numCols);
+	    assertTrue(orderedRows.length == numRows);
+	    assertTrue(orderedCols.length == numCols);
+	    assertTrue(isOrdered(ordered));
+	    assertTrue(isConsistent(original, ordered,
+				    orderedRows, orderedCols));
+
+	    OrderedMatrixView view = orderer.getOrderedView();
+	    assertTrue(view.numRows() == numRows);
+	    assertTrue(view.numColumns() == numCols);
+
+	    /* Updating an entry keeps the matrix rectangular. */
+	    int r = rand.nextInt(numRows);
+	    int c = rand.nextInt(numCols);
+	    original[r][c] = 1 - original[r][c];
+	    Ordering ordering = orderer.update(new int[]{r}, new int[]{c},
+					       new int[]{original[r][c]});
+	    assertTrue(isOrdered(permute(original, ordering.getOrderedRows(),
+					 ordering.getOrderedColumns())));
+	}
+    }
+
+    @Test
+    public void shouldResumeFromSnapshots() throws IOException {
+	int numRandMatrices = 100;
+	int maxSize = 100;
+
+	Random rand = new Random();
+	File file = File.createTempFile("thesis-algorithms", ".dlos");
+	file.deleteOnExit();
+	Path path = file.toPath();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int numRows = rand.nextInt(maxSize) + 2;
+	    int numCols = rand.nextInt(maxSize) + 2;
+	    int[][] original = new int[numRows][numCols];
+	    for (int r = 0; r < numRows; r++) {
+		for (int c = 0; c < numCols; c++) {
+		    original[r][c] = rand.nextInt(2);
+		}
+	    }
+
+	    /* Order the matrix writing snapshots, the last one is resumed. */
+	    int interval = rand.nextInt(20) + 1;
+	    file.delete();
+	    DoublyLexicalOrderer writer = new DoublyLexicalOrderer(original);
+	    writer.setSnapshots(path, interval);
+	    writer.order();
+
+	    /* Writing the snapshots doesn't change the refinement. */
+	    DoublyLexicalOrderer plain = new DoublyLexicalOrderer(original);
+	    plain.order();
+	    assertArrayEquals(plain.getOrderedRows(), writer.getOrderedRows());
+	    assertArrayEquals(plain.getOrderedColumns(),
+			      writer.getOrderedColumns());
+	    if (!file.exists()) {
+		continue;
+	    }
+
+	    /* The snapshot is linear in the amount of rows and columns. */
+	    assertTrue(file.length() <= 4 * (11 + 6 * numRows + 3 * numCols));
+
+	    DoublyLexicalOrderer reader = new DoublyLexicalOrderer(original);
+	    reader.setSnapshots(path, interval);
+	    reader.resume(path);
+
+	    int[] orderedRows = reader.getOrderedRows();
+	    int[] orderedCols = reader.getOrderedColumns();
+	    assertArrayEquals(writer.getOrderedRows(), orderedRows);
+	    assertArrayEquals(writer.getOrderedColumns(), orderedCols);
+	    assertTrue(isOrdered(permute(original, orderedRows, orderedCols)));
+	}
+
+	/* A snapshot of another matrix is rejected. */
+	int[][] identity = new int[4][4];
+	for (int k = 0; k < 4; k++) {
+	    identity[k][k] = 1;
+	}
+	DoublyLexicalOrderer writer = new DoublyLexicalOrderer(identity);
+	writer.setSnapshots(path, 1);
+	writer.order();
+
+	DoublyLexicalOrderer other = new DoublyLexicalOrderer(new int[3][5]);
+	try {
+	    other.resume(path);
+	    assertTrue(false);
+	} catch (IOException e) {
+	    assertTrue(e.getMessage().startsWith("The snapshot is not"));
+	}
+    }
+
+    @Test
+    public void shouldOrderRandomMatricesWithASmallHeap()
+	throws IOException, InterruptedException {
+	/* A 1 MB matrix, whose ordering has a part for almost every row and
+	 * every column. */
+	orderWithSmallHeap(3000, 3000);
+    }
+
+    @Test
+    public void shouldOrderTallMatricesWithASmallHeap()
+	throws IOException, InterruptedException {
+	/* A 2 MB matrix with a part for almost every row and 256 column parts,
+	 * the working memory must not grow with the amount of rows times the
+	 * amount of column parts. */
+	orderWithSmallHeap(60000, 256);
+    }
 }
@@ -0,0 +1,223 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.BitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.DoublyLexicalOrderer;
+import com.github.maucarrui.algorithms.doublylexicalordering.GammaFreeChecker;
+import com.github.maucarrui.algorithms.doublylexicalordering.GammaSubmatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.SparseMatrix;
+
+/**
+ * Class for the unit tests of the Gamma Free Checker class.
+ */
+public class TestGammaFreeChecker {
+
+    /**
+     * Auxiliary method to test whether a permuted matrix has a Γ by brute
+     * force, checking every pair of rows and every pair of columns.
+     * @param matrix the original matrix.
+     * @param rows the ordered rows.
+     * @param cols the ordered columns.
+     * @return true if the permuted matrix has a Γ, false otherwise.
+     */
+    private boolean hasGamma(int[][] matrix, int[] rows, int[] cols) {
+	for (int i = 0; i < rows.length; i++) {
+	    for (int k = i + 1; k < rows.length; k++) {
+		for (int j = 0; j < cols.length; j++) {
+		    for (int l = j + 1; l < cols.length; l++) {
+			GammaSubmatrix G = new GammaSubmatrix(rows[i], rows[k],
+							      cols[j], cols[l]);
+			if (isGamma(matrix, G)) {
+			    return true;
+			}
+		    }
+		}
+	    }
+	}
+
+	return false;
+    }
+
+    /**
+     * Auxiliary method to test whether a witness is a Γ of the matrix.
+     * @param matrix the original matrix.
+     * @param witness the witness.
+     * @return true if the witness is a Γ, false otherwise.
+     */
+    private boolean isGamma(int[][] matrix, GammaSubmatrix witness) {
+	int top = witness.getTopRow();
+	int bottom = witness.getBottomRow();
+	int left = witness.getLeftColumn();
+	int right = witness.getRightColumn();
+
+	return matrix[top][left] == 0 && matrix[top][right] == 1
+	    && matrix[bottom][left] == 1 && matrix[bottom][right] == 1;
+    }
+
+    /**
+     * Auxiliary method to test whether the rows and columns of a witness are
+     * in the order of the permutation.
+     * @param witness the witness.
+     * @param rows the ordered rows.
+     * @param cols the ordered columns.
+     * @return true if the witness respects the order, false otherwise.
+     */
+    private boolean isOrdered(GammaSubmatrix witness, int[] rows, int[] cols) {
+	return indexOf(rows, witness.getTopRow())
+	    < indexOf(rows, witness.getBottomRow())
+	    && indexOf(cols, witness.getLeftColumn())
+	    < indexOf(cols, witness.getRightColumn());
+    }
+
+    /**
+     * Auxiliary method to return the position of an element in an array.
+     * @param array the array.
+     * @param element the element.
+     * @return the position of the element, -1 if it's not in the array.
+     */
+    private int indexOf(int[] array, int element) {
+	for (int i = 0; i < array.length; i++) {
+	    if (array[i] == element) {
+		return i;
+	    }
+	}
+
+	return -1;
+    }
+
+    /**
+     * Auxiliary method to return a random permutation of 0, 1, ..., n-1.
+     * @param n the size of the permutation.
+     * @param rand the random generator.
+     * @return the permutation.
+     */
+    private int[] randomPermutation(int n, Random rand) {
+	int[] perm = new int[n];
+	for (int i = 0; i < n; i++) {
+	    perm[i] = i;
+	}
+	for (int i = n - 1; i > 0; i--) {
+	    int j = rand.nextInt(i + 1);
+	    int tmp = perm[i];
+	    perm[i] = perm[j];
+	    perm[j] = tmp;
+	}
+
+	return perm;
+    }
+
+    /**
+     * Auxiliary method to return a random (0,1)-matrix.
+     * @param numRows the amount of rows.
+     * @param numCols the amount of columns.
+     * @param density the percentage of non-zero entries.
+     * @param rand the random generator.
+     * @return the random matrix.
+     */
+    private int[][] randomMatrix(int numRows, int numCols, int density,
+				 Random rand) {
+	int[][] matrix = new int[numRows][numCols];
+	for (int i = 0; i < numRows; i++) {
+	    for (int j = 0; j < numCols; j++) {
+		matrix[i][j] = (rand.nextInt(100) < density) ? 1 : 0;
+	    }
+	}
+
+	return matrix;
+    }
+
+    @Test
+    public void shouldCheckHardcoded() {
+	/* The Γ itself, and an ordered matrix without it. */
+	int[][] gamma = {{0, 1}, {1, 1}};
+	int[] identity = {0, 1};
+
+	GammaFreeChecker checker;
+	checker = new GammaFreeChecker(gamma, identity, identity);
+	assertFalse(checker.isGammaFree());
+	GammaSubmatrix witness = checker.getWitness();
+	assertEquals(0, witness.getTopRow());
+	assertEquals(1, witness.getBottomRow());
+	assertEquals(0, witness.getLeftColumn());
+	assertEquals(1, witness.getRightColumn());
+
+	/* Swapping the rows removes the Γ. */
+	checker = new GammaFreeChecker(gamma, new int[]{1, 0}, identity);
+	assertTrue(checker.isGammaFree());
+	assertNull(checker.getWitness());
+
+	int[][] staircase = {{1, 1, 1}, {1, 1, 0}, {1, 0, 0}};
+	int[] order = {0, 1, 2};
+	checker = new GammaFreeChecker(staircase, order, order);
+	assertTrue(checker.isGammaFree());
+    }
+
+    @Test
+    public void shouldCheckRandomPermutations() {
+	int numRandMatrices = 500;
+	int maxSize = 8;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int numRows = rand.nextInt(maxSize) + 1;
+	    int numCols = rand.nextInt(maxSize) + 1;
+	    int[][] matrix = randomMatrix(numRows, numCols,
+					  rand.nextInt(100), rand);
+	    int[] rows = randomPermutation(numRows, rand);
+	    int[] cols = randomPermutation(numCols, rand);
+
+	    GammaFreeChecker checker;
+	    checker = new GammaFreeChecker(matrix, rows, cols);
+
+	    assertEquals(!hasGamma(matrix, rows, cols), checker.isGammaFree());
+	    if (!checker.isGammaFree()) {
+		GammaSubmatrix witness = checker.getWitness();
+		assertTrue(isGamma(matrix, witness));
+		assertTrue(isOrdered(witness, rows, cols));
+	    }
+	}
+    }
+
+    @Test
+    public void shouldCheckDoublyLexicalOrderings() {
+	int numRandMatrices = 300;
+	int maxSize = 12;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int n = rand.nextInt(maxSize) + 1;
+	    int[][] matrix = randomMatrix(n, n, rand.nextInt(100), rand);
+
+	    DoublyLexicalOrderer DLO = new DoublyLexicalOrderer(matrix);
+	    DLO.order();
+	    int[] rows = DLO.getOrderedRows();
+	    int[] cols = DLO.getOrderedColumns();
+
+	    boolean expected = !hasGamma(matrix, rows, cols);
+
+	    /* Every representation of the matrix gives the same answer. */
+	    GammaFreeChecker[] checkers = new GammaFreeChecker[]{
+		new GammaFreeChecker(matrix, rows, cols),
+		new GammaFreeChecker(new BitMatrix(matrix), rows, cols),
+		new GammaFreeChecker(new SparseMatrix(matrix), rows, cols),
+	    };
+
+	    for (GammaFreeChecker checker : checkers) {
+		assertEquals(expected, checker.isGammaFree());
+		if (!expected) {
+		    assertTrue(isGamma(matrix, checker.getWitness()));
+		}
+	    }
+	}
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.file.Path;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.BitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.DoublyLexicalOrderer;
+import com.github.maucarrui.algorithms.doublylexicalordering.MappedBitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.OrderingFile;
+
+/**
+ * Class for the unit tests of the Mapped Bit Matrix class.
+ */
+public class TestMappedBitMatrix {
+
+    /**
+     * Auxiliary method to return a temporary file, deleted when the tests
+     * finish.
+     * @return the path of the temporary file.
+     * @throws IOException if the file can't be created.
+     */
+    private Path temporaryFile() throws IOException {
+	File file = File.createTempFile("thesis-algorithms", ".bin");
+	file.deleteOnExit();
+
+	return file.toPath();
+    }
+
+    /**
+     * Auxiliary method to return a random bit-packed (0,1)-matrix.
+     * @param numRows the amount of rows of the matrix.
+     * @param numCols the amount of columns of the matrix.
+     * @return a matrix where each entry is a random value between 0 and 1.
+     */
+    private BitMatrix buildRandomMatrix(int numRows, int numCols) {
+	BitMatrix randM = new BitMatrix(numRows, numCols);
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRows; i++) {
+	    for (int j = 0; j < numCols; j++) {
+		randM.set(i, j, rand.nextInt(2));
+	    }
+	}
+
+	return randM;
+    }
+
+    @Test
+    public void shouldReadTheWrittenMatrix() throws IOException {
+	BitMatrix original = buildRandomMatrix(70, 130);
+	Path path = temporaryFile();
+
+	MappedBitMatrix.write(original, path);
+	MappedBitMatrix mapped = MappedBitMatrix.open(path);
+
+	assertTrue(mapped.numRows() == 70);
+	assertTrue(mapped.numColumns() == 130);
+	for (int i = 0; i < 70; i++) {
+	    for (int j = 0; j < 130; j++) {
+		assertTrue(mapped.get(i, j) == original.get(i, j));
+	    }
+	}
+    }
+
+    @Test
+    public void shouldOrderTheMappedMatrix() throws IOException {
+	BitMatrix original = buildRandomMatrix(150, 150);
+	Path matrixPath = temporaryFile();
+	Path orderingPath = temporaryFile();
+
+	MappedBitMatrix.write(original, matrixPath);
+	MappedBitMatrix mapped = MappedBitMatrix.open(matrixPath);
+
+	/* The ordering doesn't depend on where the matrix is stored. */
+	DoublyLexicalOrderer inHeap = new DoublyLexicalOrderer(original);
+	DoublyLexicalOrderer inFile = new DoublyLexicalOrderer(mapped);
+	inHeap.order();
+	inFile.order();
+
+	int[] orderedRows = inFile.getOrderedRows();
+	int[] orderedCols = inFile.getOrderedColumns();
+	assertTrue(Arrays.equals(orderedRows, inHeap.getOrderedRows()));
+	assertTrue(Arrays.equals(orderedCols, inHeap.getOrderedColumns()));
+
+	OrderingFile.write(orderingPath, orderedRows, orderedCols);
+	assertTrue(Arrays.equals(orderedRows,
+				 OrderingFile.readRows(orderingPath)));
+	assertTrue(Arrays.equals(orderedCols,
+				 OrderingFile.readColumns(orderingPath)));
+    }
+
+    @Test
+    public void shouldWriteThroughTheMapping() throws IOException {
+	Path path = temporaryFile();
+
+	MappedBitMatrix created = MappedBitMatrix.create(path, 10, 65);
+	created.set(3, 64, 1);
+	created.set(9, 0, 1);
+	created.flush();
+
+	MappedBitMatrix mapped = MappedBitMatrix.open(path);
+	assertTrue(mapped.get(3, 64) == 1);
+	assertTrue(mapped.get(9, 0) == 1);
+	assertTrue(mapped.get(3, 63) == 0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.SparseMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.SparseDoublyLexicalOrderer;
+
+/**
+ * Class for the unit tests of the Sparse Doubly Lexical Orderer class.
+ */
+public class TestSparseDoublyLexicalOrderer {
+
+    @Test
+    public void shouldReturnOrderedMatrixHardcoded() {
+	int[][][] testMatrices = new int[][][]{
+	    {
+		{1, 0, 1, 1},
+		{0, 0, 1, 0},
+		{1, 0, 0, 1},
+		{0, 0, 1, 1},
+	    },
+	    {
+		{0, 1, 0, 1, 1},
+		{0, 1, 0, 0, 0},
+		{0, 0, 1, 0, 1},
+		{0, 0, 0, 1, 1},
+		{0, 0, 0, 0, 0},
+	    },
+	    {
+		{0, 0, 0, 0, 1},
+		{0, 0, 0, 1, 0},
+		{0, 0, 1, 0, 0},
+		{0, 1, 0, 0, 0},
+		{1, 0, 0, 0, 0},
+	    },
+	    {
+		{0, 0, 0},
+		{0, 0, 0},
+	    },
+	};
+
+	for (int[][] original : testMatrices) {
+	    SparseMatrix sparse = new SparseMatrix(original);
+	    SparseDoublyLexicalOrderer orderer;
+	    orderer = new SparseDoublyLexicalOrderer(sparse);
+
+	    int[] orderedRows = orderer.getOrderedRows();
+	    int[] orderedCols = orderer.getOrderedColumns();
+
+	    assertTrue(Matrices.isPermutation(orderedRows, original.length));
+	    assertTrue(Matrices.isPermutation(orderedCols, original[0].length));
+	    assertTrue(Matrices.isOrdered(original, orderedRows, orderedCols));
+	}
+    }
+
+    @Test
+    public void shouldReturnOrderedMatrixRandoms() {
+	int numRandMatrices = 200;
+	int maxSize = 150;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int numRows = rand.nextInt(maxSize) + 1;
+	    int numCols = rand.nextInt(maxSize) + 1;
+	    int density = rand.nextInt(50) + 1;
+
+	    int[][] original;
+	    original = Matrices.buildRandomMatrix(numRows, numCols, density);
+
+	    SparseMatrix sparse = new SparseMatrix(original);
+	    SparseDoublyLexicalOrderer orderer;
+	    orderer = new SparseDoublyLexicalOrderer(sparse);
+
+	    int[] orderedRows = orderer.getOrderedRows();
+	    int[] orderedCols = orderer.getOrderedColumns();
+
+	    assertTrue(Matrices.isPermutation(orderedRows, numRows));
+	    assertTrue(Matrices.isPermutation(orderedCols, numCols));
+	    assertTrue(Matrices.isOrdered(original, orderedRows, orderedCols));
+	}
+    }
+
+    @Test
+    public void shouldAcceptCompressedColumns() {
+	int[][] original = Matrices.buildRandomMatrix(60, 40, 10);
+	SparseMatrix byRows = new SparseMatrix(original);
+
+	/* Build the compressed sparse column format of the matrix. */
+	int[] columnPointers = new int[41];
+	int[] rowIndices = new int[byRows.nnz()];
+	int k = 0;
+	for (int c = 0; c < 40; c++) {
+	    for (int r = 0; r < 60; r++) {
+		if (original[r][c] == 1) {
+		    rowIndices[k++] = r;
+		}
+	    }
+	    columnPointers[c + 1] = k;
+	}
+
+	SparseMatrix byColumns;
+	byColumns = SparseMatrix.fromColumns(60, 40, columnPointers, rowIndices);
+
+	SparseDoublyLexicalOrderer orderer;
+	orderer = new SparseDoublyLexicalOrderer(byColumns);
+
+	assertTrue(Matrices.isOrdered(original, orderer.getOrderedRows(),
+			     orderer.getOrderedColumns()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.SparseMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.SparseSymmetricDoublyLexicalOrderer;
+
+/**
+ * Class for the unit tests of the Sparse Symmetric Doubly Lexical
+ * Orderer class.
+ */
+public class TestSparseSymmetricDoublyLexicalOrderer {
+
+    @Test
+    public void shouldReturnOrderedMatrixHardcoded() {
+	int[][][] testMatrices = new int[][][]{
+	    {
+		{1, 1, 0, 0},
+		{1, 1, 1, 0},
+		{0, 1, 1, 1},
+		{0, 0, 1, 1},
+	    },
+	    {
+		{1, 0, 0, 0, 1},
+		{0, 1, 0, 1, 0},
+		{0, 0, 1, 0, 0},
+		{0, 1, 0, 1, 0},
+		{1, 0, 0, 0, 1},
+	    },
+	    {
+		{1, 1, 1, 1},
+		{1, 1, 1, 1},
+		{1, 1, 1, 1},
+		{1, 1, 1, 1},
+	    },
+	    {
+		{1},
+	    },
+	};
+
+	for (int[][] original : testMatrices) {
+	    SparseSymmetricDoublyLexicalOrderer orderer;
+	    orderer = new SparseSymmetricDoublyLexicalOrderer(
+		new SparseMatrix(original));
+
+	    int[] ordering = orderer.getOrdering();
+
+	    assertTrue(Matrices.isPermutation(ordering, original.length));
+	    assertTrue(Matrices.isOrdered(original, ordering, ordering));
+	}
+    }
+
+    @Test
+    public void shouldReturnOrderedMatrixRandoms() {
+	int numRandMatrices = 200;
+	int maxSize = 150;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int n = rand.nextInt(maxSize) + 1;
+	    int density = rand.nextInt(100);
+
+	    int[][] original = Matrices.buildRandomGraph(n, density);
+
+	    SparseSymmetricDoublyLexicalOrderer orderer;
+	    orderer = new SparseSymmetricDoublyLexicalOrderer(
+		new SparseMatrix(original));
+
+	    int[] ordering = orderer.getOrdering();
+
+	    assertTrue(Matrices.isPermutation(ordering, n));
+	    assertTrue(Matrices.isOrdered(original, ordering, ordering));
+	}
+    }
+
+    @Test
+    public void shouldReturnOrderedMatrixSparseRandoms() {
+	int numRandMatrices = 50;
+	int maxSize = 400;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int n = rand.nextInt(maxSize) + 1;
+	    int density = rand.nextInt(3);
+
+	    int[][] original = Matrices.buildRandomGraph(n, density);
+
+	    SparseSymmetricDoublyLexicalOrderer orderer;
+	    orderer = new SparseSymmetricDoublyLexicalOrderer(
+		new SparseMatrix(original));
+
+	    int[] ordering = orderer.getOrdering();
+
+	    assertTrue(Matrices.isPermutation(ordering, n));
+	    assertTrue(Matrices.isOrdered(original, ordering, ordering));
+	}
+    }
+}
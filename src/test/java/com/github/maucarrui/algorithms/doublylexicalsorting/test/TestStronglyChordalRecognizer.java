@@ -0,0 +1,318 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.GammaSubmatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.StronglyChordalRecognizer;
+import com.github.maucarrui.algorithms.treeisomorphism.Graph;
+
+/**
+ * Class for the unit tests of the Strongly Chordal Recognizer class.
+ */
+public class TestStronglyChordalRecognizer {
+
+    /**
+     * Auxiliary method to return the closed neighbourhood matrix of a graph.
+     * @param adjacency the neighbours of every vertex.
+     * @return the closed neighbourhood matrix of the graph.
+     */
+    private boolean[][] neighbourhoods(int[][] adjacency) {
+	int n = adjacency.length;
+	boolean[][] N = new boolean[n][n];
+
+	for (int v = 0; v < n; v++) {
+	    N[v][v] = true;
+	    for (int u : adjacency[v]) {
+		N[v][u] = true;
+	    }
+	}
+
+	return N;
+    }
+
+    /**
+     * Auxiliary method to test whether a vertex is simple among the vertices
+     * that haven't been eliminated, that is, whether the closed
+     * neighbourhoods of its neighbours are totally ordered by inclusion.
+     * @param N the closed neighbourhood matrix of the graph.
+     * @param alive the vertices that haven't been eliminated.
+     * @param v the vertex.
+     * @return true if the vertex is simple, false otherwise.
+     */
+    private boolean isSimple(boolean[][] N, boolean[] alive, int v) {
+	int n = N.length;
+
+	for (int x = 0; x < n; x++) {
+	    for (int y = 0; y < n; y++) {
+		if (!alive[x] || !alive[y] || !N[v][x] || !N[v][y]) {
+		    continue;
+		}
+
+		boolean xInY = true;
+		boolean yInX = true;
+		for (int w = 0; w < n; w++) {
+		    if (!alive[w]) { continue; }
+		    if (N[x][w] && !N[y][w]) { xInY = false; }
+		    if (N[y][w] && !N[x][w]) { yInX = false; }
+		}
+
+		if (!xInY && !yInX) { return false; }
+	    }
+	}
+
+	return true;
+    }
+
+    /**
+     * Auxiliary method to test whether a graph is strongly chordal by brute
+     * force: a graph is strongly chordal if and only if its simple vertices
+     * can be eliminated one by one until no vertex is left.
+     * @param N the closed neighbourhood matrix of the graph.
+     * @return true if the graph is strongly chordal, false otherwise.
+     */
+    private boolean isStronglyChordal(boolean[][] N) {
+	int n = N.length;
+	boolean[] alive = new boolean[n];
+	Arrays.fill(alive, true);
+
+	for (int i = 0; i < n; i++) {
+	    int simple = -1;
+	    for (int v = 0; v < n && simple == -1; v++) {
+		if (alive[v] && isSimple(N, alive, v)) {
+		    simple = v;
+		}
+	    }
+
+	    if (simple == -1) { return false; }
+	    alive[simple] = false;
+	}
+
+	return true;
+    }
+
+    /**
+     * Auxiliary method to test whether an ordering of the vertices is a
+     * strong elimination ordering: for i < j and k < l, if v_k and v_l are in
+     * N[v_i] and v_k is in N[v_j], then v_l is in N[v_j].
+     * @param N the closed neighbourhood matrix of the graph.
+     * @param order the ordering of the vertices.
+     * @return true if the ordering is a strong elimination ordering, false
+     *         otherwise.
+     */
+    private boolean isStrongEliminationOrdering(boolean[][] N, int[] order) {
+	int n = order.length;
+
+	for (int i = 0; i < n; i++) {
+	    for (int j = i + 1; j < n; j++) {
+		for (int k = 0; k < n; k++) {
+		    for (int l = k + 1; l < n; l++) {
+			boolean a = N[order[i]][order[k]];
+			boolean b = N[order[i]][order[l]];
+			boolean c = N[order[j]][order[k]];
+			boolean d = N[order[j]][order[l]];
+
+			if (a && b && c && !d) { return false; }
+		    }
+		}
+	    }
+	}
+
+	return true;
+    }
+
+    /**
+     * Auxiliary method to test whether a witness is a Γ of the closed
+     * neighbourhood matrix.
+     * @param N the closed neighbourhood matrix of the graph.
+     * @param witness the witness.
+     * @return true if the witness is a Γ, false otherwise.
+     */
+    private boolean isGamma(boolean[][] N, GammaSubmatrix witness) {
+	int top = witness.getTopRow();
+	int bottom = witness.getBottomRow();
+	int left = witness.getLeftColumn();
+	int right = witness.getRightColumn();
+
+	return !N[top][left] && N[top][right]
+	    && N[bottom][left] && N[bottom][right];
+    }
+
+    /**
+     * Auxiliary method to return a random graph as an adjacency array.
+     * @param n the amount of vertices of the graph.
+     * @param density the percentage of edges of the graph.
+     * @return the neighbours of every vertex.
+     */
+    private int[][] buildRandomGraph(int n, int density) {
+	int[] degrees = new int[n];
+	boolean[][] edges = new boolean[n][n];
+
+	Random rand = new Random();
+
+	for (int i = 0; i < n; i++) {
+	    for (int j = i + 1; j < n; j++) {
+		if (rand.nextInt(100) < density) {
+		    edges[i][j] = true;
+		    edges[j][i] = true;
+		    degrees[i]++;
+		    degrees[j]++;
+		}
+	    }
+	}
+
+	int[][] adjacency = new int[n][];
+	for (int i = 0; i < n; i++) {
+	    adjacency[i] = new int[degrees[i]];
+	    int k = 0;
+	    for (int j = 0; j < n; j++) {
+		if (edges[i][j]) {
+		    adjacency[i][k++] = j;
+		}
+	    }
+	}
+
+	return adjacency;
+    }
+
+    @Test
+    public void shouldRecognizeHardcoded() {
+	/* A path, a complete graph, a 3-sun and a cycle of length 4. */
+	int[][][] graphs = new int[][][]{
+	    {{1}, {0, 2}, {1, 3}, {2}},
+	    {{1, 2, 3}, {0, 2, 3}, {0, 1, 3}, {0, 1, 2}},
+	    {{1, 2, 3, 5}, {0, 2, 3, 4}, {0, 1, 4, 5}, {0, 1}, {1, 2}, {0, 2}},
+	    {{1, 3}, {0, 2}, {1, 3}, {0, 2}},
+	};
+	boolean[] expected = new boolean[]{true, true, false, false};
+
+	for (int i = 0; i < graphs.length; i++) {
+	    StronglyChordalRecognizer recognizer;
+	    recognizer = new StronglyChordalRecognizer(graphs[i]);
+	    boolean[][] N = neighbourhoods(graphs[i]);
+
+	    assertEquals(expected[i], recognizer.isStronglyChordal());
+	    if (expected[i]) {
+		int[] order = recognizer.getStrongEliminationOrdering();
+		assertNull(recognizer.getWitness());
+		assertTrue(isStrongEliminationOrdering(N, order));
+	    } else {
+		assertNull(recognizer.getStrongEliminationOrdering());
+		assertTrue(isGamma(N, recognizer.getWitness()));
+	    }
+	}
+    }
+
+    @Test
+    public void shouldRecognizeRandoms() {
+	int numRandGraphs = 300;
+	int maxSize = 9;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandGraphs; i++) {
+	    int n = rand.nextInt(maxSize) + 1;
+	    int density = rand.nextInt(100);
+
+	    int[][] adjacency = buildRandomGraph(n, density);
+	    boolean[][] N = neighbourhoods(adjacency);
+
+	    StronglyChordalRecognizer recognizer;
+	    recognizer = new StronglyChordalRecognizer(adjacency);
+
+	    boolean expected = isStronglyChordal(N);
+	    assertEquals(expected, recognizer.isStronglyChordal());
+
+	    if (expected) {
+		int[] order = recognizer.getStrongEliminationOrdering();
+		assertTrue(isStrongEliminationOrdering(N, order));
+	    } else {
+		assertTrue(isGamma(N, recognizer.getWitness()));
+	    }
+	}
+    }
+
+    @Test
+    public void shouldRecognizeGraphs() {
+	/* A 3-sun whose vertices are identified by multiples of ten. */
+	int[][] edges = new int[][]{
+	    {0, 10}, {10, 20}, {20, 0},
+	    {30, 0}, {30, 10}, {40, 10}, {40, 20}, {50, 20}, {50, 0},
+	};
+
+	LinkedList<LinkedList<Integer>> edgeList = new LinkedList<>();
+	for (int[] edge : edges) {
+	    LinkedList<Integer> e = new LinkedList<>();
+	    e.add(edge[0]);
+	    e.add(edge[1]);
+	    edgeList.add(e);
+	}
+
+	Graph<Integer> sun = new Graph<>(edgeList);
+	StronglyChordalRecognizer recognizer;
+	recognizer = new StronglyChordalRecognizer(sun);
+
+	assertFalse(recognizer.isStronglyChordal());
+	GammaSubmatrix witness = recognizer.getWitness();
+	assertNotNull(witness);
+	assertEquals(0, witness.getTopRow() % 10);
+	assertEquals(0, witness.getLeftColumn() % 10);
+
+	/* Without a vertex of degree two it is a strongly chordal graph. */
+	LinkedList<LinkedList<Integer>> trimmed = new LinkedList<>();
+	for (LinkedList<Integer> e : edgeList) {
+	    if (!e.contains(50)) {
+		trimmed.add(e);
+	    }
+	}
+
+	Graph<Integer> graph = new Graph<>(trimmed);
+	recognizer = new StronglyChordalRecognizer(graph);
+
+	assertTrue(recognizer.isStronglyChordal());
+	int[] order = recognizer.getStrongEliminationOrdering();
+	assertEquals(5, order.length);
+	for (int v : order) {
+	    assertTrue(graph.containsVertex(v));
+	}
+    }
+
+    @Test
+    public void shouldRejectInvalidAdjacencies() {
+	/* A neighbour out of range, a repeated neighbour and an edge given
+	 * only in one direction. */
+	int[][][] adjacencies = new int[][][]{
+	    {{1}, {0, 2}},
+	    {{1, 1}, {0}},
+	    {{1, 2}, {0}, {}},
+	};
+	String[] messages = new String[]{
+	    "The vertex 1 has a neighbour out of range.",
+	    "The vertex 0 repeats the neighbour 1.",
+	    "The neighbours of the vertex 0 don't have it as a neighbour.",
+	};
+
+	for (int i = 0; i < adjacencies.length; i++) {
+	    try {
+		new StronglyChordalRecognizer(adjacencies[i]);
+		assertTrue(false);
+	    } catch (IllegalArgumentException e) {
+		assertEquals(messages[i], e.getMessage());
+	    }
+	}
+
+	/* Loops are still ignored. */
+	StronglyChordalRecognizer recognizer;
+	recognizer = new StronglyChordalRecognizer(new int[][]{{0, 1}, {0}});
+	assertTrue(recognizer.isStronglyChordal());
+    }
+}
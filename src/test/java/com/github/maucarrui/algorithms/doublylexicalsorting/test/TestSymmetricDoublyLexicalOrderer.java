@@ -0,0 +1,76 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.SymmetricDoublyLexicalOrderer;
+
+/**
+ * Class for the unit tests of the Symmetric Doubly Lexical Orderer class.
+ */
+public class TestSymmetricDoublyLexicalOrderer {
+
+    @Test
+    public void shouldReturnOrderedMatrixHardcoded() {
+	int[][][] testMatrices = new int[][][]{
+	    {
+		{1, 1, 0, 0},
+		{1, 1, 1, 0},
+		{0, 1, 1, 1},
+		{0, 0, 1, 1},
+	    },
+	    {
+		{1, 0, 0, 0, 1},
+		{0, 1, 0, 1, 0},
+		{0, 0, 1, 0, 0},
+		{0, 1, 0, 1, 0},
+		{1, 0, 0, 0, 1},
+	    },
+	    {
+		{1, 1, 1, 1},
+		{1, 1, 1, 1},
+		{1, 1, 1, 1},
+		{1, 1, 1, 1},
+	    },
+	    {
+		{1},
+	    },
+	};
+
+	for (int[][] original : testMatrices) {
+	    SymmetricDoublyLexicalOrderer orderer;
+	    orderer = new SymmetricDoublyLexicalOrderer(original);
+
+	    int[] ordering = orderer.getOrdering();
+
+	    assertTrue(Matrices.isPermutation(ordering, original.length));
+	    assertTrue(Matrices.isOrdered(original, ordering, ordering));
+	}
+    }
+
+    @Test
+    public void shouldReturnOrderedMatrixRandoms() {
+	int numRandMatrices = 200;
+	int maxSize = 150;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int n = rand.nextInt(maxSize) + 1;
+	    int density = rand.nextInt(100);
+
+	    int[][] original = Matrices.buildRandomGraph(n, density);
+
+	    SymmetricDoublyLexicalOrderer orderer;
+	    orderer = new SymmetricDoublyLexicalOrderer(original);
+
+	    int[] ordering = orderer.getOrdering();
+
+	    assertTrue(Matrices.isPermutation(ordering, n));
+	    assertTrue(Matrices.isOrdered(original, ordering, ordering));
+	}
+    }
+}
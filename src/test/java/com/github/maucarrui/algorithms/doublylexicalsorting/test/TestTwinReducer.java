@@ -0,0 +1,101 @@
+package com.github.maucarrui.algorithms.doublylexicalsorting.test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import com.github.maucarrui.algorithms.doublylexicalordering.BitMatrix;
+import com.github.maucarrui.algorithms.doublylexicalordering.TwinReducer;
+
+/**
+ * Class for the unit tests of the Twin Reducer class.
+ */
+public class TestTwinReducer {
+
+    /**
+     * Auxiliary method to return a random (0,1)-matrix built from a few
+     * distinct rows and columns, so it has many twins.
+     * @param numRows the amount of rows of the matrix.
+     * @param numCols the amount of columns of the matrix.
+     * @param numDistinct the maximum amount of distinct rows and columns.
+     * @return a matrix with many identical rows and columns.
+     */
+    private int[][] buildMatrixWithTwins(int numRows, int numCols,
+					 int numDistinct) {
+	Random rand = new Random();
+
+	int[][] base = new int[numDistinct][numDistinct];
+	for (int i = 0; i < numDistinct; i++) {
+	    for (int j = 0; j < numDistinct; j++) {
+		base[i][j] = rand.nextInt(2);
+	    }
+	}
+
+	int[] rowOf = new int[numRows];
+	int[] colOf = new int[numCols];
+	for (int i = 0; i < numRows; i++) {
+	    rowOf[i] = rand.nextInt(numDistinct);
+	}
+	for (int j = 0; j < numCols; j++) {
+	    colOf[j] = rand.nextInt(numDistinct);
+	}
+
+	int[][] matrix = new int[numRows][numCols];
+	for (int i = 0; i < numRows; i++) {
+	    for (int j = 0; j < numCols; j++) {
+		matrix[i][j] = base[rowOf[i]][colOf[j]];
+	    }
+	}
+
+	return matrix;
+    }
+
+    @Test
+    public void shouldReturnOrderedMatrixWithTwins() {
+	int numRandMatrices = 100;
+	int maxSize = 150;
+
+	Random rand = new Random();
+
+	for (int i = 0; i < numRandMatrices; i++) {
+	    int numRows = rand.nextInt(maxSize) + 1;
+	    int numCols = rand.nextInt(maxSize) + 1;
+	    int numDistinct = rand.nextInt(20) + 1;
+
+	    int[][] original;
+	    original = buildMatrixWithTwins(numRows, numCols, numDistinct);
+
+	    TwinReducer reducer = new TwinReducer(new BitMatrix(original));
+	    int[] orderedRows = reducer.getOrderedRows();
+	    int[] orderedCols = reducer.getOrderedColumns();
+
+	    assertTrue(Matrices.isPermutation(orderedRows, numRows));
+	    assertTrue(Matrices.isPermutation(orderedCols, numCols));
+	    assertTrue(Matrices.isOrdered(original, orderedRows, orderedCols));
+	}
+    }
+
+    @Test
+    public void shouldCollapseTwins() {
+	int[][] original = new int[][]{
+	    {1, 0, 1, 0},
+	    {0, 1, 0, 1},
+	    {1, 0, 1, 0},
+	    {1, 0, 1, 0},
+	};
+
+	TwinReducer reducer = new TwinReducer(new BitMatrix(original));
+	BitMatrix reduced = reducer.getReducedMatrix();
+
+	assertTrue(reduced.numRows() == 2);
+	assertTrue(reduced.numColumns() == 2);
+	assertTrue(reducer.getRowWeights()[0] == 3);
+	assertTrue(reducer.getRowWeights()[1] == 1);
+	assertTrue(reducer.getColumnWeights()[0] == 2);
+	assertTrue(reducer.getColumnWeights()[1] == 2);
+	assertTrue(reduced.get(0, 0) == 1 && reduced.get(0, 1) == 0);
+	assertTrue(reduced.get(1, 0) == 0 && reduced.get(1, 1) == 1);
+    }
+}